@@ -0,0 +1,65 @@
+package com.doksanbir.modulith.benchmark;
+
+import com.doksanbir.modulith.order.domain.model.OrderStatus;
+import com.doksanbir.modulith.order.web.dto.OrderDTO;
+import com.doksanbir.modulith.product.domain.ProductStatus;
+import com.doksanbir.modulith.product.web.dto.ProductDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * JSON round trips of the REST payloads with an {@link ObjectMapper} built the way Spring MVC builds its own:
+ * a product, and an order of five lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ProductDTO product;
+    private OrderDTO order;
+    private byte[] productJson;
+    private byte[] orderJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        product = new ProductDTO(42L, "Espresso machine", "Dual boiler, PID controlled", new BigDecimal("1299.00"),
+                17, ProductStatus.ACTIVE);
+        order = new OrderDTO(7L, 1_001L, LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> new OrderDTO.OrderItemDTO(id, (int) id, BigDecimal.valueOf(999 + id, 2)))
+                .toList(), OrderStatus.CONFIRMED);
+        productJson = objectMapper.writeValueAsBytes(product);
+        orderJson = objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws IOException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public ProductDTO deserializeProduct() throws IOException {
+        return objectMapper.readValue(productJson, ProductDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws IOException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public OrderDTO deserializeOrder() throws IOException {
+        return objectMapper.readValue(orderJson, OrderDTO.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.doksanbir.modulith.benchmark;
+
+import com.doksanbir.modulith.ModulithApplication;
+import com.doksanbir.modulith.product.application.port.in.ProductUseCase;
+import com.doksanbir.modulith.product.web.dto.ProductDTO;
+import com.doksanbir.modulith.shared.events.ProductUpdatedEvent;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.modulith.events.core.EventPublicationRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes a {@link ProductUpdatedEvent} through the application's {@link ApplicationEventPublisher} and commits,
+ * with the whole application running against an in-memory database: the event publication registry stores a
+ * publication per listener, and the listeners run after commit. The listeners keep up or push back through their
+ * bounded lanes, so the score is the sustained cost of an event rather than of the hand-off alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPublicationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ApplicationEventPublisher publisher;
+    private TransactionTemplate transactionTemplate;
+    private long productId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(ModulithApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--app.events.log.directory=target/jmh-event-log",
+                        "--app.events.republish.enabled=false");
+        publisher = context;
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        productId = context.getBean(ProductUseCase.class)
+                .createProduct(new ProductDTO(null, "jmh", "event publication benchmark", BigDecimal.TEN, 0, null))
+                .id();
+    }
+
+    // Listeners still working through the backlog would fail once the registry is gone
+    @TearDown(Level.Trial)
+    public void stopApplication() throws InterruptedException {
+        EventPublicationRegistry registry = context.getBean(EventPublicationRegistry.class);
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (!registry.findIncompletePublications().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public void publishInTransaction() {
+        transactionTemplate.executeWithoutResult(status -> publisher.publishEvent(new ProductUpdatedEvent(productId)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.doksanbir.modulith.benchmark;
+
+import com.doksanbir.modulith.ModulithApplication;
+import com.doksanbir.modulith.product.application.port.out.ProductRepositoryPort;
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductFilter;
+import com.doksanbir.modulith.product.domain.ProductStatus;
+import com.doksanbir.modulith.product.infrastructure.catalog.ProductCatalogSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * One page of a catalog filter, answered from the price order and status bitmaps of a {@link ProductCatalogSnapshot}
+ * and by the SQL query the repository runs while the snapshot is disabled, over the same products in an in-memory
+ * database. The database is as close as it gets, so the gap to a networked PostgreSQL is only wider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductFilterBenchmark {
+
+    private static final int PRODUCTS = 50_000;
+    private static final int PAGE_SIZE = 100;
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    private static final Map<String, ProductFilter> FILTERS = Map.of(
+            "narrow-price", new ProductFilter(new BigDecimal("100.00"), new BigDecimal("102.00"), null, null),
+            "wide-price", new ProductFilter(new BigDecimal("100"), new BigDecimal("900"), null, null),
+            "status", new ProductFilter(null, null, ProductStatus.INACTIVE, null),
+            "out-of-stock", new ProductFilter(null, null, null, false),
+            "combined", new ProductFilter(new BigDecimal("200"), new BigDecimal("300"), ProductStatus.ACTIVE, true));
+
+    @Param({"narrow-price", "wide-price", "status", "out-of-stock", "combined"})
+    public String filterName;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepositoryPort productRepositoryPort;
+    private ProductCatalogSnapshot snapshot;
+    private ProductFilter filter;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // The catalog snapshot stays disabled, so the repository answers every filter with SQL
+        context = new SpringApplicationBuilder(ModulithApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh-filter;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--app.events.republish.enabled=false",
+                        "--app.product.catalog.enabled=false");
+        productRepositoryPort = context.getBean(ProductRepositoryPort.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        for (int chunk = 0; chunk < PRODUCTS; chunk += 5_000) {
+            int from = chunk;
+            transactionTemplate.executeWithoutResult(status -> productRepositoryPort.saveAll(
+                    IntStream.range(from, from + 5_000).mapToObj(ProductFilterBenchmark::product).toList()));
+        }
+        transactionTemplate.setReadOnly(true);
+        snapshot = transactionTemplate.execute(status ->
+                ProductCatalogSnapshot.of(productRepositoryPort.streamAll(), Instant.now()));
+        filter = FILTERS.get(filterName);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> snapshot() {
+        return snapshot.findAllMatching(filter, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Product> sql() {
+        return productRepositoryPort.findAllMatching(filter, null, PAGE_SIZE);
+    }
+
+    private static Product product(int i) {
+        return Product.builder()
+                .name("filter-" + i)
+                .description("filter benchmark")
+                .price(BigDecimal.valueOf(100 + (i * 7919L) % 100_000, 2))
+                .stockQuantity(i % 3 == 0 ? 0 : i % 40)
+                .status(i % 10 == 0 ? STATUSES[i / 10 % STATUSES.length] : ProductStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.doksanbir.modulith.inventory.application.service;
+
+import com.doksanbir.modulith.inventory.application.port.out.InventoryRepositoryPort;
+import com.doksanbir.modulith.inventory.domain.model.Inventory;
+import com.doksanbir.modulith.shared.events.*;
+import com.doksanbir.modulith.shared.infrastructure.config.SingleFlightProperties;
+import com.doksanbir.modulith.shared.infrastructure.lookup.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The listeners against a no-op port: {@code handleProductEvent} with every product event type in turn, which keeps
+ * the pattern-matching switch megamorphic, and {@code handleProductBatchEvent} with the coalesced stock updates
+ * that reach inventory instead of single {@link ProductStockUpdatedEvent}s, the path that reads and saves
+ * inventories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryServiceBenchmark {
+
+    private final ProductEvent[] events = {
+            new ProductCreatedEvent(1L),
+            new ProductStockUpdatedEvent(1L, 5),
+            new ProductUpdatedEvent(1L),
+            new ProductDiscontinuedEvent(1L),
+            new ProductReactivatedEvent(1L),
+            new ProductDeletedEvent(1L)
+    };
+    private final ProductBatchEvent stockUpdated = new ProductBatchStockUpdatedEvent(Map.of(1L, 5));
+
+    private InventoryService inventoryService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        inventoryService = new InventoryService(new NoOpInventoryRepository(), Set::copyOf,
+                new SingleFlight<>("inventory", new SingleFlightProperties(true), new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public void handleMixedEvents() {
+        next = next == events.length - 1 ? 0 : next + 1;
+        inventoryService.handleProductEvent(events[next]);
+    }
+
+    @Benchmark
+    public void handleStockUpdates() {
+        inventoryService.handleProductBatchEvent(stockUpdated);
+    }
+
+    private static final class NoOpInventoryRepository implements InventoryRepositoryPort {
+
+        private final Inventory inventory = Inventory.builder().id(1L).productId(1L).quantity(10).build();
+
+        @Override
+        public void save(Inventory inventory) {
+        }
+
+        @Override
+        public void saveAll(List<Inventory> inventories) {
+        }
+
+        @Override
+        public Optional<Inventory> findByProductId(Long productId) {
+            return Optional.of(inventory);
+        }
+
+        @Override
+        public List<Inventory> findAllByProductIds(Collection<Long> productIds) {
+            return List.of(inventory);
+        }
+
+        @Override
+        public List<Inventory> lockAllByProductIds(Collection<Long> productIds) {
+            return List.of(inventory);
+        }
+
+        @Override
+        public boolean adjustQuantity(Long productId, int delta) {
+            return true;
+        }
+
+        @Override
+        public void deleteByProductId(Long productId) {
+        }
+    }
+}
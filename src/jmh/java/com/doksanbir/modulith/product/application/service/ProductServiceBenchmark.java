@@ -0,0 +1,118 @@
+package com.doksanbir.modulith.product.application.service;
+
+import com.doksanbir.modulith.product.application.port.out.ProductRepositoryPort;
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductFilter;
+import com.doksanbir.modulith.product.domain.ProductStatus;
+import com.doksanbir.modulith.product.web.dto.ProductDTO;
+import com.doksanbir.modulith.product.web.dto.ProductPageDTO;
+import com.doksanbir.modulith.shared.infrastructure.config.SingleFlightProperties;
+import com.doksanbir.modulith.shared.infrastructure.events.ProductBatchSplitter;
+import com.doksanbir.modulith.shared.infrastructure.lookup.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Product reads without the database: the service runs against an in-memory port, so what is measured is
+ * {@code mapToDTO} and the service's own overhead, for a single product and for a page of 100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int PAGE_SIZE = 100;
+
+    private ProductService productService;
+    private long nextId;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = LongStream.rangeClosed(1, PRODUCTS)
+                .mapToObj(id -> Product.builder()
+                        .id(id)
+                        .name("product-" + id)
+                        .description("JMH product " + id)
+                        .price(BigDecimal.valueOf(1_000 + id, 2))
+                        .stockQuantity((int) (id % 50))
+                        .status(ProductStatus.ACTIVE)
+                        .build())
+                .toList();
+        productService = new ProductService(new InMemoryProductRepository(products), event -> { }, null,
+                new SingleFlight<>("product", new SingleFlightProperties(true), new SimpleMeterRegistry()),
+                new ProductBatchSplitter(8));
+    }
+
+    @Benchmark
+    public ProductDTO getProductById() {
+        nextId = nextId % PRODUCTS + 1;
+        return productService.getProductById(nextId);
+    }
+
+    @Benchmark
+    public ProductPageDTO getProductPage() {
+        return productService.getProductPage(0L, PAGE_SIZE);
+    }
+
+    // Products ordered by id, with ids 1 to n
+    private record InMemoryProductRepository(List<Product> products) implements ProductRepositoryPort {
+
+        @Override
+        public Optional<Product> findById(Long id) {
+            return id >= 1 && id <= products.size() ? Optional.of(products.get((int) (id - 1))) : Optional.empty();
+        }
+
+        @Override
+        public List<Product> findAllAfter(Long afterId, int limit) {
+            int from = (int) Math.min(afterId == null ? 0 : afterId, products.size());
+            return products.subList(from, Math.min(from + limit, products.size()));
+        }
+
+        @Override
+        public Product save(Product product) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Product> saveAll(List<Product> products) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Product> findAllById(Collection<Long> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return products;
+        }
+
+        @Override
+        public List<Product> findAllMatching(ProductFilter filter, Long afterId, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<Product> streamAll() {
+            return products.stream();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -2,9 +2,9 @@ package com.doksanbir.modulith.inventory.application.port.in;
 
 
 import com.doksanbir.modulith.inventory.web.dto.InventoryDTO;
+import com.doksanbir.modulith.shared.api.InventoryApi;
 
-public interface InventoryUseCase {
+public interface InventoryUseCase extends InventoryApi {
     void initializeInventory(Long productId, Integer quantity);
-    void updateInventory(Long productId, Integer quantity);
     InventoryDTO getInventoryByProductId(Long productId);
 }
@@ -2,10 +2,33 @@ package com.doksanbir.modulith.inventory.application.port.out;
 
 import com.doksanbir.modulith.inventory.domain.model.Inventory;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepositoryPort {
     void save(Inventory inventory);
+    void saveAll(List<Inventory> inventories);
+
+    /**
+     * Empty if the inventory does not exist; a product id known to have none throws a
+     * {@link com.doksanbir.modulith.shared.KnownMissingProductException} without a query instead.
+     */
     Optional<Inventory> findByProductId(Long productId);
+
+    List<Inventory> findAllByProductIds(Collection<Long> productIds);
+
+    /**
+     * Atomically adds {@code delta} to the stock of a product in a single conditional UPDATE.
+     * Returns {@code false} if the product has no inventory or the result would drop below zero.
+     */
+    boolean adjustQuantity(Long productId, int delta);
+
+    /**
+     * Loads the inventories of the given products and locks them until the transaction ends, always in product id
+     * order so that concurrent callers cannot deadlock.
+     */
+    List<Inventory> lockAllByProductIds(Collection<Long> productIds);
+
     void deleteByProductId(Long productId);
 }
@@ -0,0 +1,16 @@
+package com.doksanbir.modulith.inventory.application.port.out;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The current state of products in the product module, for stock updates that reach inventory after their product
+ * has changed again.
+ */
+public interface ProductStatusPort {
+
+    /**
+     * The given products that should have inventory: those that still exist and are not discontinued.
+     */
+    Set<Long> findProductsHoldingInventory(Collection<Long> productIds);
+}
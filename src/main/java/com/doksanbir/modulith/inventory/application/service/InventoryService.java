@@ -2,19 +2,33 @@ package com.doksanbir.modulith.inventory.application.service;
 
 import com.doksanbir.modulith.inventory.application.port.in.InventoryUseCase;
 import com.doksanbir.modulith.inventory.application.port.out.InventoryRepositoryPort;
+import com.doksanbir.modulith.inventory.application.port.out.ProductStatusPort;
 import com.doksanbir.modulith.inventory.domain.model.Inventory;
 import com.doksanbir.modulith.inventory.web.dto.InventoryDTO;
+import com.doksanbir.modulith.shared.InsufficientStockException;
 import com.doksanbir.modulith.shared.ProductNotFoundException;
 import com.doksanbir.modulith.shared.events.*;
+import com.doksanbir.modulith.shared.infrastructure.config.EventLaneConfiguration;
+import com.doksanbir.modulith.shared.infrastructure.lookup.SingleFlight;
 import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.modulith.events.ApplicationModuleListener;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -22,6 +36,8 @@ import org.springframework.transaction.annotation.Transactional;
 class InventoryService implements InventoryUseCase {
 
     private final InventoryRepositoryPort inventoryRepositoryPort;
+    private final ProductStatusPort productStatusPort;
+    private final SingleFlight<Long, Optional<Inventory>> inventoryReads;
 
     @Override
     public void initializeInventory(Long productId, Integer quantity) {
@@ -31,6 +47,7 @@ class InventoryService implements InventoryUseCase {
                 .quantity(quantity)
                 .build();
         inventoryRepositoryPort.save(inventory);
+        inventoryReads.forget(List.of(productId));
     }
 
     @Override
@@ -45,31 +62,150 @@ class InventoryService implements InventoryUseCase {
                 .orElseThrow(() -> new ProductNotFoundException(productId));
         inventory.setQuantity(quantity);
         inventoryRepositoryPort.save(inventory);
+        inventoryReads.forget(List.of(productId));
+    }
 
+    @Override
+    public void adjustInventory(Long productId, int delta) {
+        log.info("Adjusting inventory for productId: {}, delta: {}", productId, delta);
+        inventoryReads.forget(List.of(productId));
+        if (!inventoryRepositoryPort.adjustQuantity(productId, delta)) {
+            inventoryRepositoryPort.findByProductId(productId)
+                    .orElseThrow(() -> new ProductNotFoundException(productId));
+            throw new InsufficientStockException(productId, delta);
+        }
     }
 
+    /**
+     * Locks the rows, checks every delta and only then applies them, so the updates leave as one JDBC batch at
+     * flush instead of one conditional UPDATE per product.
+     */
     @Override
-    @Transactional(readOnly = true)
+    public void adjustInventories(Map<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        log.info("Adjusting inventory for {} products", deltas.size());
+        inventoryReads.forget(deltas.keySet());
+        List<Inventory> inventories = inventoryRepositoryPort.lockAllByProductIds(deltas.keySet());
+        if (inventories.size() < deltas.size()) {
+            Set<Long> found = new HashSet<>();
+            inventories.forEach(inventory -> found.add(inventory.getProductId()));
+            deltas.keySet().stream()
+                    .filter(productId -> !found.contains(productId))
+                    .findFirst()
+                    .ifPresent(productId -> {
+                        throw new ProductNotFoundException(productId);
+                    });
+        }
+        for (Inventory inventory : inventories) {
+            int delta = deltas.get(inventory.getProductId());
+            if (inventory.getQuantity() + delta < 0) {
+                throw new InsufficientStockException(inventory.getProductId(), -delta, inventory.getQuantity());
+            }
+        }
+        for (Inventory inventory : inventories) {
+            inventory.setQuantity(inventory.getQuantity() + deltas.get(inventory.getProductId()));
+        }
+    }
+
+    // Joins a caller's transaction but does not open one, so that concurrent reads of the same product outside a
+    // transaction can share one lookup without each holding a connection while they wait
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public InventoryDTO getInventoryByProductId(Long productId) {
-        Inventory inventory = inventoryRepositoryPort.findByProductId(productId)
+        Inventory inventory = inventoryReads.execute(productId, () -> inventoryRepositoryPort.findByProductId(productId))
                 .orElseThrow(() -> new ProductNotFoundException(productId));
         return mapToDTO(inventory);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public int getQuantityByProductId(Long productId) {
+        return getInventoryByProductId(productId).quantity();
+    }
 
-    @ApplicationModuleListener
-    void handleProductEvent(Object event) {
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getQuantitiesByProductIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Integer> quantities = HashMap.newHashMap(productIds.size());
+        for (Inventory inventory : inventoryRepositoryPort.findAllByProductIds(productIds)) {
+            quantities.put(inventory.getProductId(), inventory.getQuantity());
+        }
+        return quantities;
+    }
+
+
+    // Stock updates reach inventory coalesced, as ProductBatchStockUpdatedEvent (see StockUpdateCoalescer), and
+    // content updates do not concern it
+    @ApplicationModuleListener(condition = "!(#event instanceof T(com.doksanbir.modulith.shared.events.ProductStockUpdatedEvent)"
+            + " || #event instanceof T(com.doksanbir.modulith.shared.events.ProductUpdatedEvent))")
+    @Async(EventLaneConfiguration.PRODUCT_EVENT_LANES)
+    void handleProductEvent(ProductEvent event) {
         log.info("Received event: {}", event.getClass().getSimpleName());
         switch (event) {
             case ProductCreatedEvent e -> initializeInventory(e.productId(), 0);
-            case ProductDeletedEvent e -> inventoryRepositoryPort.deleteByProductId(e.productId());
-            case ProductDiscontinuedEvent e -> inventoryRepositoryPort.deleteByProductId(e.productId());
+            case ProductDeletedEvent e -> deleteInventory(e.productId());
+            case ProductDiscontinuedEvent e -> deleteInventory(e.productId());
             case ProductReactivatedEvent e -> initializeInventory(e.productId(), 0);
-            case ProductStockUpdatedEvent e -> updateInventory(e.productId(), e.stockChange());
-            default -> log.warn("Unhandled event type: {}", event.getClass().getSimpleName());
+            // Excluded by the condition: StockUpdateCoalescer forwards these as ProductBatchStockUpdatedEvent
+            case ProductStockUpdatedEvent e -> { }
+            case ProductUpdatedEvent e -> { }
         }
     }
 
+    @ApplicationModuleListener(condition = "!(#event instanceof T(com.doksanbir.modulith.shared.events.ProductBatchUpdatedEvent))")
+    @Async(EventLaneConfiguration.PRODUCT_EVENT_LANES)
+    void handleProductBatchEvent(ProductBatchEvent event) {
+        log.info("Received event: {}", event.getClass().getSimpleName());
+        switch (event) {
+            case ProductBatchCreatedEvent e -> initializeInventories(e.productIds());
+            case ProductBatchStockUpdatedEvent e -> updateInventories(e.stockByProductId());
+            case ProductBatchUpdatedEvent e -> { }
+        }
+    }
+
+    private void initializeInventories(List<Long> productIds) {
+        log.info("Initializing inventory for {} products", productIds.size());
+        List<Inventory> inventories = productIds.stream()
+                .map(productId -> Inventory.builder()
+                        .productId(productId)
+                        .quantity(0)
+                        .build())
+                .toList();
+        inventoryRepositoryPort.saveAll(inventories);
+        inventoryReads.forget(productIds);
+    }
+
+    private void updateInventories(Map<Long, Integer> quantities) {
+        log.info("Updating inventory for {} products", quantities.size());
+        List<Inventory> inventories = inventoryRepositoryPort.findAllByProductIds(quantities.keySet());
+        if (inventories.size() < quantities.size()) {
+            Set<Long> missing = new HashSet<>(quantities.keySet());
+            inventories.forEach(inventory -> missing.remove(inventory.getProductId()));
+            // A product deleted or discontinued while its update was coalesced has had its inventory removed on
+            // this lane since, so there is nothing left to update. Any other missing inventory fails the whole
+            // batch, like a single update would, so the publication stays incomplete and is republished rather
+            // than losing the updates
+            Set<Long> expected = productStatusPort.findProductsHoldingInventory(missing);
+            if (!expected.isEmpty()) {
+                throw new ProductNotFoundException("No inventory for products " + expected);
+            }
+            log.warn("Skipping stock updates of {} deleted or discontinued products: {}", missing.size(), missing);
+        }
+        inventories.forEach(inventory -> inventory.setQuantity(quantities.get(inventory.getProductId())));
+        inventoryRepositoryPort.saveAll(inventories);
+        inventoryReads.forget(quantities.keySet());
+    }
+
+    private void deleteInventory(Long productId) {
+        inventoryRepositoryPort.deleteByProductId(productId);
+        inventoryReads.forget(List.of(productId));
+    }
+
 
     private InventoryDTO mapToDTO(Inventory inventory) {
         return new InventoryDTO(
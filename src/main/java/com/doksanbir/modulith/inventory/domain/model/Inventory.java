@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 
 
 @Entity
-@Table(name = "inventories")
+@Table(name = "inventories", indexes = @Index(name = "idx_inventories_product_id", columnList = "productId"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +16,8 @@ import lombok.NoArgsConstructor;
 public class Inventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventories_seq")
+    @SequenceGenerator(name = "inventories_seq", sequenceName = "inventories_seq", allocationSize = 50)
     private Long id;
 
     private Long productId;
@@ -2,30 +2,76 @@ package com.doksanbir.modulith.inventory.infrastructure.adapter;
 
 import com.doksanbir.modulith.inventory.application.port.out.InventoryRepositoryPort;
 import com.doksanbir.modulith.inventory.domain.model.Inventory;
+import com.doksanbir.modulith.inventory.infrastructure.lookup.KnownInventoryIds;
 import com.doksanbir.modulith.inventory.infrastructure.repository.JpaInventoryRepository;
+import com.doksanbir.modulith.shared.KnownMissingProductException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class InventoryRepositoryAdapter implements InventoryRepositoryPort {
 
+    // Keeps each IN list well below the PostgreSQL bind parameter limit
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final JpaInventoryRepository jpaInventoryRepository;
+    private final KnownInventoryIds knownInventoryIds;
 
     @Override
     public void save(Inventory inventory) {
         jpaInventoryRepository.save(inventory);
+        knownInventoryIds.added(List.of(inventory.getProductId()));
+    }
+
+    @Override
+    public void saveAll(List<Inventory> inventories) {
+        jpaInventoryRepository.saveAll(inventories);
+        knownInventoryIds.added(inventories.stream().map(Inventory::getProductId).toList());
     }
 
     @Override
     public Optional<Inventory> findByProductId(Long productId) {
+        // Every caller turns a miss into a ProductNotFoundException; a known one is thrown here without a stack trace
+        if (!knownInventoryIds.mightExist(productId)) {
+            throw new KnownMissingProductException(productId);
+        }
         return jpaInventoryRepository.findByProductId(productId);
     }
 
+    @Override
+    public List<Inventory> findAllByProductIds(Collection<Long> productIds) {
+        if (productIds.size() <= IN_CLAUSE_CHUNK_SIZE) {
+            return jpaInventoryRepository.findAllByProductIdIn(productIds);
+        }
+        List<Long> ids = List.copyOf(productIds);
+        List<Inventory> inventories = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            inventories.addAll(jpaInventoryRepository.findAllByProductIdIn(chunk));
+        }
+        return inventories;
+    }
+
+    @Override
+    public boolean adjustQuantity(Long productId, int delta) {
+        return jpaInventoryRepository.adjustQuantity(productId, delta) > 0;
+    }
+
+    @Override
+    public List<Inventory> lockAllByProductIds(Collection<Long> productIds) {
+        // One statement, so that the locks are taken in a single id order
+        return jpaInventoryRepository.lockAllByProductIdIn(productIds);
+    }
+
     @Override
     public void deleteByProductId(Long productId) {
         jpaInventoryRepository.deleteByProductId(productId);
+        knownInventoryIds.removed(productId);
     }
 }
@@ -0,0 +1,29 @@
+package com.doksanbir.modulith.inventory.infrastructure.adapter;
+
+import com.doksanbir.modulith.inventory.application.port.out.ProductStatusPort;
+import com.doksanbir.modulith.shared.api.ProductApi;
+import com.doksanbir.modulith.shared.api.ProductSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class ProductStatusAdapter implements ProductStatusPort {
+
+    private final ProductApi productApi;
+
+    @Override
+    public Set<Long> findProductsHoldingInventory(Collection<Long> productIds) {
+        Set<Long> holding = new HashSet<>();
+        for (ProductSummary product : productApi.getProductSummaries(productIds)) {
+            if (!product.discontinued()) {
+                holding.add(product.id());
+            }
+        }
+        return holding;
+    }
+}
@@ -0,0 +1,11 @@
+package com.doksanbir.modulith.inventory.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.inventory.stock-coalescing")
+public record StockCoalescingProperties(
+        @DefaultValue("100ms") Duration window
+) {}
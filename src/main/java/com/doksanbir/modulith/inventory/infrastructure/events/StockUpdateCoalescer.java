@@ -0,0 +1,107 @@
+package com.doksanbir.modulith.inventory.infrastructure.events;
+
+import com.doksanbir.modulith.inventory.infrastructure.config.StockCoalescingProperties;
+import com.doksanbir.modulith.shared.events.ProductBatchStockUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductStockUpdatedEvent;
+import com.doksanbir.modulith.shared.infrastructure.events.ProductBatchSplitter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces bursts of {@link ProductStockUpdatedEvent}s in front of the inventory module. Within each window only
+ * the latest stock per product is kept; at the end of the window the survivors are forwarded as one
+ * {@link ProductBatchStockUpdatedEvent} per event lane, each applied in a single batched update on the lane that
+ * also handles the per-product events of its products.
+ * <p>
+ * The listener runs on the committing thread, so values are taken in commit order, and returns a future that
+ * completes once the window has been forwarded. The registry marks an incoming publication completed only then,
+ * so a crash inside the window leaves it incomplete to be republished rather than losing the stock update.
+ * <p>
+ * Exports {@code inventory.stock.coalescing.received}, {@code .coalesced} (values overwritten within a window)
+ * and {@code .applied} (values forwarded to inventory).
+ */
+@Component
+@Slf4j
+public class StockUpdateCoalescer implements DisposableBean {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductBatchSplitter batchSplitter;
+    private final ScheduledExecutorService flusher;
+    private final Counter received;
+    private final Counter coalesced;
+    private final Counter applied;
+
+    private final Object lock = new Object();
+    private Map<Long, Integer> latest = new HashMap<>();
+    private CompletableFuture<Void> window = new CompletableFuture<>();
+
+    public StockUpdateCoalescer(ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                                ProductBatchSplitter batchSplitter, StockCoalescingProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSplitter = batchSplitter;
+        this.received = meterRegistry.counter("inventory.stock.coalescing.received");
+        this.coalesced = meterRegistry.counter("inventory.stock.coalescing.coalesced");
+        this.applied = meterRegistry.counter("inventory.stock.coalescing.applied");
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("stock-update-coalescer").daemon().factory());
+        long windowMillis = Math.max(1, properties.window().toMillis());
+        flusher.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener
+    public CompletableFuture<Void> on(ProductStockUpdatedEvent event) {
+        synchronized (lock) {
+            received.increment();
+            if (latest.put(event.productId(), event.stockChange()) != null) {
+                coalesced.increment();
+            }
+            return window;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private void flush() {
+        Map<Long, Integer> survivors;
+        CompletableFuture<Void> forwarded;
+        synchronized (lock) {
+            if (latest.isEmpty()) {
+                return;
+            }
+            survivors = latest;
+            forwarded = window;
+            latest = new HashMap<>();
+            window = new CompletableFuture<>();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> batchSplitter
+                    .split(new ProductBatchStockUpdatedEvent(survivors))
+                    .forEach(eventPublisher::publishEvent));
+            applied.increment(survivors.size());
+            forwarded.complete(null);
+        } catch (RuntimeException e) {
+            log.warn("Could not forward {} coalesced stock updates", survivors.size(), e);
+            forwarded.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.doksanbir.modulith.inventory.infrastructure.lookup;
+
+import com.doksanbir.modulith.inventory.domain.model.Inventory;
+import com.doksanbir.modulith.shared.infrastructure.config.SingleFlightProperties;
+import com.doksanbir.modulith.shared.infrastructure.lookup.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Inventory lookups by product id in flight.
+ */
+@Component
+public class InventoryReads extends SingleFlight<Long, Optional<Inventory>> {
+
+    public InventoryReads(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        super("inventory", properties, meterRegistry);
+    }
+}
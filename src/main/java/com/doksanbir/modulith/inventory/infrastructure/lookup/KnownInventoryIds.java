@@ -0,0 +1,30 @@
+package com.doksanbir.modulith.inventory.infrastructure.lookup;
+
+import com.doksanbir.modulith.inventory.infrastructure.repository.JpaInventoryRepository;
+import com.doksanbir.modulith.shared.infrastructure.config.KnownIdsProperties;
+import com.doksanbir.modulith.shared.infrastructure.lookup.KnownIds;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+/**
+ * Product ids that have an inventory.
+ */
+@Component
+public class KnownInventoryIds extends KnownIds {
+
+    private final JpaInventoryRepository jpaInventoryRepository;
+
+    public KnownInventoryIds(JpaInventoryRepository jpaInventoryRepository, KnownIdsProperties properties,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        super("inventory", properties, transactionManager, meterRegistry);
+        this.jpaInventoryRepository = jpaInventoryRepository;
+    }
+
+    @Override
+    protected Stream<Long> streamIds() {
+        return jpaInventoryRepository.streamAllProductIds();
+    }
+}
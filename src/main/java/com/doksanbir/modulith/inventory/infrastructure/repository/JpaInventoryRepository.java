@@ -1,13 +1,43 @@
 package com.doksanbir.modulith.inventory.infrastructure.repository;
 
 import com.doksanbir.modulith.inventory.domain.model.Inventory;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface JpaInventoryRepository extends JpaRepository<Inventory, Long> {
     Optional<Inventory> findByProductId(Long productId);
+    List<Inventory> findAllByProductIdIn(Collection<Long> productIds);
     void deleteByProductId(Long productId);
+
+    @Query("select i.productId from Inventory i")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    Stream<Long> streamAllProductIds();
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Inventory i
+               set i.quantity = i.quantity + :delta, i.version = i.version + 1
+             where i.productId = :productId
+               and i.quantity + :delta >= 0
+            """)
+    int adjustQuantity(@Param("productId") Long productId, @Param("delta") int delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Inventory i where i.productId in :productIds order by i.productId")
+    List<Inventory> lockAllByProductIdIn(@Param("productIds") Collection<Long> productIds);
 }
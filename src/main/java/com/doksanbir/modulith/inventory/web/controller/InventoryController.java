@@ -7,6 +7,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/inventories")
 @RequiredArgsConstructor
@@ -22,10 +25,36 @@ public class InventoryController {
         return ResponseEntity.ok(quantity);
     }
 
+    @GetMapping(params = "productIds")
+    public ResponseEntity<Map<Long, Integer>> getInventories(@RequestParam List<Long> productIds) {
+        log.info("Fetching inventory for {} products", productIds.size());
+        return ResponseEntity.ok(inventoryUseCase.getQuantitiesByProductIds(productIds));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Map<Long, Integer>> getInventoriesBatch(@RequestBody List<Long> productIds) {
+        log.info("Fetching inventory for {} products", productIds.size());
+        return ResponseEntity.ok(inventoryUseCase.getQuantitiesByProductIds(productIds));
+    }
+
     @PutMapping("/{productId}")
     public ResponseEntity<Void> updateInventory(@PathVariable Long productId, @RequestBody int quantity) {
         log.info("Updating inventory for productId: {}", productId);
         inventoryUseCase.updateInventory(productId, quantity);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{productId}/adjustments")
+    public ResponseEntity<Void> adjustInventory(@PathVariable Long productId, @RequestBody int delta) {
+        log.info("Adjusting inventory for productId: {} by {}", productId, delta);
+        inventoryUseCase.adjustInventory(productId, delta);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/adjustments")
+    public ResponseEntity<Void> adjustInventories(@RequestBody Map<Long, Integer> deltas) {
+        log.info("Adjusting inventory for {} products", deltas.size());
+        inventoryUseCase.adjustInventories(deltas);
+        return ResponseEntity.noContent().build();
+    }
 }
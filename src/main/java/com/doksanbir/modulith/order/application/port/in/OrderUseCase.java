@@ -1,4 +1,6 @@
-package com.doksanbir.modulith.order.application;
+package com.doksanbir.modulith.order.application.port.in;
+
+import com.doksanbir.modulith.order.web.dto.OrderDTO;
 
 import java.util.List;
 
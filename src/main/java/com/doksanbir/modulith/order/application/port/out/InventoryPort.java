@@ -0,0 +1,21 @@
+package com.doksanbir.modulith.order.application.port.out;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Access to the inventory module. Served in-process by default, or over HTTP when
+ * {@code app.order.inventory.mode=remote}.
+ */
+public interface InventoryPort {
+    int getInventory(Long productId);
+    Map<Long, Integer> getInventories(Collection<Long> productIds);
+    void updateInventory(Long productId, int quantity);
+    void adjustInventory(Long productId, int delta);
+
+    /**
+     * Adds each delta to the stock of its product, all or none. The change is undone if the caller's transaction
+     * rolls back.
+     */
+    void adjustInventories(Map<Long, Integer> deltas);
+}
@@ -0,0 +1,13 @@
+package com.doksanbir.modulith.order.application.port.out;
+
+import com.doksanbir.modulith.order.domain.model.Order;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderRepositoryPort {
+    Order save(Order order);
+    Optional<Order> findById(Long id);
+    List<Order> findAll();
+    void deleteById(Long id);
+}
@@ -0,0 +1,16 @@
+package com.doksanbir.modulith.order.application.port.out;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Current prices from the product module. Orders are priced from here, never from the client's payload.
+ */
+public interface ProductPricePort {
+
+    /**
+     * The prices of the given products; unknown and discontinued products are left out.
+     */
+    Map<Long, BigDecimal> getPrices(Collection<Long> productIds);
+}
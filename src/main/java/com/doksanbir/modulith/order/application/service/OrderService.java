@@ -0,0 +1,194 @@
+package com.doksanbir.modulith.order.application.service;
+
+import com.doksanbir.modulith.order.application.port.in.OrderUseCase;
+import com.doksanbir.modulith.order.application.port.out.InventoryPort;
+import com.doksanbir.modulith.order.application.port.out.OrderRepositoryPort;
+import com.doksanbir.modulith.order.application.port.out.ProductPricePort;
+import com.doksanbir.modulith.order.domain.model.Order;
+import com.doksanbir.modulith.order.domain.model.OrderItem;
+import com.doksanbir.modulith.order.domain.model.OrderStatus;
+import com.doksanbir.modulith.order.web.dto.OrderDTO;
+import com.doksanbir.modulith.shared.InsufficientStockException;
+import com.doksanbir.modulith.shared.InvalidOrderException;
+import com.doksanbir.modulith.shared.OrderNotFoundException;
+import com.doksanbir.modulith.shared.ProductNotFoundException;
+import com.doksanbir.modulith.shared.events.OrderPlacedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+class OrderService implements OrderUseCase {
+
+    private final OrderRepositoryPort orderRepositoryPort;
+    private final InventoryPort inventoryPort;
+    private final ProductPricePort productPricePort;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public OrderDTO placeOrder(OrderDTO orderDTO) {
+        log.info("Placing order for customerId: {} with {} items", orderDTO.customerId(),
+                orderDTO.items() == null ? 0 : orderDTO.items().size());
+        validateItems(orderDTO.items());
+        Map<Long, Integer> requested = quantities(orderDTO.items());
+        Map<Long, BigDecimal> prices = priceOf(requested.keySet());
+        reserveStock(requested, Map.of());
+
+        Order order = Order.builder()
+                .customerId(orderDTO.customerId())
+                .items(mapToItems(orderDTO.items(), prices))
+                .status(OrderStatus.PENDING)
+                .build();
+        Order savedOrder = orderRepositoryPort.save(order);
+        eventPublisher.publishEvent(new OrderPlacedEvent(savedOrder.getId()));
+        return mapToDTO(savedOrder);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderDTO getOrderById(Long id) {
+        Order order = orderRepositoryPort.findById(id)
+                .orElseThrow(() -> new OrderNotFoundException(id));
+        return mapToDTO(order);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getAllOrders() {
+        return orderRepositoryPort.findAll().stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public OrderDTO updateOrder(Long id, OrderDTO orderDTO) {
+        log.info("Updating order with id: {}", id);
+        Order existingOrder = orderRepositoryPort.findById(id)
+                .orElseThrow(() -> new OrderNotFoundException(id));
+        validateItems(orderDTO.items());
+        OrderStatus status = orderDTO.status() != null ? orderDTO.status() : existingOrder.getStatus();
+
+        // Lines already on the order keep the price they were placed at; new products are priced now
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        Map<Long, Integer> requested = quantities(orderDTO.items());
+        Set<Long> newProducts = new HashSet<>(requested.keySet());
+        for (OrderItem item : existingOrder.getItems()) {
+            prices.put(item.getProductId(), item.getPrice());
+            newProducts.remove(item.getProductId());
+        }
+        prices.putAll(priceOf(newProducts));
+        reserveStock(holdsStock(status) ? requested : Map.of(), heldBy(existingOrder));
+
+        existingOrder.setCustomerId(orderDTO.customerId());
+        existingOrder.setStatus(status);
+        // Replace the contents rather than the collection so orphan removal keeps tracking it
+        existingOrder.getItems().clear();
+        existingOrder.getItems().addAll(mapToItems(orderDTO.items(), prices));
+
+        return mapToDTO(orderRepositoryPort.save(existingOrder));
+    }
+
+    @Override
+    public void deleteOrder(Long id) {
+        log.info("Deleting order with id: {}", id);
+        Order order = orderRepositoryPort.findById(id)
+                .orElseThrow(() -> new OrderNotFoundException(id));
+        // Stock of an order that has not shipped goes back on the shelf
+        if (order.getStatus() == OrderStatus.PENDING || order.getStatus() == OrderStatus.CONFIRMED) {
+            reserveStock(Map.of(), heldBy(order));
+        }
+        orderRepositoryPort.deleteById(id);
+    }
+
+    private void validateItems(List<OrderDTO.OrderItemDTO> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidOrderException("Order must contain at least one item");
+        }
+        for (OrderDTO.OrderItemDTO item : items) {
+            if (item.productId() == null || item.quantity() == null || item.quantity() <= 0) {
+                throw new InvalidOrderException("Order items need a product id and a positive quantity");
+            }
+        }
+    }
+
+    private static Map<Long, Integer> quantities(List<OrderDTO.OrderItemDTO> items) {
+        return items.stream()
+                .collect(Collectors.toMap(OrderDTO.OrderItemDTO::productId, OrderDTO.OrderItemDTO::quantity, Integer::sum));
+    }
+
+    private Map<Long, BigDecimal> priceOf(Set<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, BigDecimal> prices = productPricePort.getPrices(productIds);
+        for (Long productId : productIds) {
+            if (!prices.containsKey(productId)) {
+                throw new ProductNotFoundException(productId);
+            }
+        }
+        return prices;
+    }
+
+    // Cancelled orders have given their stock back; every other order still holds what it was placed with
+    private static boolean holdsStock(OrderStatus status) {
+        return status != OrderStatus.CANCELLED;
+    }
+
+    private static Map<Long, Integer> heldBy(Order order) {
+        if (!holdsStock(order.getStatus())) {
+            return Map.of();
+        }
+        return order.getItems().stream()
+                .collect(Collectors.toMap(OrderItem::getProductId, OrderItem::getQuantity, Integer::sum));
+    }
+
+    /**
+     * Moves stock from {@code held} to {@code requested} in one all-or-none adjustment that joins this
+     * transaction: the conditional check and the decrement happen together, so two orders can never both take
+     * the last unit, and a shortfall fails the whole order with {@link InsufficientStockException}.
+     */
+    private void reserveStock(Map<Long, Integer> requested, Map<Long, Integer> held) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        held.forEach((productId, quantity) -> deltas.merge(productId, quantity, Integer::sum));
+        requested.forEach((productId, quantity) -> deltas.merge(productId, -quantity, Integer::sum));
+        deltas.values().removeIf(delta -> delta == 0);
+        inventoryPort.adjustInventories(deltas);
+    }
+
+    private List<OrderItem> mapToItems(List<OrderDTO.OrderItemDTO> items, Map<Long, BigDecimal> prices) {
+        List<OrderItem> orderItems = new ArrayList<>(items.size());
+        for (OrderDTO.OrderItemDTO item : items) {
+            orderItems.add(OrderItem.builder()
+                    .productId(item.productId())
+                    .quantity(item.quantity())
+                    .price(prices.get(item.productId()))
+                    .build());
+        }
+        return orderItems;
+    }
+
+    private OrderDTO mapToDTO(Order order) {
+        return new OrderDTO(
+                order.getId(),
+                order.getCustomerId(),
+                order.getItems().stream()
+                        .map(item -> new OrderDTO.OrderItemDTO(item.getProductId(), item.getQuantity(), item.getPrice()))
+                        .toList(),
+                order.getStatus()
+        );
+    }
+}
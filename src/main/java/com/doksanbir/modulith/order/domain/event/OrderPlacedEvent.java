@@ -1,4 +0,0 @@
-package com.doksanbir.modulith.order.domain.event;
-
-public record OrderPlacedEvent(Long orderId) {
-}
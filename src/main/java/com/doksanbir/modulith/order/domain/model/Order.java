@@ -15,12 +15,15 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     private Long customerId;
 
+    // A non-nullable, non-updatable join column lets the foreign key go out with the item INSERT instead of a follow-up UPDATE
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "order_id", nullable = false, updatable = false)
     private List<OrderItem> items;
 
     @Enumerated(EnumType.STRING)
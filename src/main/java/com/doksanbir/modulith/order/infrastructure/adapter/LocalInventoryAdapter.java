@@ -0,0 +1,43 @@
+package com.doksanbir.modulith.order.infrastructure.adapter;
+
+import com.doksanbir.modulith.order.application.port.out.InventoryPort;
+import com.doksanbir.modulith.shared.api.InventoryApi;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(prefix = "app.order.inventory", name = "mode", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalInventoryAdapter implements InventoryPort {
+
+    private final InventoryApi inventoryApi;
+
+    @Override
+    public int getInventory(Long productId) {
+        return inventoryApi.getQuantityByProductId(productId);
+    }
+
+    @Override
+    public Map<Long, Integer> getInventories(Collection<Long> productIds) {
+        return inventoryApi.getQuantitiesByProductIds(productIds);
+    }
+
+    @Override
+    public void updateInventory(Long productId, int quantity) {
+        inventoryApi.updateInventory(productId, quantity);
+    }
+
+    @Override
+    public void adjustInventory(Long productId, int delta) {
+        inventoryApi.adjustInventory(productId, delta);
+    }
+
+    @Override
+    public void adjustInventories(Map<Long, Integer> deltas) {
+        inventoryApi.adjustInventories(deltas);
+    }
+}
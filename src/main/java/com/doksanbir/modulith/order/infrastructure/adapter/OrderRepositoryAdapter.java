@@ -0,0 +1,37 @@
+package com.doksanbir.modulith.order.infrastructure.adapter;
+
+import com.doksanbir.modulith.order.application.port.out.OrderRepositoryPort;
+import com.doksanbir.modulith.order.domain.model.Order;
+import com.doksanbir.modulith.order.infrastructure.repository.JpaOrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class OrderRepositoryAdapter implements OrderRepositoryPort {
+
+    private final JpaOrderRepository jpaOrderRepository;
+
+    @Override
+    public Order save(Order order) {
+        return jpaOrderRepository.save(order);
+    }
+
+    @Override
+    public Optional<Order> findById(Long id) {
+        return jpaOrderRepository.findById(id);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return jpaOrderRepository.findAll();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        jpaOrderRepository.deleteById(id);
+    }
+}
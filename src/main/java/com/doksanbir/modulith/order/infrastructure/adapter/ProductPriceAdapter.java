@@ -0,0 +1,30 @@
+package com.doksanbir.modulith.order.infrastructure.adapter;
+
+import com.doksanbir.modulith.order.application.port.out.ProductPricePort;
+import com.doksanbir.modulith.shared.api.ProductApi;
+import com.doksanbir.modulith.shared.api.ProductSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ProductPriceAdapter implements ProductPricePort {
+
+    private final ProductApi productApi;
+
+    @Override
+    public Map<Long, BigDecimal> getPrices(Collection<Long> productIds) {
+        Map<Long, BigDecimal> prices = HashMap.newHashMap(productIds.size());
+        for (ProductSummary product : productApi.getProductSummaries(productIds)) {
+            if (!product.discontinued() && product.price() != null) {
+                prices.put(product.id(), product.price());
+            }
+        }
+        return prices;
+    }
+}
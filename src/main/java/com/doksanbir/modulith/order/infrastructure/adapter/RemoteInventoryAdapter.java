@@ -0,0 +1,146 @@
+package com.doksanbir.modulith.order.infrastructure.adapter;
+
+import com.doksanbir.modulith.order.application.port.out.InventoryPort;
+import com.doksanbir.modulith.order.infrastructure.client.InventoryClient;
+import com.doksanbir.modulith.order.infrastructure.client.UndoOnRollback;
+import com.doksanbir.modulith.order.infrastructure.config.RemoteInventoryProperties;
+import com.doksanbir.modulith.shared.InsufficientStockException;
+import com.doksanbir.modulith.shared.ProductNotFoundException;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Calls the inventory service through Feign. At most {@code max-concurrent-calls} calls are in flight at a time,
+ * the rest wait for a permit: in virtual-thread mode no thread pool bounds the callers any more, and the inventory
+ * service should not see every waiting request at once.
+ * <p>
+ * Exports {@code order.inventory.compensation.failures}, the adjustments that could not be undone after a rollback.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.order.inventory", name = "mode", havingValue = "remote")
+@Slf4j
+public class RemoteInventoryAdapter implements InventoryPort {
+
+    // Beyond this many ids the query string gets unwieldy, so the lookup switches to the POST variant
+    private static final int MAX_QUERY_STRING_IDS = 100;
+
+    private final InventoryClient inventoryClient;
+    private final Semaphore permits;
+    private final RetryTemplate compensationRetry;
+    private final Counter compensationFailures;
+
+    public RemoteInventoryAdapter(InventoryClient inventoryClient, RemoteInventoryProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.inventoryClient = inventoryClient;
+        this.permits = new Semaphore(properties.maxConcurrentCalls(), true);
+        long backoffMillis = Math.max(1, properties.compensationBackoff().toMillis());
+        // A 4xx will not change on a retry: the product is gone, or the request itself is wrong
+        this.compensationRetry = RetryTemplate.builder()
+                .maxAttempts(Math.max(1, properties.compensationAttempts()))
+                .exponentialBackoff(backoffMillis, 2, backoffMillis * 8)
+                .notRetryOn(FeignException.FeignClientException.class)
+                .build();
+        this.compensationFailures = Counter.builder("order.inventory.compensation.failures")
+                .description("Inventory adjustments that could not be undone after the order's transaction rolled back")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getInventory(Long productId) {
+        try {
+            return call(() -> inventoryClient.getInventory(productId));
+        } catch (FeignException.NotFound e) {
+            throw new ProductNotFoundException(productId);
+        }
+    }
+
+    @Override
+    public Map<Long, Integer> getInventories(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productIds.size() <= MAX_QUERY_STRING_IDS
+                ? call(() -> inventoryClient.getInventories(productIds))
+                : call(() -> inventoryClient.getInventoriesBatch(productIds));
+    }
+
+    @Override
+    public void updateInventory(Long productId, int quantity) {
+        try {
+            call(() -> inventoryClient.updateInventory(productId, quantity));
+        } catch (FeignException.NotFound e) {
+            throw new ProductNotFoundException(productId);
+        }
+    }
+
+    @Override
+    public void adjustInventory(Long productId, int delta) {
+        try {
+            call(() -> inventoryClient.adjustInventory(productId, delta));
+        } catch (FeignException.NotFound e) {
+            throw new ProductNotFoundException(productId);
+        } catch (FeignException.Conflict e) {
+            throw new InsufficientStockException(productId, delta);
+        }
+    }
+
+    /**
+     * The inventory service commits the adjustment in its own transaction, so if the caller's transaction rolls back
+     * afterwards, the adapter sends the opposite deltas to give the stock back, retrying with backoff. Nothing gives
+     * it back if every attempt fails, or if this call fails after the inventory service committed it; see
+     * {@code app.order.inventory.compensation-attempts}.
+     */
+    @Override
+    public void adjustInventories(Map<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            call(() -> inventoryClient.adjustInventories(deltas));
+        } catch (FeignException.NotFound e) {
+            throw new ProductNotFoundException(e.contentUTF8());
+        } catch (FeignException.Conflict e) {
+            throw new InsufficientStockException(e.contentUTF8());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new UndoOnRollback(() -> compensate(deltas)));
+        }
+    }
+
+    private void compensate(Map<Long, Integer> deltas) {
+        Map<Long, Integer> reverse = HashMap.newHashMap(deltas.size());
+        deltas.forEach((productId, delta) -> reverse.put(productId, -delta));
+        try {
+            compensationRetry.execute(context -> call(() -> inventoryClient.adjustInventories(reverse)));
+        } catch (RuntimeException e) {
+            compensationFailures.increment();
+            log.error("Could not undo inventory adjustment {} after a rollback", deltas, e);
+        }
+    }
+
+    private <T> T call(Supplier<T> request) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to call the inventory service", e);
+        }
+        try {
+            return request.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
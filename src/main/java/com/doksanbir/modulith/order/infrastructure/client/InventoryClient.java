@@ -0,0 +1,35 @@
+package com.doksanbir.modulith.order.infrastructure.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.Map;
+
+@FeignClient(name = "inventoryClient", url = "${app.order.inventory.url:http://localhost:8080/api/inventories}")
+public interface InventoryClient {
+
+    @GetMapping("/{productId}")
+    int getInventory(@PathVariable Long productId);
+
+    @GetMapping
+    Map<Long, Integer> getInventories(@RequestParam("productIds") Collection<Long> productIds);
+
+    @PostMapping("/batch")
+    Map<Long, Integer> getInventoriesBatch(@RequestBody Collection<Long> productIds);
+
+    @PutMapping("/{productId}")
+    ResponseEntity<Void> updateInventory(@PathVariable Long productId, @RequestBody int quantity);
+
+    @PostMapping("/{productId}/adjustments")
+    ResponseEntity<Void> adjustInventory(@PathVariable Long productId, @RequestBody int delta);
+
+    @PostMapping("/adjustments")
+    ResponseEntity<Void> adjustInventories(@RequestBody Map<Long, Integer> deltas);
+}
@@ -0,0 +1,22 @@
+package com.doksanbir.modulith.order.infrastructure.client;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+
+/**
+ * Runs a compensating call when the local transaction rolls back, for a remote change that committed on its own.
+ */
+public class UndoOnRollback implements TransactionSynchronization {
+
+    private final Runnable undo;
+
+    public UndoOnRollback(Runnable undo) {
+        this.undo = undo;
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        if (status == STATUS_ROLLED_BACK) {
+            undo.run();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.doksanbir.modulith.order.infrastructure.config;
+
+import com.doksanbir.modulith.order.infrastructure.client.InventoryClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the Feign {@link InventoryClient} only when the order module talks to inventory over HTTP.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.order.inventory", name = "mode", havingValue = "remote")
+@EnableFeignClients(clients = InventoryClient.class)
+class RemoteInventoryConfiguration {
+}
@@ -0,0 +1,15 @@
+package com.doksanbir.modulith.order.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.order.inventory")
+public record RemoteInventoryProperties(
+        @DefaultValue("local") String mode,
+        @DefaultValue("http://localhost:8080/api/inventories") String url,
+        @DefaultValue("200") int maxConcurrentCalls,
+        @DefaultValue("4") int compensationAttempts,
+        @DefaultValue("100ms") Duration compensationBackoff
+) {}
@@ -0,0 +1,21 @@
+package com.doksanbir.modulith.order.infrastructure.repository;
+
+import com.doksanbir.modulith.order.domain.model.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JpaOrderRepository extends JpaRepository<Order, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "items")
+    List<Order> findAll();
+}
@@ -0,0 +1,47 @@
+package com.doksanbir.modulith.order.web.controller;
+
+import com.doksanbir.modulith.order.application.port.in.OrderUseCase;
+import com.doksanbir.modulith.order.web.dto.OrderDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+    private final OrderUseCase orderUseCase;
+
+    @PostMapping
+    public ResponseEntity<OrderDTO> placeOrder(@RequestBody OrderDTO orderDTO) {
+        OrderDTO placed = orderUseCase.placeOrder(orderDTO);
+        return ResponseEntity.ok(placed);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderDTO> getOrder(@PathVariable Long id) {
+        OrderDTO order = orderUseCase.getOrderById(id);
+        return ResponseEntity.ok(order);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<OrderDTO>> getAllOrders() {
+        List<OrderDTO> orders = orderUseCase.getAllOrders();
+        return ResponseEntity.ok(orders);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<OrderDTO> updateOrder(@PathVariable Long id, @RequestBody OrderDTO orderDTO) {
+        OrderDTO updated = orderUseCase.updateOrder(id, orderDTO);
+        return ResponseEntity.ok(updated);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
+        orderUseCase.deleteOrder(id);
+        return ResponseEntity.noContent().build();
+    }
+}
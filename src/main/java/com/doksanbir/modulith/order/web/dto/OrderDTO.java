@@ -1,4 +1,4 @@
-package com.doksanbir.modulith.order.application;
+package com.doksanbir.modulith.order.web.dto;
 
 import com.doksanbir.modulith.order.domain.model.OrderStatus;
 
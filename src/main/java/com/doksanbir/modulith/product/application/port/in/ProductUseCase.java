@@ -2,13 +2,30 @@ package com.doksanbir.modulith.product.application.port.in;
 
 
 import com.doksanbir.modulith.product.web.dto.ProductDTO;
+import com.doksanbir.modulith.product.web.dto.ProductFilterDTO;
+import com.doksanbir.modulith.product.web.dto.ProductImportResultDTO;
+import com.doksanbir.modulith.product.web.dto.ProductPageDTO;
+import com.doksanbir.modulith.shared.api.ProductApi;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-public interface ProductUseCase {
+public interface ProductUseCase extends ProductApi {
     ProductDTO createProduct(ProductDTO productDTO);
     ProductDTO getProductById(Long id);
     List<ProductDTO> getAllProducts();
+    ProductPageDTO getProductPage(Long afterId, int size);
+    ProductPageDTO filterProducts(ProductFilterDTO filter, Long afterId, int size);
+    void streamAllProducts(Consumer<ProductDTO> consumer);
     ProductDTO updateProduct(Long id, ProductDTO productDTO);
+
+    /**
+     * Creates products without an id and updates the ones with an id, committing every chunk in its own
+     * transaction. Unknown ids are skipped. The first row that cannot be read, is invalid or fails to store ends
+     * the import, and the result reports how many rows were committed before it.
+     */
+    ProductImportResultDTO importProducts(Stream<ProductDTO> products);
+
     void deleteProduct(Long id);
 }
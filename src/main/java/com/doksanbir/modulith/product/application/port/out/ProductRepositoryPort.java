@@ -1,13 +1,43 @@
 package com.doksanbir.modulith.product.application.port.out;
 
 import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductFilter;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductRepositoryPort {
     Product save(Product product);
+    List<Product> saveAll(List<Product> products);
+
+    /**
+     * Empty if the product does not exist; an id known not to exist throws a
+     * {@link com.doksanbir.modulith.shared.KnownMissingProductException} without a query instead.
+     */
     Optional<Product> findById(Long id);
+
+    List<Product> findAllById(Collection<Long> ids);
     List<Product> findAll();
+
+    /**
+     * Keyset page: up to {@code limit} products with an id greater than {@code afterId}, ordered by id.
+     * A {@code null} cursor starts from the beginning of the catalog.
+     */
+    List<Product> findAllAfter(Long afterId, int limit);
+
+    /**
+     * Keyset page of the products matching the filter: up to {@code limit} of them with an id greater than
+     * {@code afterId}, ordered by id.
+     */
+    List<Product> findAllMatching(ProductFilter filter, Long afterId, int limit);
+
+    /**
+     * Streams the whole catalog off a database cursor, ordered by id. Must be consumed inside a
+     * transaction and closed by the caller.
+     */
+    Stream<Product> streamAll();
+
     void deleteById(Long id);
 }
@@ -3,18 +3,30 @@ package com.doksanbir.modulith.product.application.service;
 import com.doksanbir.modulith.product.application.port.in.ProductUseCase;
 import com.doksanbir.modulith.product.application.port.out.ProductRepositoryPort;
 import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductFilter;
 import com.doksanbir.modulith.product.domain.ProductStatus;
 import com.doksanbir.modulith.product.web.dto.ProductDTO;
+import com.doksanbir.modulith.product.web.dto.ProductFilterDTO;
+import com.doksanbir.modulith.product.web.dto.ProductImportResultDTO;
+import com.doksanbir.modulith.product.web.dto.ProductPageDTO;
 import com.doksanbir.modulith.shared.ProductNotFoundException;
+import com.doksanbir.modulith.shared.api.ProductSummary;
 import com.doksanbir.modulith.shared.events.*;
+import com.doksanbir.modulith.shared.infrastructure.events.ProductBatchSplitter;
+import com.doksanbir.modulith.shared.infrastructure.lookup.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,8 +34,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProductService implements ProductUseCase {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+
     private final ProductRepositoryPort productRepositoryPort;
     private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final SingleFlight<Long, Optional<Product>> productReads;
+    private final ProductBatchSplitter batchSplitter;
 
     @Override
     public ProductDTO createProduct(ProductDTO productDTO) {
@@ -36,27 +54,81 @@ public class ProductService implements ProductUseCase {
                 .status(ProductStatus.ACTIVE)
                 .build();
         Product savedProduct = productRepositoryPort.save(product);
+        productReads.forget(List.of(savedProduct.getId()));
         eventPublisher.publishEvent(new ProductCreatedEvent(savedProduct.getId()));
         log.info("Product created: {}", savedProduct);
         return mapToDTO(savedProduct);
     }
 
+    // Reads join a caller's transaction but do not open one: the catalog snapshot answers them without the
+    // database when it is enabled, and the repository opens its own read-only transaction otherwise. Concurrent
+    // reads of the same product outside a transaction share one lookup
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ProductDTO getProductById(Long id) {
-        Product product = productRepositoryPort.findById(id)
+        Product product = productReads.execute(id, () -> productRepositoryPort.findById(id))
                 .orElseThrow(() -> new ProductNotFoundException(id));
         return mapToDTO(product);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<ProductDTO> getAllProducts() {
         return productRepositoryPort.findAll().stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public ProductPageDTO getProductPage(Long afterId, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<ProductDTO> content = productRepositoryPort.findAllAfter(afterId, limit).stream()
+                .map(this::mapToDTO)
+                .toList();
+        Long nextCursor = content.size() == limit ? content.getLast().id() : null;
+        return new ProductPageDTO(content, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public ProductPageDTO filterProducts(ProductFilterDTO filter, Long afterId, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        ProductFilter criteria = new ProductFilter(filter.minPrice(), filter.maxPrice(), filter.status(), filter.inStock());
+        List<ProductDTO> content = productRepositoryPort.findAllMatching(criteria, afterId, limit).stream()
+                .map(this::mapToDTO)
+                .toList();
+        Long nextCursor = content.size() == limit ? content.getLast().id() : null;
+        return new ProductPageDTO(content, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductDTO> consumer) {
+        try (Stream<Product> products = productRepositoryPort.streamAll()) {
+            products.map(this::mapToDTO).forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSummary> getProductSummaries(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return productRepositoryPort.findAllById(productIds).stream()
+                .map(this::mapToSummary)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachProductSummary(Consumer<ProductSummary> consumer) {
+        try (Stream<Product> products = productRepositoryPort.streamAll()) {
+            products.map(this::mapToSummary).forEach(consumer);
+        }
+    }
+
     @Override
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
         Product existingProduct = productRepositoryPort.findById(id)
@@ -65,29 +137,152 @@ public class ProductService implements ProductUseCase {
         // Capture original state
         ProductStatus oldStatus = existingProduct.getStatus();
         Integer oldStockQuantity = existingProduct.getStockQuantity();
+        boolean contentChanged = changesContent(existingProduct, productDTO);
 
         // Update product fields
         updateProductFields(existingProduct, productDTO);
 
         // Save updated product
         Product updatedProduct = productRepositoryPort.save(existingProduct);
+        productReads.forget(List.of(id));
 
         // Publish relevant events based on changes
         publishStatusChangeEvents(oldStatus, updatedProduct.getStatus(), updatedProduct.getId());
-        publishStockChangeEvent(oldStockQuantity, updatedProduct.getStockQuantity(), updatedProduct.getId());
+        publishStockChangeEvent(oldStockQuantity, updatedProduct);
+        if (contentChanged) {
+            eventPublisher.publishEvent(new ProductUpdatedEvent(updatedProduct.getId()));
+        }
 
         return mapToDTO(updatedProduct);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductImportResultDTO importProducts(Stream<ProductDTO> products) {
+        int created = 0, updated = 0, skipped = 0, chunks = 0, committedRows = 0;
+        String error = null;
+        List<ProductDTO> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        Iterator<ProductDTO> iterator = products.iterator();
+        boolean more = true;
+        while (more) {
+            // A row that cannot be read or is invalid ends the import; the rows before it are still committed
+            try {
+                more = iterator.hasNext();
+                if (more) {
+                    chunk.add(validateImportRow(iterator.next()));
+                }
+            } catch (RuntimeException e) {
+                error = "Row " + (committedRows + chunk.size() + 1) + ": " + e.getMessage();
+                more = false;
+            }
+            if (chunk.size() == IMPORT_CHUNK_SIZE || (!more && !chunk.isEmpty())) {
+                ProductImportResultDTO result;
+                try {
+                    result = transactionTemplate.execute(status -> importChunk(chunk));
+                } catch (RuntimeException e) {
+                    error = "Rows " + (committedRows + 1) + "-" + (committedRows + chunk.size()) + ": " + e.getMessage();
+                    break;
+                }
+                created += result.created();
+                updated += result.updated();
+                skipped += result.skipped();
+                chunks++;
+                committedRows += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (error != null) {
+            log.warn("Product import stopped after {} rows: {}", committedRows, error);
+        }
+        log.info("Imported products: {} created, {} updated, {} skipped in {} chunks", created, updated, skipped, chunks);
+        return new ProductImportResultDTO(created, updated, skipped, chunks, committedRows, error);
+    }
+
+    private static ProductDTO validateImportRow(ProductDTO productDTO) {
+        if (productDTO.price() == null || productDTO.price().signum() < 0) {
+            throw new IllegalArgumentException("price is required and must not be negative");
+        }
+        if (productDTO.stockQuantity() == null || productDTO.stockQuantity() < 0) {
+            throw new IllegalArgumentException("stockQuantity is required and must not be negative");
+        }
+        return productDTO;
+    }
+
     @Override
     public void deleteProduct(Long id) {
         log.info("Deleting product with id: {}", id);
         Product existingProduct = productRepositoryPort.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
         productRepositoryPort.deleteById(id);
+        productReads.forget(List.of(id));
         eventPublisher.publishEvent(new ProductDeletedEvent(id));
     }
 
+    private ProductImportResultDTO importChunk(List<ProductDTO> chunk) {
+        List<Product> newProducts = new ArrayList<>();
+        Map<Long, ProductDTO> changes = new LinkedHashMap<>();
+        for (ProductDTO productDTO : chunk) {
+            if (productDTO.id() == null) {
+                newProducts.add(Product.builder()
+                        .name(productDTO.name())
+                        .description(productDTO.description())
+                        .price(productDTO.price())
+                        .stockQuantity(productDTO.stockQuantity())
+                        .status(ProductStatus.ACTIVE)
+                        .build());
+            } else {
+                changes.put(productDTO.id(), productDTO);
+            }
+        }
+
+        if (!newProducts.isEmpty()) {
+            List<Long> createdIds = productRepositoryPort.saveAll(newProducts).stream()
+                    .map(Product::getId)
+                    .toList();
+            productReads.forget(createdIds);
+            publishBatch(new ProductBatchCreatedEvent(createdIds));
+        }
+
+        List<Product> existingProducts = changes.isEmpty() ? List.of() : productRepositoryPort.findAllById(changes.keySet());
+        Map<Long, Integer> stockChanges = new HashMap<>();
+        List<Long> contentChanges = new ArrayList<>();
+        for (Product product : existingProducts) {
+            ProductDTO productDTO = changes.get(product.getId());
+            ProductStatus oldStatus = product.getStatus();
+            Integer oldStockQuantity = product.getStockQuantity();
+            boolean contentChanged = changesContent(product, productDTO);
+
+            updateProductFields(product, productDTO.status() == null ? withStatus(productDTO, oldStatus) : productDTO);
+
+            // Status changes are rare in bulk syncs and keep their per-product events
+            publishStatusChangeEvents(oldStatus, product.getStatus(), product.getId());
+            if (!oldStockQuantity.equals(product.getStockQuantity()) && holdsInventory(product)) {
+                stockChanges.put(product.getId(), product.getStockQuantity());
+            }
+            if (contentChanged) {
+                contentChanges.add(product.getId());
+            }
+        }
+        if (!existingProducts.isEmpty()) {
+            productRepositoryPort.saveAll(existingProducts);
+            productReads.forget(existingProducts.stream().map(Product::getId).toList());
+        }
+        if (!stockChanges.isEmpty()) {
+            publishBatch(new ProductBatchStockUpdatedEvent(stockChanges));
+        }
+        if (!contentChanges.isEmpty()) {
+            publishBatch(new ProductBatchUpdatedEvent(contentChanges));
+        }
+
+        return new ProductImportResultDTO(newProducts.size(), existingProducts.size(),
+                changes.size() - existingProducts.size(), 1, chunk.size(), null);
+    }
+
+    private ProductDTO withStatus(ProductDTO productDTO, ProductStatus status) {
+        return new ProductDTO(productDTO.id(), productDTO.name(), productDTO.description(),
+                productDTO.price(), productDTO.stockQuantity(), status);
+    }
+
     private ProductDTO mapToDTO(Product product) {
         return new ProductDTO(
                 product.getId(),
@@ -99,6 +294,11 @@ public class ProductService implements ProductUseCase {
         );
     }
 
+    private ProductSummary mapToSummary(Product product) {
+        return new ProductSummary(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStatus() == ProductStatus.DISCONTINUED);
+    }
+
     private void updateProductFields(Product product, ProductDTO productDTO) {
         product.setName(productDTO.name());
         product.setDescription(productDTO.description());
@@ -121,9 +321,27 @@ public class ProductService implements ProductUseCase {
         }
     }
 
-    private void publishStockChangeEvent(Integer oldStock, Integer newStock, Long productId) {
-        if (!oldStock.equals(newStock)) {
-            eventPublisher.publishEvent(new ProductStockUpdatedEvent(productId, newStock));
+    private void publishStockChangeEvent(Integer oldStock, Product product) {
+        if (!oldStock.equals(product.getStockQuantity()) && holdsInventory(product)) {
+            eventPublisher.publishEvent(new ProductStockUpdatedEvent(product.getId(), product.getStockQuantity()));
         }
     }
-}
\ No newline at end of file
+
+    // Discontinuing a product deletes its inventory, so there is no stock left to update until it is reactivated
+    private static boolean holdsInventory(Product product) {
+        return product.getStatus() != ProductStatus.DISCONTINUED;
+    }
+
+    private void publishBatch(ProductBatchEvent event) {
+        batchSplitter.split(event).forEach(eventPublisher::publishEvent);
+    }
+
+    // Name, description and price: the fields a ProductUpdatedEvent stands for
+    private static boolean changesContent(Product product, ProductDTO productDTO) {
+        BigDecimal price = product.getPrice();
+        return !Objects.equals(product.getName(), productDTO.name())
+                || !Objects.equals(product.getDescription(), productDTO.description())
+                || (price == null ? productDTO.price() != null
+                    : productDTO.price() == null || price.compareTo(productDTO.price()) != 0);
+    }
+}
@@ -0,0 +1,14 @@
+package com.doksanbir.modulith.product.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Catalog filter. Criteria left {@code null} match every product; price bounds are inclusive, and a product is in
+ * stock when its stock quantity is positive.
+ */
+public record ProductFilter(
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        ProductStatus status,
+        Boolean inStock
+) {}
@@ -3,35 +3,153 @@ package com.doksanbir.modulith.product.infrastructure.adapter;
 import com.doksanbir.modulith.product.infrastructure.repository.JpaProductRepository;
 import com.doksanbir.modulith.product.application.port.out.ProductRepositoryPort;
 import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductFilter;
+import com.doksanbir.modulith.product.infrastructure.cache.ProductCache;
+import com.doksanbir.modulith.product.infrastructure.catalog.ProductCatalog;
+import com.doksanbir.modulith.product.infrastructure.catalog.ProductCatalogSnapshot;
+import com.doksanbir.modulith.product.infrastructure.lookup.KnownProductIds;
+import com.doksanbir.modulith.shared.KnownMissingProductException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class ProductRepositoryAdapter implements ProductRepositoryPort {
 
     private final JpaProductRepository jpaProductRepository;
+    private final EntityManager entityManager;
+    private final ProductCache productCache;
+    private final ProductCatalog productCatalog;
+    private final KnownProductIds knownProductIds;
 
     @Override
     public Product save(Product product) {
-        return jpaProductRepository.save(product);
+        Product saved = jpaProductRepository.save(product);
+        knownProductIds.added(List.of(saved.getId()));
+        productCache.invalidate(saved.getId());
+        // Every write is marked, so the snapshot does not depend on which events a write path publishes
+        productCatalog.markChanged(List.of(saved.getId()));
+        return saved;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> saved = jpaProductRepository.saveAll(products);
+        List<Long> ids = saved.stream().map(Product::getId).toList();
+        knownProductIds.added(ids);
+        productCache.invalidateAll(ids);
+        productCatalog.markChanged(ids);
+        return saved;
     }
 
     @Override
     public Optional<Product> findById(Long id) {
-        return jpaProductRepository.findById(id);
+        // Every caller turns a miss into a ProductNotFoundException; a known one is thrown here without a stack trace
+        if (!knownProductIds.mightExist(id)) {
+            throw new KnownMissingProductException(id);
+        }
+        if (inReadWriteTransaction()) {
+            return jpaProductRepository.findById(id);
+        }
+        Optional<ProductCatalogSnapshot> snapshot = productCatalog.freshSnapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findById(id);
+        }
+        return productCache.get(id, jpaProductRepository::findById);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        return jpaProductRepository.findAllById(ids);
     }
 
     @Override
     public List<Product> findAll() {
-        return jpaProductRepository.findAll();
+        if (inReadWriteTransaction()) {
+            return jpaProductRepository.findAll();
+        }
+        return productCatalog.freshSnapshot()
+                .map(ProductCatalogSnapshot::findAll)
+                .orElseGet(jpaProductRepository::findAll);
+    }
+
+    @Override
+    public List<Product> findAllAfter(Long afterId, int limit) {
+        Optional<ProductCatalogSnapshot> snapshot = inReadWriteTransaction() ? Optional.empty() : productCatalog.freshSnapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findAllAfter(afterId, limit);
+        }
+        if (afterId == null) {
+            return jpaProductRepository.findAllByOrderByIdAsc(Limit.of(limit));
+        }
+        return jpaProductRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<Product> findAllMatching(ProductFilter filter, Long afterId, int limit) {
+        Optional<ProductCatalogSnapshot> snapshot = inReadWriteTransaction() ? Optional.empty() : productCatalog.freshSnapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findAllMatching(filter, afterId, limit);
+        }
+        return jpaProductRepository.findBy(matching(filter, afterId),
+                query -> query.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        // Detach every row once it has been handed out so the persistence context does not grow with the catalog
+        return jpaProductRepository.streamAllOrderedById()
+                .peek(entityManager::detach);
     }
 
     @Override
     public void deleteById(Long id) {
         jpaProductRepository.deleteById(id);
+        knownProductIds.removed(id);
+        productCache.invalidate(id);
+        productCatalog.markChanged(List.of(id));
+    }
+
+    // Only the criteria that are set become predicates, so the database can use idx_products_status_price
+    private static Specification<Product> matching(ProductFilter filter, Long afterId) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (afterId != null) {
+                predicates.add(builder.greaterThan(root.get("id"), afterId));
+            }
+            if (filter.minPrice() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+            }
+            if (filter.status() != null) {
+                predicates.add(builder.equal(root.get("status"), filter.status()));
+            }
+            if (filter.inStock() != null) {
+                predicates.add(filter.inStock()
+                        ? builder.greaterThan(root.get("stockQuantity"), 0)
+                        : builder.lessThanOrEqualTo(root.get("stockQuantity"), 0));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // Writers need managed entities, so only reads outside a read-write transaction go through the cache or snapshot
+    private static boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
     }
 }
@@ -0,0 +1,133 @@
+package com.doksanbir.modulith.product.infrastructure.cache;
+
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.infrastructure.config.ProductCacheProperties;
+import com.doksanbir.modulith.shared.events.*;
+import com.doksanbir.modulith.shared.infrastructure.config.DataSourceRoutingProperties;
+import com.doksanbir.modulith.shared.infrastructure.datasource.ReadYourWrites;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of products keyed by id. Entries are evicted by size and age, and invalidated
+ * by the product lifecycle events. Hit, miss and eviction counts are exported as {@code cache.*} metrics
+ * tagged {@code cache=products}.
+ * <p>
+ * With read/write routing on, a product refilled within {@code read-your-writes-window} of its last change is read
+ * from the primary: any request may refill it, and one reading from a lagging replica would otherwise cache the
+ * old state for everyone, the writer included.
+ */
+@Component
+public class ProductCache {
+
+    private final boolean enabled;
+    private final Cache<Long, Product> cache;
+    // Products changed within the read-your-writes window; null without routing
+    private final Cache<Long, Boolean> recentlyChanged;
+
+    public ProductCache(ProductCacheProperties properties, DataSourceRoutingProperties routingProperties,
+                        MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.recentlyChanged = enabled && routingProperties.enabled() ? Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(routingProperties.readYourWritesWindow())
+                .build() : null;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    public Optional<Product> get(Long id, Function<Long, Optional<Product>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        Product cached = cache.get(id, key -> refill(key, loader));
+        return Optional.ofNullable(cached).map(ProductCache::copyOf);
+    }
+
+    /**
+     * Evicts the product now and, when called inside a transaction, once more after commit so that a
+     * concurrent reader cannot put the pre-commit state back into the cache.
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+        changed(List.of(id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(id);
+                    changed(List.of(id));
+                }
+            });
+        }
+    }
+
+    /**
+     * Same as {@link #invalidate(Long)} for a whole batch, with a single after-commit eviction.
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+        changed(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(ids);
+                    changed(ids);
+                }
+            });
+        }
+    }
+
+    @EventListener
+    void onProductEvent(ProductEvent event) {
+        switch (event) {
+            case ProductCreatedEvent e -> { }
+            case ProductDeletedEvent e -> invalidate(e.productId());
+            case ProductDiscontinuedEvent e -> invalidate(e.productId());
+            case ProductReactivatedEvent e -> invalidate(e.productId());
+            case ProductStockUpdatedEvent e -> invalidate(e.productId());
+            case ProductUpdatedEvent e -> invalidate(e.productId());
+        }
+    }
+
+    private Product refill(Long id, Function<Long, Optional<Product>> loader) {
+        Optional<Product> product = recentlyChanged != null && recentlyChanged.getIfPresent(id) != null
+                ? ReadYourWrites.onPrimary(() -> loader.apply(id))
+                : loader.apply(id);
+        return product.map(ProductCache::copyOf).orElse(null);
+    }
+
+    // Called again after commit, so the window starts once the replicas can first see the change
+    private void changed(Collection<Long> ids) {
+        if (recentlyChanged != null) {
+            ids.forEach(id -> recentlyChanged.put(id, Boolean.TRUE));
+        }
+    }
+
+    private static Product copyOf(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stockQuantity(product.getStockQuantity())
+                .status(product.getStatus())
+                .build();
+    }
+}
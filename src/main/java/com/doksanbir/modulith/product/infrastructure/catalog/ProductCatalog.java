@@ -0,0 +1,198 @@
+package com.doksanbir.modulith.product.infrastructure.catalog;
+
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.infrastructure.config.ProductCatalogProperties;
+import com.doksanbir.modulith.product.infrastructure.repository.JpaProductRepository;
+import com.doksanbir.modulith.shared.events.*;
+import com.doksanbir.modulith.shared.infrastructure.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory read model of the whole catalog. A full {@link ProductCatalogSnapshot} is loaded in the
+ * background at startup; after that the ids of committed changes are collected from the product events and the
+ * repository writes, and every {@code refresh-interval} the changed rows are re-read in one query and merged into a
+ * new snapshot, which is swapped in with a single volatile write.
+ * <p>
+ * A snapshot is only handed out while it is at most {@code max-staleness} behind the database. If the refresh falls
+ * behind or fails, readers get nothing and go to the database until it catches up again.
+ * <p>
+ * Exports {@code product.catalog.size} (products), {@code product.catalog.memory} (estimated bytes),
+ * {@code product.catalog.staleness} and {@code product.catalog.stale.reads} (reads sent to the database because the
+ * snapshot was missing or too old).
+ */
+@Component
+@Slf4j
+public class ProductCatalog {
+
+    private final JpaProductRepository jpaProductRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ProductCatalogProperties properties;
+    private final Counter staleReads;
+    private final ScheduledExecutorService refresher;
+
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private volatile ProductCatalogSnapshot snapshot;
+
+    public ProductCatalog(JpaProductRepository jpaProductRepository, EntityManager entityManager,
+                          PlatformTransactionManager transactionManager, ProductCatalogProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.jpaProductRepository = jpaProductRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.staleReads = meterRegistry.counter("product.catalog.stale.reads");
+        Gauge.builder("product.catalog.size", this, catalog -> catalog.current().map(ProductCatalogSnapshot::size).orElse(0))
+                .register(meterRegistry);
+        Gauge.builder("product.catalog.memory", this, catalog -> catalog.current().map(ProductCatalogSnapshot::estimatedBytes).orElse(0L))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        TimeGauge.builder("product.catalog.staleness", this, TimeUnit.MILLISECONDS, ProductCatalog::stalenessMillis)
+                .register(meterRegistry);
+
+        if (properties.enabled()) {
+            this.refresher = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("product-catalog-refresher").daemon().factory());
+            long intervalMillis = Math.max(1, properties.refreshInterval().toMillis());
+            refresher.scheduleWithFixedDelay(this::refresh, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.refresher = null;
+        }
+    }
+
+    /**
+     * The current snapshot, or empty when the catalog is disabled, still loading, or more than
+     * {@code max-staleness} behind.
+     */
+    public Optional<ProductCatalogSnapshot> freshSnapshot() {
+        ProductCatalogSnapshot current = snapshot;
+        if (current == null || Duration.between(current.asOf(), Instant.now()).compareTo(properties.maxStaleness()) > 0) {
+            if (properties.enabled()) {
+                staleReads.increment();
+            }
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * Schedules the products for a re-read once the current transaction commits, or right away outside one.
+     */
+    public void markChanged(Collection<Long> ids) {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed.addAll(ids);
+                }
+            });
+        } else {
+            changed.addAll(ids);
+        }
+    }
+
+    @EventListener
+    void onProductEvent(ProductEvent event) {
+        markChanged(List.of(event.productId()));
+    }
+
+    @EventListener
+    void onProductBatchEvent(ProductBatchEvent event) {
+        switch (event) {
+            case ProductBatchCreatedEvent e -> markChanged(e.productIds());
+            case ProductBatchStockUpdatedEvent e -> markChanged(e.stockByProductId().keySet());
+            case ProductBatchUpdatedEvent e -> markChanged(e.productIds());
+        }
+    }
+
+    // A lifecycle annotation rather than DisposableBean: module tracing proxies beans that implement interfaces with
+    // JDK proxies, which could no longer be injected as a ProductCatalog
+    @PreDestroy
+    void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private Optional<ProductCatalogSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    private double stalenessMillis() {
+        ProductCatalogSnapshot current = snapshot;
+        return current == null ? 0 : Duration.between(current.asOf(), Instant.now()).toMillis();
+    }
+
+    private void refresh() {
+        // Changes committed before this instant have been collected already, so the new snapshot reflects them
+        Instant startedAt = Instant.now();
+        Set<Long> ids = drainChanged();
+        try {
+            ProductCatalogSnapshot current = snapshot;
+            if (current == null) {
+                snapshot = ReadYourWrites.onPrimary(() -> load(startedAt));
+            } else if (ids.isEmpty()) {
+                snapshot = current.confirmedAsOf(startedAt);
+            } else {
+                // From the primary, like the load: a lagging replica would hand back rows older than startedAt
+                snapshot = current.withChanges(ReadYourWrites.onPrimary(() ->
+                        readOnlyTransaction.execute(status -> jpaProductRepository.findAllById(ids))), ids, startedAt);
+            }
+        } catch (RuntimeException e) {
+            changed.addAll(ids);
+            log.warn("Could not refresh the product catalog snapshot", e);
+        }
+    }
+
+    private ProductCatalogSnapshot load(Instant startedAt) {
+        long start = System.nanoTime();
+        ProductCatalogSnapshot loaded = readOnlyTransaction.execute(status -> {
+            try (Stream<Product> products = jpaProductRepository.streamAllOrderedById()) {
+                return ProductCatalogSnapshot.of(products.peek(entityManager::detach), startedAt);
+            }
+        });
+        log.info("Loaded {} products into the catalog snapshot in {} ms, ~{} bytes per product",
+                loaded.size(), Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                loaded.size() == 0 ? 0 : loaded.estimatedBytes() / loaded.size());
+        return loaded;
+    }
+
+    private Set<Long> drainChanged() {
+        Set<Long> ids = new HashSet<>();
+        for (Iterator<Long> iterator = changed.iterator(); iterator.hasNext(); ) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        return ids;
+    }
+}
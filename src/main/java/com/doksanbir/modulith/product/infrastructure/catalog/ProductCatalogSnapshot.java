@@ -0,0 +1,360 @@
+package com.doksanbir.modulith.product.infrastructure.catalog;
+
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductFilter;
+import com.doksanbir.modulith.product.domain.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Immutable copy of the product catalog, stored column by column in arrays sorted by id: lookups are a binary
+ * search, keyset pages a contiguous slice, and one product costs a few array slots instead of an object graph.
+ * Changes never touch an existing snapshot; {@link #withChanges} merges them into new arrays, so readers need
+ * no locks and always see a consistent catalog.
+ * <p>
+ * Filters are served from secondary indexes over the same positions: the positions ordered by price, and one
+ * bitmap per status plus one of the products in stock.
+ */
+public final class ProductCatalogSnapshot {
+
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    // Compressed oops: a reference is 4 bytes, an object header 12, and objects are 8-byte aligned
+    private static final int SLOT_BYTES = Long.BYTES + 3 * 4 + Integer.BYTES + Byte.BYTES + Integer.BYTES;
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int BIG_DECIMAL_BYTES = 40;
+    private static final int BITMAP_BYTES = 24;
+
+    private final long[] ids;
+    private final String[] names;
+    private final String[] descriptions;
+    private final BigDecimal[] prices;
+    private final int[] stockQuantities;
+    private final byte[] statuses;
+    private final int[] priceOrder;
+    private final BitSet[] statusBitmaps;
+    private final BitSet inStock;
+    private final long estimatedBytes;
+    private final Instant asOf;
+
+    private ProductCatalogSnapshot(long[] ids, String[] names, String[] descriptions, BigDecimal[] prices,
+                                   int[] stockQuantities, byte[] statuses, int[] priceOrder, BitSet[] statusBitmaps,
+                                   BitSet inStock, long estimatedBytes, Instant asOf) {
+        this.ids = ids;
+        this.names = names;
+        this.descriptions = descriptions;
+        this.prices = prices;
+        this.stockQuantities = stockQuantities;
+        this.statuses = statuses;
+        this.priceOrder = priceOrder;
+        this.statusBitmaps = statusBitmaps;
+        this.inStock = inStock;
+        this.estimatedBytes = estimatedBytes;
+        this.asOf = asOf;
+    }
+
+    /**
+     * Builds a snapshot from products in ascending id order, as read by a full scan of the table. Products are
+     * copied as they stream by, so the entities need not stay reachable.
+     */
+    public static ProductCatalogSnapshot of(Stream<Product> productsOrderedById, Instant asOf) {
+        Columns columns = new Columns(1024);
+        productsOrderedById.forEach(columns::add);
+        return columns.toSnapshot(columns.sortByPrice(IntStream.range(0, columns.size).toArray()), asOf);
+    }
+
+    public Optional<Product> findById(Long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index < 0 ? Optional.empty() : Optional.of(productAt(index));
+    }
+
+    /**
+     * Same contract as the repository's keyset page: up to {@code limit} products with an id greater than
+     * {@code afterId}, ordered by id.
+     */
+    public List<Product> findAllAfter(Long afterId, int limit) {
+        int from = positionAfter(afterId);
+        int to = (int) Math.min(ids.length, (long) from + limit);
+        List<Product> page = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            page.add(productAt(i));
+        }
+        return page;
+    }
+
+    public List<Product> findAll() {
+        return findAllAfter(null, ids.length);
+    }
+
+    /**
+     * Same contract as the repository's filtered keyset page. A price range selective enough is gathered from the
+     * price order and sorted back into id order; otherwise positions are scanned in id order, hopping along the
+     * status (or in-stock) bitmap, until the page is full.
+     */
+    public List<Product> findAllMatching(ProductFilter filter, Long afterId, int limit) {
+        int from = positionAfter(afterId);
+        List<Product> page = new ArrayList<>(Math.min(limit, 1024));
+        if (filter.minPrice() != null || filter.maxPrice() != null) {
+            int low = filter.minPrice() == null ? 0 : firstPriceOrderIndex(filter.minPrice(), false);
+            int high = filter.maxPrice() == null ? ids.length : firstPriceOrderIndex(filter.maxPrice(), true);
+            long matching = Math.max(0, high - low);
+            // Gathering costs about the range's size, scanning about limit / selectivity: the range wins while
+            // its size squared stays below limit * catalog size
+            if (matching * matching < (long) limit * ids.length) {
+                int[] positions = Arrays.copyOfRange(priceOrder, low, (int) (low + matching));
+                Arrays.sort(positions);
+                int start = Arrays.binarySearch(positions, from);
+                for (int i = start < 0 ? -start - 1 : start; i < positions.length && page.size() < limit; i++) {
+                    if (matchesFlags(filter, positions[i])) {
+                        page.add(productAt(positions[i]));
+                    }
+                }
+                return page;
+            }
+        }
+        BitSet driver = filter.status() != null ? statusBitmaps[filter.status().ordinal()]
+                : Boolean.TRUE.equals(filter.inStock()) ? inStock : null;
+        for (int i = next(driver, from); i >= 0 && i < ids.length && page.size() < limit; i = next(driver, i + 1)) {
+            if (matchesFlags(filter, i) && matchesPrice(filter, i)) {
+                page.add(productAt(i));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Returns a new snapshot in which {@code upserts} replace or add products and every other id in
+     * {@code changedIds} is gone. One merge pass over the current columns, so the cost grows with the catalog,
+     * not with the number of changes; callers batch changes accordingly.
+     */
+    public ProductCatalogSnapshot withChanges(Collection<Product> upserts, Set<Long> changedIds, Instant asOf) {
+        List<Product> sorted = new ArrayList<>(upserts);
+        sorted.sort(Comparator.comparing(Product::getId));
+        Columns columns = new Columns(ids.length + sorted.size());
+        int[] newPositions = new int[ids.length];
+        Arrays.fill(newPositions, -1);
+        int[] upsertPositions = new int[sorted.size()];
+        int i = 0;
+        int u = 0;
+        for (Product upsert : sorted) {
+            for (; i < ids.length && ids[i] < upsert.getId(); i++) {
+                if (!changedIds.contains(ids[i])) {
+                    newPositions[i] = columns.copy(this, i);
+                }
+            }
+            if (i < ids.length && ids[i] == upsert.getId()) {
+                i++;
+            }
+            upsertPositions[u++] = columns.add(upsert);
+        }
+        for (; i < ids.length; i++) {
+            if (!changedIds.contains(ids[i])) {
+                newPositions[i] = columns.copy(this, i);
+            }
+        }
+
+        // Unchanged products keep their relative price order, so only the upserts need sorting before a merge
+        int[] kept = new int[columns.size - upsertPositions.length];
+        int k = 0;
+        for (int position : priceOrder) {
+            if (newPositions[position] >= 0) {
+                kept[k++] = newPositions[position];
+            }
+        }
+        return columns.toSnapshot(columns.mergeByPrice(kept, columns.sortByPrice(upsertPositions)), asOf);
+    }
+
+    /**
+     * The same catalog, confirmed up to date as of a later instant.
+     */
+    public ProductCatalogSnapshot confirmedAsOf(Instant asOf) {
+        return new ProductCatalogSnapshot(ids, names, descriptions, prices, stockQuantities, statuses, priceOrder,
+                statusBitmaps, inStock, estimatedBytes, asOf);
+    }
+
+    /**
+     * Instant up to which every committed change is reflected.
+     */
+    public Instant asOf() {
+        return asOf;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Estimated retained heap of the snapshot, assuming compressed references and Latin-1 strings.
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private int positionAfter(Long afterId) {
+        if (afterId == null) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(ids, afterId);
+        return index < 0 ? -index - 1 : index + 1;
+    }
+
+    // First index into the price order whose price is at least the bound, or exceeds it if aboveBound is set
+    private int firstPriceOrderIndex(BigDecimal bound, boolean aboveBound) {
+        int low = 0;
+        int high = priceOrder.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = prices[priceOrder[middle]].compareTo(bound);
+            if (comparison < 0 || aboveBound && comparison == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean matchesFlags(ProductFilter filter, int index) {
+        return (filter.status() == null || statuses[index] == filter.status().ordinal())
+                && (filter.inStock() == null || inStock.get(index) == filter.inStock());
+    }
+
+    private boolean matchesPrice(ProductFilter filter, int index) {
+        return (filter.minPrice() == null || prices[index].compareTo(filter.minPrice()) >= 0)
+                && (filter.maxPrice() == null || prices[index].compareTo(filter.maxPrice()) <= 0);
+    }
+
+    private static int next(BitSet driver, int from) {
+        return driver == null ? from : driver.nextSetBit(from);
+    }
+
+    private Product productAt(int index) {
+        return Product.builder()
+                .id(ids[index])
+                .name(names[index])
+                .description(descriptions[index])
+                .price(prices[index])
+                .stockQuantity(stockQuantities[index])
+                .status(STATUSES[statuses[index]])
+                .build();
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_BYTES + align(ARRAY_HEADER_BYTES + value.length());
+    }
+
+    private static long priceBytes(BigDecimal price) {
+        // Prices with up to 18 digits keep their unscaled value inline instead of in a BigInteger
+        return price.precision() <= 18 ? BIG_DECIMAL_BYTES : BIG_DECIMAL_BYTES + 40 + align(price.precision() / 2);
+    }
+
+    private static final class Columns {
+
+        private long[] ids;
+        private String[] names;
+        private String[] descriptions;
+        private BigDecimal[] prices;
+        private int[] stockQuantities;
+        private byte[] statuses;
+        private long objectBytes;
+        private int size;
+
+        Columns(int capacity) {
+            ids = new long[capacity];
+            names = new String[capacity];
+            descriptions = new String[capacity];
+            prices = new BigDecimal[capacity];
+            stockQuantities = new int[capacity];
+            statuses = new byte[capacity];
+        }
+
+        int add(Product product) {
+            ensureCapacity();
+            ids[size] = product.getId();
+            names[size] = product.getName();
+            descriptions[size] = product.getDescription();
+            prices[size] = product.getPrice();
+            stockQuantities[size] = product.getStockQuantity();
+            statuses[size] = (byte) product.getStatus().ordinal();
+            objectBytes += stringBytes(product.getName()) + stringBytes(product.getDescription())
+                    + priceBytes(product.getPrice());
+            return size++;
+        }
+
+        int copy(ProductCatalogSnapshot source, int index) {
+            ensureCapacity();
+            ids[size] = source.ids[index];
+            names[size] = source.names[index];
+            descriptions[size] = source.descriptions[index];
+            prices[size] = source.prices[index];
+            stockQuantities[size] = source.stockQuantities[index];
+            statuses[size] = source.statuses[index];
+            objectBytes += stringBytes(names[size]) + stringBytes(descriptions[size]) + priceBytes(prices[size]);
+            return size++;
+        }
+
+        int[] sortByPrice(int[] positions) {
+            return Arrays.stream(positions).boxed()
+                    .sorted((a, b) -> prices[a].compareTo(prices[b]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        int[] mergeByPrice(int[] first, int[] second) {
+            int[] merged = new int[first.length + second.length];
+            int i = 0;
+            int j = 0;
+            for (int m = 0; m < merged.length; m++) {
+                merged[m] = j == second.length || i < first.length && prices[first[i]].compareTo(prices[second[j]]) <= 0
+                        ? first[i++] : second[j++];
+            }
+            return merged;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                int capacity = Math.max(16, ids.length * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                descriptions = Arrays.copyOf(descriptions, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                stockQuantities = Arrays.copyOf(stockQuantities, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+        }
+
+        ProductCatalogSnapshot toSnapshot(int[] priceOrder, Instant asOf) {
+            BitSet[] statusBitmaps = new BitSet[STATUSES.length];
+            Arrays.setAll(statusBitmaps, status -> new BitSet(size));
+            BitSet inStock = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                statusBitmaps[statuses[i]].set(i);
+                if (stockQuantities[i] > 0) {
+                    inStock.set(i);
+                }
+            }
+            long bitmapBytes = (STATUSES.length + 1L) * (BITMAP_BYTES + align(ARRAY_HEADER_BYTES + (size + 63L) / 64 * 8));
+            long bytes = objectBytes + 7L * ARRAY_HEADER_BYTES + (long) size * SLOT_BYTES + bitmapBytes;
+            return new ProductCatalogSnapshot(Arrays.copyOf(ids, size), Arrays.copyOf(names, size),
+                    Arrays.copyOf(descriptions, size), Arrays.copyOf(prices, size),
+                    Arrays.copyOf(stockQuantities, size), Arrays.copyOf(statuses, size), priceOrder, statusBitmaps,
+                    inStock, bytes, asOf);
+        }
+    }
+}
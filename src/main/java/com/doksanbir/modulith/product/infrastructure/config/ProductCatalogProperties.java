@@ -0,0 +1,13 @@
+package com.doksanbir.modulith.product.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.product.catalog")
+public record ProductCatalogProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200ms") Duration refreshInterval,
+        @DefaultValue("2s") Duration maxStaleness
+) {}
@@ -0,0 +1,27 @@
+package com.doksanbir.modulith.product.infrastructure.lookup;
+
+import com.doksanbir.modulith.product.infrastructure.repository.JpaProductRepository;
+import com.doksanbir.modulith.shared.infrastructure.config.KnownIdsProperties;
+import com.doksanbir.modulith.shared.infrastructure.lookup.KnownIds;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+@Component
+public class KnownProductIds extends KnownIds {
+
+    private final JpaProductRepository jpaProductRepository;
+
+    public KnownProductIds(JpaProductRepository jpaProductRepository, KnownIdsProperties properties,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        super("product", properties, transactionManager, meterRegistry);
+        this.jpaProductRepository = jpaProductRepository;
+    }
+
+    @Override
+    protected Stream<Long> streamIds() {
+        return jpaProductRepository.streamAllIds();
+    }
+}
@@ -0,0 +1,20 @@
+package com.doksanbir.modulith.product.infrastructure.lookup;
+
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.shared.infrastructure.config.SingleFlightProperties;
+import com.doksanbir.modulith.shared.infrastructure.lookup.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Product lookups by id in flight.
+ */
+@Component
+public class ProductReads extends SingleFlight<Long, Optional<Product>> {
+
+    public ProductReads(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        super("product", properties, meterRegistry);
+    }
+}
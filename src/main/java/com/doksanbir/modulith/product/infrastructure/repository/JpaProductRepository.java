@@ -1,9 +1,35 @@
 package com.doksanbir.modulith.product.infrastructure.repository;
 
 import com.doksanbir.modulith.product.domain.Product;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
-public interface JpaProductRepository extends JpaRepository<Product, Long> {
+public interface JpaProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Product> findAllByOrderByIdAsc(Limit limit);
+
+    @Query("select p from Product p order by p.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Product> streamAllOrderedById();
+
+    @Query("select p.id from Product p")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    Stream<Long> streamAllIds();
 }
@@ -2,18 +2,34 @@ package com.doksanbir.modulith.product.web.controller;
 
 import com.doksanbir.modulith.product.application.port.in.ProductUseCase;
 import com.doksanbir.modulith.product.web.dto.ProductDTO;
+import com.doksanbir.modulith.product.web.dto.ProductFilterDTO;
+import com.doksanbir.modulith.product.web.dto.ProductImportResultDTO;
+import com.doksanbir.modulith.product.web.dto.ProductPageDTO;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ProductUseCase productUseCase;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ProductDTO> createProduct(@RequestBody ProductDTO productDTO) {
@@ -21,18 +37,74 @@ public class ProductController {
         return ResponseEntity.ok(created);
     }
 
+    @PostMapping(path = "/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<ProductImportResultDTO> importProductsNdjson(InputStream body) throws IOException {
+        try (MappingIterator<ProductDTO> products = objectMapper.readerFor(ProductDTO.class).readValues(body)) {
+            return importResponse(productUseCase.importProducts(toStream(products)));
+        }
+    }
+
+    @PostMapping(path = "/bulk", consumes = "text/csv")
+    public ResponseEntity<ProductImportResultDTO> importProductsCsv(InputStream body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return ResponseEntity.ok(new ProductImportResultDTO(0, 0, 0, 0, 0, null));
+            }
+            List<String> columns = parseCsvLine(header);
+            Stream<ProductDTO> products = reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(line -> toProduct(columns, parseCsvLine(line)));
+            return importResponse(productUseCase.importProducts(products));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductDTO> getProduct(@PathVariable Long id) {
         ProductDTO product = productUseCase.getProductById(id);
         return ResponseEntity.ok(product);
     }
 
+    /**
+     * The whole catalog in one response, kept for existing clients; use {@code /page} or {@code /stream} instead.
+     */
+    @Deprecated
     @GetMapping
     public ResponseEntity<List<ProductDTO>> getAllProducts() {
         List<ProductDTO> products = productUseCase.getAllProducts();
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ProductPageDTO> getProductPage(@RequestParam(required = false) Long after,
+                                                         @RequestParam(defaultValue = "100") int size) {
+        ProductPageDTO page = productUseCase.getProductPage(after, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<ProductPageDTO> filterProducts(ProductFilterDTO filter,
+                                                         @RequestParam(required = false) Long after,
+                                                         @RequestParam(defaultValue = "100") int size) {
+        ProductPageDTO page = productUseCase.filterProducts(filter, after, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllProducts(HttpServletRequest request) {
+        // The stream runs for as long as the catalog takes to write out, so only this response has no async timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(-1L);
+        StreamingResponseBody body = out -> productUseCase.streamAllProducts(product -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(product));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductDTO> updateProduct(@PathVariable Long id, @RequestBody ProductDTO productDTO) {
         ProductDTO updated = productUseCase.updateProduct(id, productDTO);
@@ -44,4 +116,60 @@ public class ProductController {
         productUseCase.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    // A partial import still reports what was committed, so the client knows where to resume
+    private static ResponseEntity<ProductImportResultDTO> importResponse(ProductImportResultDTO result) {
+        return result.error() == null
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.unprocessableEntity().body(result);
+    }
+
+    private static Stream<ProductDTO> toStream(Iterator<ProductDTO> products) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(products, Spliterator.ORDERED), false);
+    }
+
+    // Jackson coerces the string cells to the DTO's field types, exactly as for a JSON body
+    private ProductDTO toProduct(List<String> columns, List<String> values) {
+        Map<String, String> row = HashMap.newHashMap(columns.size());
+        for (int i = 0; i < columns.size() && i < values.size(); i++) {
+            String value = values.get(i).strip();
+            if (!value.isEmpty()) {
+                row.put(columns.get(i).strip(), value);
+            }
+        }
+        return objectMapper.convertValue(row, ProductDTO.class);
+    }
+
+    // RFC 4180 fields on a single line: comma separated, optionally double quoted with "" as an escaped quote.
+    // Quoted fields spanning several lines are not supported; such a row is rejected as unterminated
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field (fields spanning lines are not supported)");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
 }
@@ -0,0 +1,12 @@
+package com.doksanbir.modulith.product.web.dto;
+
+import com.doksanbir.modulith.product.domain.ProductStatus;
+
+import java.math.BigDecimal;
+
+public record ProductFilterDTO(
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        ProductStatus status,
+        Boolean inStock
+) {}
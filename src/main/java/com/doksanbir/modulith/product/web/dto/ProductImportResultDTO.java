@@ -0,0 +1,15 @@
+package com.doksanbir.modulith.product.web.dto;
+
+/**
+ * Outcome of a bulk import. Rows are counted from 1, in input order (for CSV, without the header and blank
+ * lines). When {@code error} is set the import stopped there: the first {@code committedRows} rows are stored
+ * and none after them, so the client can fix the row and resend the rest.
+ */
+public record ProductImportResultDTO(
+        int created,
+        int updated,
+        int skipped,
+        int chunks,
+        int committedRows,
+        String error
+) {}
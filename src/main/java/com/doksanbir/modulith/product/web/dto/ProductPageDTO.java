@@ -0,0 +1,8 @@
+package com.doksanbir.modulith.product.web.dto;
+
+import java.util.List;
+
+public record ProductPageDTO(
+        List<ProductDTO> content,
+        Long nextCursor
+) {}
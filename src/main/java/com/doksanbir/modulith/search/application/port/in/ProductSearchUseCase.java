@@ -0,0 +1,12 @@
+package com.doksanbir.modulith.search.application.port.in;
+
+import com.doksanbir.modulith.search.web.dto.ProductSearchResultDTO;
+
+public interface ProductSearchUseCase {
+
+    /**
+     * Products whose name or description contains every term of the query, the last one as a prefix, best
+     * matches first.
+     */
+    ProductSearchResultDTO search(String query, int limit);
+}
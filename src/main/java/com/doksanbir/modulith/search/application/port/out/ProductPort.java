@@ -0,0 +1,15 @@
+package com.doksanbir.modulith.search.application.port.out;
+
+import com.doksanbir.modulith.search.domain.SearchableProduct;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Products as far as search is concerned: discontinued products are not searchable and are left out.
+ */
+public interface ProductPort {
+    List<SearchableProduct> findSearchableProducts(Collection<Long> productIds);
+    void forEachSearchableProduct(Consumer<SearchableProduct> consumer);
+}
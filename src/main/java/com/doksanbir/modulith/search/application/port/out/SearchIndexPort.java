@@ -0,0 +1,30 @@
+package com.doksanbir.modulith.search.application.port.out;
+
+import com.doksanbir.modulith.search.domain.SearchHit;
+import com.doksanbir.modulith.search.domain.SearchableProduct;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface SearchIndexPort {
+    List<SearchHit> search(String query, int limit);
+
+    /**
+     * Versions the changes handed to {@link #index} and {@link #remove}: a change whose version is lower than the
+     * last one applied to a product is ignored. Take it before reading the products, so a later read, which may
+     * see newer text, always carries a higher version.
+     */
+    long nextVersion();
+
+    void index(Collection<SearchableProduct> products, long version);
+    void remove(Collection<Long> productIds, long version);
+
+    /**
+     * Builds a new index from every product the source hands over and then swaps it in; searches keep using the
+     * current index until then.
+     */
+    void rebuild(Consumer<Consumer<SearchableProduct>> source);
+
+    int size();
+}
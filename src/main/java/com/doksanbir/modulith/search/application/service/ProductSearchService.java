@@ -0,0 +1,105 @@
+package com.doksanbir.modulith.search.application.service;
+
+import com.doksanbir.modulith.search.application.port.in.ProductSearchUseCase;
+import com.doksanbir.modulith.search.application.port.out.ProductPort;
+import com.doksanbir.modulith.search.application.port.out.SearchIndexPort;
+import com.doksanbir.modulith.search.domain.SearchableProduct;
+import com.doksanbir.modulith.search.web.dto.ProductSearchHitDTO;
+import com.doksanbir.modulith.search.web.dto.ProductSearchResultDTO;
+import com.doksanbir.modulith.shared.events.*;
+import com.doksanbir.modulith.shared.infrastructure.config.EventLaneConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class ProductSearchService implements ProductSearchUseCase {
+
+    private final SearchIndexPort searchIndexPort;
+    private final ProductPort productPort;
+
+    // Ids changed while a rebuild is running; they are re-read once the rebuilt index is in place
+    private volatile Set<Long> changedDuringRebuild;
+
+    @Override
+    public ProductSearchResultDTO search(String query, int limit) {
+        List<ProductSearchHitDTO> hits = searchIndexPort.search(query, Math.max(limit, 0)).stream()
+                .map(hit -> new ProductSearchHitDTO(hit.productId(), hit.name(), hit.score()))
+                .toList();
+        return new ProductSearchResultDTO(query, hits);
+    }
+
+    // Events only say which products changed; their current text is read back, and versioned so that a read
+    // finishing late on another lane cannot overwrite a newer one
+    @ApplicationModuleListener(condition = "!(#event instanceof T(com.doksanbir.modulith.shared.events.ProductStockUpdatedEvent))")
+    @Async(EventLaneConfiguration.PRODUCT_EVENT_LANES)
+    void handleProductEvent(ProductEvent event) {
+        switch (event) {
+            case ProductCreatedEvent e -> refresh(List.of(e.productId()));
+            case ProductDeletedEvent e -> remove(List.of(e.productId()));
+            case ProductDiscontinuedEvent e -> remove(List.of(e.productId()));
+            case ProductReactivatedEvent e -> refresh(List.of(e.productId()));
+            case ProductStockUpdatedEvent e -> { }
+            case ProductUpdatedEvent e -> refresh(List.of(e.productId()));
+        }
+    }
+
+    @ApplicationModuleListener(condition = "!(#event instanceof T(com.doksanbir.modulith.shared.events.ProductBatchStockUpdatedEvent))")
+    @Async(EventLaneConfiguration.PRODUCT_EVENT_LANES)
+    void handleProductBatchEvent(ProductBatchEvent event) {
+        switch (event) {
+            case ProductBatchCreatedEvent e -> refresh(e.productIds());
+            case ProductBatchStockUpdatedEvent e -> { }
+            case ProductBatchUpdatedEvent e -> refresh(e.productIds());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Async
+    public void rebuildIndex() {
+        long start = System.nanoTime();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        searchIndexPort.rebuild(productPort::forEachSearchableProduct);
+        Set<Long> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        if (!changed.isEmpty()) {
+            refresh(changed);
+        }
+        log.info("Indexed {} products for search in {} ms", searchIndexPort.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void refresh(Collection<Long> productIds) {
+        recordChange(productIds);
+        long version = searchIndexPort.nextVersion();
+        List<SearchableProduct> products = productPort.findSearchableProducts(productIds);
+        searchIndexPort.index(products, version);
+        if (products.size() < productIds.size()) {
+            Set<Long> found = products.stream().map(SearchableProduct::productId).collect(Collectors.toSet());
+            searchIndexPort.remove(productIds.stream().filter(id -> !found.contains(id)).toList(), version);
+        }
+    }
+
+    private void remove(Collection<Long> productIds) {
+        recordChange(productIds);
+        searchIndexPort.remove(productIds, searchIndexPort.nextVersion());
+    }
+
+    private void recordChange(Collection<Long> productIds) {
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.addAll(productIds);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.doksanbir.modulith.search.domain;
+
+public record SearchHit(
+        Long productId,
+        String name,
+        double score
+) {}
@@ -0,0 +1,10 @@
+package com.doksanbir.modulith.search.domain;
+
+/**
+ * The text of a product the search index is built from.
+ */
+public record SearchableProduct(
+        Long productId,
+        String name,
+        String description
+) {}
@@ -0,0 +1,91 @@
+package com.doksanbir.modulith.search.infrastructure.adapter;
+
+import com.doksanbir.modulith.search.application.port.out.SearchIndexPort;
+import com.doksanbir.modulith.search.domain.SearchHit;
+import com.doksanbir.modulith.search.domain.SearchableProduct;
+import com.doksanbir.modulith.search.infrastructure.config.SearchIndexProperties;
+import com.doksanbir.modulith.search.infrastructure.index.InvertedIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the {@link InvertedIndex} searches run against. Exports {@code search.index.size} (indexed products) and
+ * {@code search.query} (query latency).
+ */
+@Component
+public class InMemorySearchIndexAdapter implements SearchIndexPort {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final SearchIndexProperties properties;
+    private final Timer queries;
+    // Shared by every index this adapter builds, so a rebuilt index still tells old changes from new ones
+    private final AtomicLong versions = new AtomicLong();
+    private volatile InvertedIndex index;
+
+    public InMemorySearchIndexAdapter(SearchIndexProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.index = newIndex();
+        this.queries = Timer.builder("search.query")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("search.index.size", this, SearchIndexPort::size).register(meterRegistry);
+    }
+
+    @Override
+    public List<SearchHit> search(String query, int limit) {
+        return queries.record(() -> index.search(query, Math.min(limit, properties.maxResults())));
+    }
+
+    @Override
+    public long nextVersion() {
+        return versions.incrementAndGet();
+    }
+
+    @Override
+    public void index(Collection<SearchableProduct> products, long version) {
+        if (!products.isEmpty()) {
+            index.indexAll(products, version);
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> productIds, long version) {
+        if (!productIds.isEmpty()) {
+            index.removeAll(productIds, version);
+        }
+    }
+
+    @Override
+    public void rebuild(Consumer<Consumer<SearchableProduct>> source) {
+        InvertedIndex rebuilt = newIndex();
+        long version = nextVersion();
+        List<SearchableProduct> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+        source.accept(product -> {
+            chunk.add(product);
+            if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                rebuilt.indexAll(chunk, version);
+                chunk.clear();
+            }
+        });
+        rebuilt.indexAll(chunk, version);
+        index = rebuilt;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    private InvertedIndex newIndex() {
+        return new InvertedIndex(properties.nameBoost(), properties.maxPrefixExpansions());
+    }
+}
@@ -0,0 +1,40 @@
+package com.doksanbir.modulith.search.infrastructure.adapter;
+
+import com.doksanbir.modulith.search.application.port.out.ProductPort;
+import com.doksanbir.modulith.search.domain.SearchableProduct;
+import com.doksanbir.modulith.shared.api.ProductApi;
+import com.doksanbir.modulith.shared.api.ProductSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+public class LocalProductAdapter implements ProductPort {
+
+    private final ProductApi productApi;
+
+    @Override
+    public List<SearchableProduct> findSearchableProducts(Collection<Long> productIds) {
+        return productApi.getProductSummaries(productIds).stream()
+                .filter(product -> !product.discontinued())
+                .map(LocalProductAdapter::toSearchable)
+                .toList();
+    }
+
+    @Override
+    public void forEachSearchableProduct(Consumer<SearchableProduct> consumer) {
+        productApi.forEachProductSummary(product -> {
+            if (!product.discontinued()) {
+                consumer.accept(toSearchable(product));
+            }
+        });
+    }
+
+    private static SearchableProduct toSearchable(ProductSummary product) {
+        return new SearchableProduct(product.id(), product.name(), product.description());
+    }
+}
@@ -0,0 +1,11 @@
+package com.doksanbir.modulith.search.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.search.index")
+public record SearchIndexProperties(
+        @DefaultValue("3") int nameBoost,
+        @DefaultValue("64") int maxPrefixExpansions,
+        @DefaultValue("100") int maxResults
+) {}
@@ -0,0 +1,757 @@
+package com.doksanbir.modulith.search.infrastructure.index;
+
+import com.doksanbir.modulith.search.domain.SearchHit;
+import com.doksanbir.modulith.search.domain.SearchableProduct;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product names and descriptions.
+ * <p>
+ * Every indexed product gets a document number in insertion order, so each term's postings (document numbers with
+ * the term's frequency, name occurrences counting {@code nameBoost} times) are appended already sorted. Updating a
+ * product deletes its old document and appends a new one; deleted documents are skipped at query time and purged
+ * by a compaction once they make up a quarter of the index.
+ * <p>
+ * Every change carries a version, and each product keeps the version of the last change applied to it, even once
+ * removed; a change with a lower version arrives late and is ignored. Versions of removed products are only dropped
+ * with the whole index, when it is rebuilt.
+ * <p>
+ * Queries match documents containing every query term, the last one as a prefix (search as you type); prefixes
+ * expand to at most {@code maxPrefixExpansions} terms. Documents are ranked by BM25 and the top ones returned.
+ * The rarest term drives the evaluation and the others are probed by galloping through their postings, so the cost
+ * follows the most selective term rather than the catalog size. Postings also keep, per block of
+ * {@value #BLOCK_SIZE}, the highest frequency and shortest document in it; once the top list is full, blocks and
+ * documents whose best possible score cannot enter it are skipped unscored, which keeps very common terms cheap.
+ * Queries share a read lock. Changes run one at a time and take the write lock only while they apply; a compaction
+ * builds compacted copies next to the live structures, which queries keep reading, and takes the write lock just to
+ * swap them in. Meanwhile the index holds both copies.
+ */
+public final class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+    private static final int BLOCK_SIZE = 128;
+
+    private final int nameBoost;
+    private final int maxPrefixExpansions;
+    private final Lock readLock;
+    private final Lock writeLock;
+    // Serializes changes; queries never take it
+    private final Lock changeLock = new ReentrantLock();
+
+    private final LongTable versions = new LongTable();
+    private TreeMap<String, Postings> terms = new TreeMap<>();
+    private LongTable docsByProduct = new LongTable();
+    private BitSet deleted = new BitSet();
+    private long[] productIds = new long[1024];
+    private String[] names = new String[1024];
+    private int[] lengths = new int[1024];
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+
+    public InvertedIndex(int nameBoost, int maxPrefixExpansions) {
+        this.nameBoost = nameBoost;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    /**
+     * Adds the products, replacing the ones already indexed, unless a change with a higher version already reached
+     * them.
+     */
+    public void indexAll(Collection<SearchableProduct> products, long version) {
+        changeLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                for (SearchableProduct product : products) {
+                    if (accepts(product.productId(), version)) {
+                        add(product);
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            compactIfNeeded();
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the products, unless a change with a higher version already reached them.
+     */
+    public void removeAll(Collection<Long> productIds, long version) {
+        changeLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                for (Long productId : productIds) {
+                    if (accepts(productId, version)) {
+                        int doc = (int) docsByProduct.remove(productId);
+                        if (doc >= 0) {
+                            delete(doc);
+                        }
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            compactIfNeeded();
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    public int size() {
+        readLock.lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> queryTerms = Tokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        readLock.lock();
+        try {
+            int liveDocs = docCount - deletedCount;
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            Scorer scorer = new Scorer(liveDocs, Math.max(1.0, (double) totalLength / liveDocs));
+            List<Clause> clauses = new ArrayList<>(queryTerms.size());
+            for (int i = 0; i < queryTerms.size(); i++) {
+                Clause clause = i == queryTerms.size() - 1 ? prefixClause(queryTerms.get(i), scorer) : exactClause(queryTerms.get(i), scorer);
+                if (clause == null) {
+                    return List.of();
+                }
+                clauses.add(clause);
+            }
+            clauses.sort(Comparator.comparingLong(Clause::cost));
+            for (int i = 1; i < clauses.size(); i++) {
+                if (clauses.get(i) instanceof PrefixClause prefix) {
+                    prefix.prepareForProbes(clauses.getFirst().cost(), docCount);
+                }
+            }
+            return topHits(clauses, limit);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private List<SearchHit> topHits(List<Clause> clauses, int limit) {
+        // Min-heap of the best documents so far; on equal scores the older document ranks first
+        PriorityQueue<long[]> top = new PriorityQueue<>(limit + 1, Comparator
+                .<long[]>comparingDouble(hit -> Double.longBitsToDouble(hit[1]))
+                .thenComparing(hit -> -hit[0]));
+        Clause driver = clauses.getFirst();
+        double othersBound = 0;
+        for (int c = 1; c < clauses.size(); c++) {
+            othersBound += clauses.get(c).maxScore();
+        }
+        int next = 0;
+        candidates:
+        for (int n = driver.size(); next < n; ) {
+            // With the top list full, only documents that could beat its weakest entry are worth scoring
+            if (top.size() == limit && driver.blockBound(next) + othersBound <= Double.longBitsToDouble(top.peek()[1])) {
+                next = driver.blockEnd(next);
+                continue;
+            }
+            int index = next++;
+            int doc = driver.doc(index);
+            if (deleted.get(doc)) {
+                continue;
+            }
+            double score = driver.score(index);
+            if (top.size() == limit && score + othersBound <= Double.longBitsToDouble(top.peek()[1])) {
+                continue;
+            }
+            for (int c = 1; c < clauses.size(); c++) {
+                double clauseScore = clauses.get(c).seek(doc);
+                if (clauseScore < 0) {
+                    continue candidates;
+                }
+                score += clauseScore;
+            }
+            if (top.size() < limit) {
+                top.add(new long[]{doc, Double.doubleToLongBits(score)});
+            } else if (score > Double.longBitsToDouble(top.peek()[1])) {
+                top.poll();
+                top.add(new long[]{doc, Double.doubleToLongBits(score)});
+            }
+        }
+        SearchHit[] hits = new SearchHit[top.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            long[] hit = top.poll();
+            int doc = (int) hit[0];
+            hits[i] = new SearchHit(productIds[doc], names[doc], Double.longBitsToDouble(hit[1]));
+        }
+        return List.of(hits);
+    }
+
+    private Clause exactClause(String term, Scorer scorer) {
+        Postings postings = terms.get(term);
+        return postings == null ? null : new TermClause(postings, scorer);
+    }
+
+    private Clause prefixClause(String prefix, Scorer scorer) {
+        NavigableMap<String, Postings> matching = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (matching.isEmpty()) {
+            return null;
+        }
+        List<TermClause> expansions = new ArrayList<>();
+        for (Postings postings : matching.values()) {
+            if (expansions.size() == maxPrefixExpansions) {
+                break;
+            }
+            expansions.add(new TermClause(postings, scorer));
+        }
+        return expansions.size() == 1 ? expansions.getFirst() : new PrefixClause(expansions);
+    }
+
+    private boolean accepts(long productId, long version) {
+        if (version < versions.get(productId)) {
+            return false;
+        }
+        versions.put(productId, version);
+        return true;
+    }
+
+    private void add(SearchableProduct product) {
+        int existing = (int) docsByProduct.remove(product.productId());
+        if (existing >= 0) {
+            delete(existing);
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : Tokenizer.tokenize(product.name())) {
+            frequencies.merge(term, nameBoost, Integer::sum);
+            length += nameBoost;
+        }
+        for (String term : Tokenizer.tokenize(product.description())) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        int doc = docCount++;
+        if (doc == productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue(), length);
+        }
+        productIds[doc] = product.productId();
+        names[doc] = product.name();
+        lengths[doc] = length;
+        totalLength += length;
+        docsByProduct.put(product.productId(), doc);
+    }
+
+    private void delete(int doc) {
+        deleted.set(doc);
+        deletedCount++;
+        totalLength -= lengths[doc];
+        names[doc] = null;
+    }
+
+    // Runs under the change lock, so nothing else changes the structures it copies
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_DELETED_FOR_COMPACTION || deletedCount < docCount / 4) {
+            return;
+        }
+        int live = docCount - deletedCount;
+        int capacity = Math.max(1024, live);
+        int[] remap = new int[docCount];
+        long[] compactedProductIds = new long[capacity];
+        String[] compactedNames = new String[capacity];
+        int[] compactedLengths = new int[capacity];
+        LongTable compactedDocs = new LongTable();
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                compactedProductIds[next] = productIds[doc];
+                compactedNames[next] = names[doc];
+                compactedLengths[next] = lengths[doc];
+                compactedDocs.put(productIds[doc], next);
+                next++;
+            }
+        }
+        TreeMap<String, Postings> compactedTerms = new TreeMap<>();
+        terms.forEach((term, postings) -> {
+            Postings compacted = postings.compact(remap, compactedLengths);
+            if (compacted.size > 0) {
+                compactedTerms.put(term, compacted);
+            }
+        });
+
+        writeLock.lock();
+        try {
+            terms = compactedTerms;
+            docsByProduct = compactedDocs;
+            productIds = compactedProductIds;
+            names = compactedNames;
+            lengths = compactedLengths;
+            docCount = next;
+            deleted = new BitSet();
+            deletedCount = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // First index at or after from whose document is >= target, probing at doubling distances before bisecting
+    private static int gallop(int[] docs, int size, int from, int target) {
+        int bound = 1;
+        while (from + bound < size && docs[from + bound] < target) {
+            bound <<= 1;
+        }
+        int low = from + (bound >> 1);
+        int high = Math.min(from + bound, size);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (docs[middle] < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private final class Scorer {
+
+        private final int liveDocs;
+        private final double averageLength;
+
+        Scorer(int liveDocs, double averageLength) {
+            this.liveDocs = liveDocs;
+            this.averageLength = averageLength;
+        }
+
+        // Postings still count deleted documents until a compaction; past the live count the idf would turn
+        // negative, and a negative score reads as no match
+        double idf(int documentFrequency) {
+            int frequency = Math.min(documentFrequency, liveDocs);
+            return Math.log(1 + (liveDocs - frequency + 0.5) / (frequency + 0.5));
+        }
+
+        double score(double idf, int frequency, int doc) {
+            return weight(idf, frequency, lengths[doc]);
+        }
+
+        // Grows with the frequency and shrinks with the length, so a block's highest frequency and shortest
+        // document bound the scores in it
+        double weight(double idf, int frequency, int length) {
+            double normalization = K1 * (1 - B + B * length / averageLength);
+            return idf * frequency * (K1 + 1) / (frequency + normalization);
+        }
+    }
+
+    private abstract static sealed class Clause permits TermClause, PrefixClause {
+
+        abstract long cost();
+
+        abstract int size();
+
+        abstract int doc(int index);
+
+        abstract double score(int index);
+
+        /**
+         * End of the block holding the index, and the highest score a document in that block can reach.
+         */
+        abstract int blockEnd(int index);
+
+        abstract double blockBound(int index);
+
+        abstract double maxScore();
+
+        /**
+         * Score of the document for this clause, or -1 if it does not match. Documents must be probed in
+         * ascending order.
+         */
+        abstract double seek(int doc);
+    }
+
+    private static final class TermClause extends Clause {
+
+        private final Postings postings;
+        private final Scorer scorer;
+        private final double idf;
+        private int cursor;
+
+        TermClause(Postings postings, Scorer scorer) {
+            this.postings = postings;
+            this.scorer = scorer;
+            this.idf = scorer.idf(postings.size);
+        }
+
+        @Override
+        long cost() {
+            return postings.size;
+        }
+
+        @Override
+        int size() {
+            return postings.size;
+        }
+
+        @Override
+        int doc(int index) {
+            return postings.docs[index];
+        }
+
+        @Override
+        double score(int index) {
+            return scorer.score(idf, postings.frequencies[index], postings.docs[index]);
+        }
+
+        @Override
+        int blockEnd(int index) {
+            return Math.min(postings.size, (index / BLOCK_SIZE + 1) * BLOCK_SIZE);
+        }
+
+        @Override
+        double blockBound(int index) {
+            int block = index / BLOCK_SIZE;
+            return scorer.weight(idf, postings.blockMaxFrequencies[block], postings.blockMinLengths[block]);
+        }
+
+        @Override
+        double maxScore() {
+            return scorer.weight(idf, postings.maxFrequency, postings.minLength);
+        }
+
+        @Override
+        double seek(int doc) {
+            cursor = gallop(postings.docs, postings.size, cursor, doc);
+            return cursor < postings.size && postings.docs[cursor] == doc ? score(cursor) : -1;
+        }
+    }
+
+    /**
+     * Union of the terms a prefix expands to; a document matching several of them scores by the best one. Probing
+     * walks each term's postings, behind a bitset of the union when that saves most of the walking; driving the
+     * evaluation merges them into one sorted list first.
+     */
+    private static final class PrefixClause extends Clause {
+
+        private final List<TermClause> expansions;
+        private final double[] expansionBounds;
+        private int[] docs;
+        private int[] owners;
+        private int[] positions;
+        private BitSet members;
+
+        PrefixClause(List<TermClause> expansions) {
+            this.expansions = expansions;
+            this.expansionBounds = expansions.stream().mapToDouble(TermClause::maxScore).toArray();
+        }
+
+        @Override
+        long cost() {
+            return expansions.stream().mapToLong(TermClause::cost).sum();
+        }
+
+        @Override
+        int size() {
+            merge();
+            return docs.length;
+        }
+
+        @Override
+        int doc(int index) {
+            return docs[index];
+        }
+
+        @Override
+        double score(int index) {
+            return expansions.get(owners[index]).score(positions[index]);
+        }
+
+        @Override
+        int blockEnd(int index) {
+            return index + 1;
+        }
+
+        @Override
+        double blockBound(int index) {
+            return expansionBounds[owners[index]];
+        }
+
+        @Override
+        double maxScore() {
+            return Arrays.stream(expansionBounds).max().orElse(0);
+        }
+
+        @Override
+        double seek(int doc) {
+            if (members != null && !members.get(doc)) {
+                return -1;
+            }
+            double best = -1;
+            for (TermClause expansion : expansions) {
+                best = Math.max(best, expansion.seek(doc));
+            }
+            return best;
+        }
+
+        /**
+         * Marks every document of the union in a bitset when probing all expansions for each candidate would cost
+         * more than that; candidates outside the union are then turned away with a single bit test.
+         */
+        void prepareForProbes(long probes, int docCount) {
+            if (probes * (expansions.size() - 1) <= cost()) {
+                return;
+            }
+            members = new BitSet(docCount);
+            for (TermClause expansion : expansions) {
+                for (int i = 0; i < expansion.size(); i++) {
+                    members.set(expansion.doc(i));
+                }
+            }
+        }
+
+        // k-way merge through a binary heap of expansions ordered by their next document. Scores are computed on
+        // demand, except where a document appears under several expansions and the best one has to be picked.
+        private void merge() {
+            if (docs != null) {
+                return;
+            }
+            int[] mergedDocs = new int[(int) cost()];
+            int[] mergedOwners = new int[mergedDocs.length];
+            int[] mergedPositions = new int[mergedDocs.length];
+            int size = 0;
+            int[] cursors = new int[expansions.size()];
+            int[] heads = new int[expansions.size()];
+            int[] heap = new int[expansions.size()];
+            int heapSize = 0;
+            for (int e = 0; e < expansions.size(); e++) {
+                if (expansions.get(e).size() > 0) {
+                    heads[e] = expansions.get(e).doc(0);
+                    heap[heapSize++] = e;
+                }
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(heap, heapSize, i, heads);
+            }
+            while (heapSize > 0) {
+                int e = heap[0];
+                TermClause expansion = expansions.get(e);
+                int doc = heads[e];
+                if (size > 0 && mergedDocs[size - 1] == doc) {
+                    if (expansion.score(cursors[e]) > score(mergedOwners, mergedPositions, size - 1)) {
+                        mergedOwners[size - 1] = e;
+                        mergedPositions[size - 1] = cursors[e];
+                    }
+                } else {
+                    mergedDocs[size] = doc;
+                    mergedOwners[size] = e;
+                    mergedPositions[size++] = cursors[e];
+                }
+                if (++cursors[e] == expansion.size()) {
+                    heap[0] = heap[--heapSize];
+                } else {
+                    heads[e] = expansion.doc(cursors[e]);
+                }
+                siftDown(heap, heapSize, 0, heads);
+            }
+            docs = Arrays.copyOf(mergedDocs, size);
+            owners = Arrays.copyOf(mergedOwners, size);
+            positions = Arrays.copyOf(mergedPositions, size);
+        }
+
+        private double score(int[] owners, int[] positions, int index) {
+            return expansions.get(owners[index]).score(positions[index]);
+        }
+
+        private static void siftDown(int[] heap, int heapSize, int i, int[] heads) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                if (left < heapSize && heads[heap[left]] < heads[heap[smallest]]) {
+                    smallest = left;
+                }
+                if (left + 1 < heapSize && heads[heap[left + 1]] < heads[heap[smallest]]) {
+                    smallest = left + 1;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                int swap = heap[i];
+                heap[i] = heap[smallest];
+                heap[smallest] = swap;
+                i = smallest;
+            }
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+        private int[] blockMaxFrequencies = new int[1];
+        private int[] blockMinLengths = {Integer.MAX_VALUE};
+        private int maxFrequency;
+        private int minLength = Integer.MAX_VALUE;
+
+        void add(int doc, int frequency, int length) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            recordBlock(size++ / BLOCK_SIZE, frequency, length);
+        }
+
+        // A copy holding only the live documents, renumbered
+        Postings compact(int[] remap, int[] lengths) {
+            Postings compacted = new Postings();
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    compacted.add(doc, frequencies[i], lengths[doc]);
+                }
+            }
+            return compacted;
+        }
+
+        private void recordBlock(int block, int frequency, int length) {
+            if (block == blockMaxFrequencies.length) {
+                blockMaxFrequencies = Arrays.copyOf(blockMaxFrequencies, block * 2);
+                blockMinLengths = Arrays.copyOf(blockMinLengths, block * 2);
+                Arrays.fill(blockMinLengths, block, block * 2, Integer.MAX_VALUE);
+            }
+            blockMaxFrequencies[block] = Math.max(blockMaxFrequencies[block], frequency);
+            blockMinLengths[block] = Math.min(blockMinLengths[block], length);
+            maxFrequency = Math.max(maxFrequency, frequency);
+            minLength = Math.min(minLength, length);
+        }
+    }
+
+    /**
+     * Product id to document number or version, open addressing over primitive arrays: a million boxed map entries
+     * would cost more than the postings of a typical product. Values are never negative.
+     */
+    private static final class LongTable {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = emptyKeys(16);
+        private long[] values = new long[16];
+        private int size;
+
+        /**
+         * The key's value, or -1 if it is absent.
+         */
+        long get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, long value) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        /**
+         * Removes the key and returns its value, or -1 if it was absent. Later entries of the probe chain are
+         * shifted back into the hole, so lookups never need tombstones.
+         */
+        long remove(long key) {
+            int mask = keys.length - 1;
+            int hole = slot(key, mask);
+            while (keys[hole] != key) {
+                if (keys[hole] == EMPTY) {
+                    return -1;
+                }
+                hole = (hole + 1) & mask;
+            }
+            long value = values[hole];
+            for (int i = (hole + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                int home = slot(keys[i], mask);
+                // The entry may move into the hole unless its home slot lies cyclically after the hole
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    keys[hole] = keys[i];
+                    values[hole] = values[i];
+                    hole = i;
+                }
+            }
+            keys[hole] = EMPTY;
+            size--;
+            return value;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = emptyKeys(oldKeys.length * 2);
+            values = new long[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        private static long[] emptyKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.doksanbir.modulith.search.infrastructure.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lower-case terms at every character that is neither a letter nor a digit, folding accents
+ * ({@code Café} and {@code cafe} are the same term). Documents and queries go through the same tokenizer.
+ */
+public final class Tokenizer {
+
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean partOfTerm = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (partOfTerm && start < 0) {
+                start = i;
+            } else if (!partOfTerm && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) {
+                    terms.add(folded.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static String fold(String text) {
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lowerCase.length(); i++) {
+            if (lowerCase.charAt(i) > 0x7F) {
+                return COMBINING_MARKS.matcher(Normalizer.normalize(lowerCase, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return lowerCase;
+    }
+}
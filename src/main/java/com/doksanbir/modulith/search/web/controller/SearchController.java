@@ -0,0 +1,21 @@
+package com.doksanbir.modulith.search.web.controller;
+
+import com.doksanbir.modulith.search.application.port.in.ProductSearchUseCase;
+import com.doksanbir.modulith.search.web.dto.ProductSearchResultDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final ProductSearchUseCase productSearchUseCase;
+
+    @GetMapping("/products")
+    public ResponseEntity<ProductSearchResultDTO> searchProducts(@RequestParam("q") String query,
+                                                                 @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(productSearchUseCase.search(query, limit));
+    }
+}
@@ -0,0 +1,7 @@
+package com.doksanbir.modulith.search.web.dto;
+
+public record ProductSearchHitDTO(
+        Long id,
+        String name,
+        double score
+) {}
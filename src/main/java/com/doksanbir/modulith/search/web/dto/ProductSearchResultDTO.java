@@ -0,0 +1,8 @@
+package com.doksanbir.modulith.search.web.dto;
+
+import java.util.List;
+
+public record ProductSearchResultDTO(
+        String query,
+        List<ProductSearchHitDTO> hits
+) {}
@@ -0,0 +1,15 @@
+package com.doksanbir.modulith.shared;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+    public InsufficientStockException(Long productId, int delta) {
+        super("Insufficient stock for product id: " + productId + " to apply adjustment: " + delta);
+    }
+
+    public InsufficientStockException(Long productId, int requested, int available) {
+        super("Insufficient stock for product id: " + productId + ", requested: " + requested + ", available: " + available);
+    }
+}
@@ -0,0 +1,7 @@
+package com.doksanbir.modulith.shared;
+
+public class InvalidOrderException extends RuntimeException {
+    public InvalidOrderException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.doksanbir.modulith.shared;
+
+/**
+ * A product id the known-id filter rules out without a query. Clients probing for ids send such misses in floods
+ * and each one ends as a 404, so unlike a miss found in the database it captures no stack trace.
+ */
+public class KnownMissingProductException extends ProductNotFoundException {
+    public KnownMissingProductException(Long id) {
+        super("Product not found with id: " + id, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.doksanbir.modulith.shared;
+
+public class OrderNotFoundException extends RuntimeException {
+    public OrderNotFoundException(Long id) {
+        super("Order not found with id: " + id);
+    }
+}
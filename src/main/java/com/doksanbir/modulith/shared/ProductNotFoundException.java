@@ -4,4 +4,12 @@ public class ProductNotFoundException extends RuntimeException {
     public ProductNotFoundException(Long id) {
         super("Product not found with id: " + id);
     }
+
+    public ProductNotFoundException(String message) {
+        super(message);
+    }
+
+    protected ProductNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
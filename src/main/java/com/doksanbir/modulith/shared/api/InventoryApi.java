@@ -0,0 +1,20 @@
+package com.doksanbir.modulith.shared.api;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Stock operations the inventory module offers to other modules running in the same JVM.
+ */
+public interface InventoryApi {
+    int getQuantityByProductId(Long productId);
+    Map<Long, Integer> getQuantitiesByProductIds(Collection<Long> productIds);
+    void updateInventory(Long productId, Integer quantity);
+    void adjustInventory(Long productId, int delta);
+
+    /**
+     * Adds each delta to the stock of its product, all or none: if one product is unknown or would drop below zero,
+     * nothing changes. Joins the caller's transaction, so the stock comes back if that transaction rolls back.
+     */
+    void adjustInventories(Map<Long, Integer> deltas);
+}
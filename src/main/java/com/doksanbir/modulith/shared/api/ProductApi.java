@@ -0,0 +1,21 @@
+package com.doksanbir.modulith.shared.api;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Product reads the product module offers to other modules running in the same JVM.
+ */
+public interface ProductApi {
+
+    /**
+     * The products with the given ids; unknown ids are left out.
+     */
+    List<ProductSummary> getProductSummaries(Collection<Long> productIds);
+
+    /**
+     * Hands every product to the consumer, ordered by id, without holding the whole catalog in memory.
+     */
+    void forEachProductSummary(Consumer<ProductSummary> consumer);
+}
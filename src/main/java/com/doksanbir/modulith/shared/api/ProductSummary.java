@@ -0,0 +1,11 @@
+package com.doksanbir.modulith.shared.api;
+
+import java.math.BigDecimal;
+
+public record ProductSummary(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        boolean discontinued
+) {}
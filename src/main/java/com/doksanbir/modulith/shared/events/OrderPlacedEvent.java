@@ -0,0 +1,7 @@
+package com.doksanbir.modulith.shared.events;
+
+import org.jmolecules.event.annotation.DomainEvent;
+
+@DomainEvent(namespace = "order", name = "OrderPlaced")
+public record OrderPlacedEvent(Long orderId) {
+}
@@ -0,0 +1,15 @@
+package com.doksanbir.modulith.shared.events;
+
+import java.util.Collection;
+
+/**
+ * Common type of the events published once per chunk by bulk product imports, so listeners can apply
+ * a whole chunk in one batched write instead of one event per product.
+ */
+public sealed interface ProductBatchEvent permits
+        ProductBatchCreatedEvent,
+        ProductBatchStockUpdatedEvent,
+        ProductBatchUpdatedEvent {
+
+    Collection<Long> productIds();
+}
@@ -0,0 +1,15 @@
+package com.doksanbir.modulith.shared.events;
+
+import org.jmolecules.event.annotation.DomainEvent;
+
+import java.util.Collection;
+import java.util.Map;
+
+@DomainEvent(namespace = "product", name = "ProductBatchStockUpdated")
+public record ProductBatchStockUpdatedEvent(Map<Long, Integer> stockByProductId) implements ProductBatchEvent {
+
+    @Override
+    public Collection<Long> productIds() {
+        return stockByProductId.keySet();
+    }
+}
@@ -0,0 +1,9 @@
+package com.doksanbir.modulith.shared.events;
+
+import org.jmolecules.event.annotation.DomainEvent;
+
+import java.util.List;
+
+@DomainEvent(namespace = "product", name = "ProductBatchUpdated")
+public record ProductBatchUpdatedEvent(List<Long> productIds) implements ProductBatchEvent {
+}
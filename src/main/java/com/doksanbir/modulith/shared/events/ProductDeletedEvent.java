@@ -3,5 +3,5 @@ package com.doksanbir.modulith.shared.events;
 import org.jmolecules.event.annotation.DomainEvent;
 
 @DomainEvent(namespace = "product", name = "ProductDeleted")
-public record ProductDeletedEvent (Long productId) {
+public record ProductDeletedEvent (Long productId) implements ProductEvent {
 }
@@ -3,5 +3,5 @@ package com.doksanbir.modulith.shared.events;
 import org.jmolecules.event.annotation.DomainEvent;
 
 @DomainEvent(namespace = "product", name = "ProductDiscontinued")
-public record ProductDiscontinuedEvent(Long productId) {
+public record ProductDiscontinuedEvent(Long productId) implements ProductEvent {
 }
@@ -0,0 +1,16 @@
+package com.doksanbir.modulith.shared.events;
+
+/**
+ * Common type of the product lifecycle events, so listeners can subscribe to exactly these events
+ * and dispatch over them exhaustively.
+ */
+public sealed interface ProductEvent permits
+        ProductCreatedEvent,
+        ProductDeletedEvent,
+        ProductDiscontinuedEvent,
+        ProductReactivatedEvent,
+        ProductStockUpdatedEvent,
+        ProductUpdatedEvent {
+
+    Long productId();
+}
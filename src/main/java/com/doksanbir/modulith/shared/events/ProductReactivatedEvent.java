@@ -3,5 +3,5 @@ package com.doksanbir.modulith.shared.events;
 import org.jmolecules.event.annotation.DomainEvent;
 
 @DomainEvent(namespace = "product", name = "ProductReactivated")
-public record ProductReactivatedEvent(Long productId) {
+public record ProductReactivatedEvent(Long productId) implements ProductEvent {
 }
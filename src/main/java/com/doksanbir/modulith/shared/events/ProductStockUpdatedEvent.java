@@ -3,5 +3,5 @@ package com.doksanbir.modulith.shared.events;
 import org.jmolecules.event.annotation.DomainEvent;
 
 @DomainEvent(namespace = "product", name = "ProductStockUpdated")
-public record ProductStockUpdatedEvent(Long productId, Integer stockChange) {
+public record ProductStockUpdatedEvent(Long productId, Integer stockChange) implements ProductEvent {
 }
@@ -0,0 +1,10 @@
+package com.doksanbir.modulith.shared.events;
+
+import org.jmolecules.event.annotation.DomainEvent;
+
+/**
+ * Published when a product's name, description or price changes; stock and status changes have events of their own.
+ */
+@DomainEvent(namespace = "product", name = "ProductUpdated")
+public record ProductUpdatedEvent(Long productId) implements ProductEvent {
+}
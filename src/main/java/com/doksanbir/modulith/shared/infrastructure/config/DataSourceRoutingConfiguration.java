@@ -0,0 +1,74 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import com.doksanbir.modulith.shared.infrastructure.datasource.ReadWriteRoutingDataSource;
+import com.doksanbir.modulith.shared.infrastructure.datasource.ReadYourWritesCookie;
+import com.doksanbir.modulith.shared.infrastructure.datasource.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with a {@link ReadWriteRoutingDataSource} over the primary (configured
+ * through {@code spring.datasource.*} as before) and one pool per {@code app.datasource.routing.replicas} entry.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                          DataSourceRoutingProperties properties,
+                                                          MeterRegistry meterRegistry) {
+        if (properties.replicas().isEmpty()) {
+            throw new IllegalStateException("app.datasource.routing.enabled needs at least one app.datasource.routing.replicas entry");
+        }
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (DataSourceRoutingProperties.Replica replica : properties.replicas()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (replicas.size() + 1));
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+            pool.setMaximumPoolSize(properties.replicaPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(pool);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, primaryDataSource.getPoolName(), replicas,
+                properties.selection(), properties.readYourWritesWindow(), meterRegistry);
+    }
+
+    // Injected as a DataSource: module tracing may proxy the bean by its interfaces
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("readWriteRoutingDataSource") DataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesFilter(new ReadYourWritesCookie(properties.readYourWritesSecret(),
+                properties.readYourWritesWindow()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public record DataSourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("round-robin") Selection selection,
+        @DefaultValue("10") int replicaPoolSize,
+        @DefaultValue("2s") Duration readYourWritesWindow,
+        String readYourWritesSecret
+) {
+
+    public record Replica(String url, String username, String password) {}
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+}
@@ -0,0 +1,39 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import com.doksanbir.modulith.shared.infrastructure.events.LaneExecutor;
+import com.doksanbir.modulith.shared.infrastructure.events.LaneKeyListenerFactory;
+import com.doksanbir.modulith.shared.infrastructure.events.ProductBatchSplitter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Executor for product event listeners: {@code @ApplicationModuleListener} methods that also declare
+ * {@code @Async(PRODUCT_EVENT_LANES)} are partitioned by product id, so events for one product are handled in
+ * order and different products in parallel. The lanes run on virtual threads when
+ * {@code spring.threads.virtual.enabled} is set. Batch events are published split per lane by
+ * {@link ProductBatchSplitter}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class EventLaneConfiguration {
+
+    public static final String PRODUCT_EVENT_LANES = "productEventLanes";
+
+    @Bean(name = PRODUCT_EVENT_LANES)
+    LaneExecutor productEventLanes(EventLaneProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        return new LaneExecutor(PRODUCT_EVENT_LANES, properties.count(), properties.queueCapacity(),
+                Threading.VIRTUAL.isActive(environment), meterRegistry);
+    }
+
+    @Bean
+    ProductBatchSplitter productBatchSplitter(EventLaneProperties properties) {
+        return new ProductBatchSplitter(properties.count());
+    }
+
+    @Bean
+    static LaneKeyListenerFactory productEventLaneKeyListenerFactory() {
+        return new LaneKeyListenerFactory(PRODUCT_EVENT_LANES);
+    }
+}
@@ -0,0 +1,10 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.events.lanes")
+public record EventLaneProperties(
+        @DefaultValue("8") int count,
+        @DefaultValue("1000") int queueCapacity
+) {}
@@ -0,0 +1,45 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import com.doksanbir.modulith.shared.events.ProductEvent;
+import com.doksanbir.modulith.shared.infrastructure.events.EventLogExternalizer;
+import com.doksanbir.modulith.shared.infrastructure.events.SegmentedEventLog;
+import org.jmolecules.event.annotation.DomainEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.modulith.events.EventExternalizationConfiguration;
+import org.springframework.modulith.events.RoutingTarget;
+import org.springframework.modulith.events.core.EventSerializer;
+
+/**
+ * Externalizes every event in {@code shared.events} to the local {@link SegmentedEventLog}, routed by the
+ * namespace of its {@link DomainEvent} annotation ({@code product}, {@code order}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.events.log", name = "enabled", havingValue = "true")
+public class EventLogConfiguration {
+
+    @Bean
+    SegmentedEventLog segmentedEventLog(EventLogProperties properties) {
+        return new SegmentedEventLog(properties);
+    }
+
+    @Bean
+    EventExternalizationConfiguration eventExternalizationConfiguration() {
+        return EventExternalizationConfiguration.externalizing()
+                .selectByPackage(ProductEvent.class)
+                .routeAll(event -> RoutingTarget.forTarget(namespace(event)).withoutKey())
+                .build();
+    }
+
+    @Bean
+    EventLogExternalizer eventLogExternalizer(SegmentedEventLog eventLog, EventExternalizationConfiguration configuration,
+                                              EventSerializer serializer) {
+        return new EventLogExternalizer(eventLog, configuration, serializer);
+    }
+
+    private static String namespace(Object event) {
+        DomainEvent domainEvent = event.getClass().getAnnotation(DomainEvent.class);
+        return domainEvent != null && !domainEvent.namespace().isEmpty() ? domainEvent.namespace() : "events";
+    }
+}
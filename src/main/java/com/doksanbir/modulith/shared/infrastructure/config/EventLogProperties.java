@@ -0,0 +1,18 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.events.log")
+public record EventLogProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/event-log") String directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("1h") Duration rollInterval,
+        @DefaultValue("1GB") DataSize retentionSize,
+        @DefaultValue("7d") Duration retentionTime,
+        @DefaultValue("1s") Duration flushInterval
+) {}
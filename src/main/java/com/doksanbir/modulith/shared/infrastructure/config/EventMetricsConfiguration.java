@@ -0,0 +1,29 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import com.doksanbir.modulith.shared.infrastructure.events.EventListenerMetrics;
+import com.doksanbir.modulith.shared.infrastructure.events.ListenerMetricsInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Wraps every transactional event listener method, including {@code @ApplicationModuleListener}s, with
+ * {@link ListenerMetricsInterceptor}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class EventMetricsConfiguration {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor listenerMetricsAdvisor(ObjectProvider<EventListenerMetrics> metrics) {
+        return new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, TransactionalEventListener.class, true),
+                new ListenerMetricsInterceptor(metrics));
+    }
+}
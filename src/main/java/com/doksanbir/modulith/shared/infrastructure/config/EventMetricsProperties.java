@@ -0,0 +1,12 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.events.metrics")
+public record EventMetricsProperties(
+        @DefaultValue("30s") Duration incompleteRefresh,
+        @DefaultValue("10") int slowestListeners
+) {}
@@ -0,0 +1,15 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.events.purge")
+public record EventPurgeProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0 */15 * * * *") String cron,
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("5000") int batchSize,
+        @DefaultValue("50ms") Duration pauseBetweenBatches
+) {}
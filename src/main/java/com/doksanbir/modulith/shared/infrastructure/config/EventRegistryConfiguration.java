@@ -0,0 +1,35 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import com.doksanbir.modulith.shared.infrastructure.events.BatchingEventPublicationRepository;
+import com.doksanbir.modulith.shared.infrastructure.events.EventListenerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.core.EventSerializer;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Replaces the JPA event publication repository with {@link BatchingEventPublicationRepository} on the same table.
+ * The JPA one stays registered, so {@code app.events.registry.batching=false} switches back to it, without the
+ * publication lag metric.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.events.registry", name = "batching", havingValue = "true", matchIfMissing = true)
+public class EventRegistryConfiguration {
+
+    @Bean
+    @Primary
+    BatchingEventPublicationRepository batchingEventPublicationRepository(JdbcTemplate jdbcTemplate,
+                                                                          TransactionTemplate transactionTemplate,
+                                                                          EventSerializer eventSerializer,
+                                                                          EventRegistryProperties properties,
+                                                                          EventListenerMetrics metrics,
+                                                                          MeterRegistry meterRegistry) {
+        return new BatchingEventPublicationRepository(jdbcTemplate, transactionTemplate, eventSerializer,
+                properties.flushInterval(), properties.maxBatchSize(), properties.maxTracked(), properties.trackingTtl(),
+                metrics, meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.events.registry")
+public record EventRegistryProperties(
+        @DefaultValue("true") boolean batching,
+        @DefaultValue("20ms") Duration flushInterval,
+        @DefaultValue("500") int maxBatchSize,
+        @DefaultValue("100000") int maxTracked,
+        @DefaultValue("10m") Duration trackingTtl
+) {}
@@ -0,0 +1,12 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.events.republish")
+public record EventRepublishProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("200") int chunkSize,
+        @DefaultValue("500") int maxPerSecond
+) {}
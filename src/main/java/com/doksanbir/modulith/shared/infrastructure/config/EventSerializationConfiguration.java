@@ -0,0 +1,26 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import com.doksanbir.modulith.shared.infrastructure.events.CompactEventSerializer;
+import com.doksanbir.modulith.shared.infrastructure.events.EventCodecs;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.modulith.events.core.EventSerializer;
+
+/**
+ * Puts {@link CompactEventSerializer} in front of Modulith's JSON serializer for both event publication
+ * repositories. {@code app.events.serialization.format=json} writes plain JSON again; compact rows already stored
+ * then need this serializer to be read, so switch back only once they are completed and purged.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.events.serialization", name = "format", havingValue = "compact", matchIfMissing = true)
+public class EventSerializationConfiguration {
+
+    @Bean
+    @Primary
+    CompactEventSerializer compactEventSerializer(@Qualifier("jacksonEventSerializer") EventSerializer json) {
+        return new CompactEventSerializer(json, EventCodecs.all());
+    }
+}
@@ -0,0 +1,12 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.threads.pinning")
+public record PinnedThreadProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20ms") Duration threshold
+) {}
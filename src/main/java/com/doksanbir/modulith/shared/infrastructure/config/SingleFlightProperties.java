@@ -0,0 +1,9 @@
+package com.doksanbir.modulith.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.lookup.single-flight")
+public record SingleFlightProperties(
+        @DefaultValue("true") boolean enabled
+) {}
@@ -0,0 +1,122 @@
+package com.doksanbir.modulith.shared.infrastructure.datasource;
+
+import com.doksanbir.modulith.shared.infrastructure.config.DataSourceRoutingProperties.Selection;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica pool and everything else to the primary. Replicas are
+ * picked round-robin or by the fewest active connections. A thread that has just written reads from the primary
+ * for {@code read-your-writes-window} (see {@link ReadYourWrites}), and a replica that cannot hand out a connection
+ * is skipped for the primary.
+ * <p>
+ * The decision is made when the connection is requested, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager asks for the
+ * connection before it marks the transaction read-only, and the proxy defers that until the first statement.
+ * <p>
+ * Exports {@code datasource.routing.connections}, tagged with the {@code pool} that served the connection and the
+ * {@code route}: {@code write}, {@code read}, {@code read-your-writes} or {@code fallback}. The pools export their
+ * own {@code hikaricp.*} metrics under their pool names.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final Duration readYourWritesWindow;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter writes;
+    private final Counter readYourWrites;
+    private final Counter fallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, String primaryName, List<HikariDataSource> replicas,
+                                      Selection selection, Duration readYourWritesWindow, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream()
+                .map(replica -> new Replica(replica, connections(meterRegistry, replica.getPoolName(), "read")))
+                .toList();
+        this.selection = selection;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.writes = connections(meterRegistry, primaryName, "write");
+        this.readYourWrites = connections(meterRegistry, primaryName, "read-your-writes");
+        this.fallbacks = connections(meterRegistry, primaryName, "fallback");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.recordWrite(readYourWritesWindow);
+            }
+            writes.increment();
+            return primary.getConnection();
+        }
+        if (ReadYourWrites.isPending()) {
+            readYourWrites.increment();
+            return primary.getConnection();
+        }
+        Replica replica = select();
+        try {
+            Connection connection = replica.dataSource().getConnection();
+            replica.reads().increment();
+            return connection;
+        } catch (SQLException e) {
+            log.warn("Replica {} did not hand out a connection, reading from the primary: {}",
+                    replica.dataSource().getPoolName(), e.getMessage());
+            fallbacks.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource().close());
+    }
+
+    private Replica select() {
+        if (selection == Selection.LEAST_LOADED) {
+            Replica least = null;
+            int leastActive = Integer.MAX_VALUE;
+            for (Replica replica : replicas) {
+                int active = replica.activeConnections();
+                if (active < leastActive) {
+                    least = replica;
+                    leastActive = active;
+                }
+            }
+            return least;
+        }
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String pool, String route) {
+        return meterRegistry.counter("datasource.routing.connections", "pool", pool, "route", route);
+    }
+
+    private record Replica(HikariDataSource dataSource, Counter reads) {
+
+        // The pool starts on its first connection, so an unused replica counts as idle
+        int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.doksanbir.modulith.shared.infrastructure.datasource;
+
+import java.time.Duration;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Tracks, per thread, whether read-only transactions must still go to the primary: for a while after the thread
+ * wrote, so that it reads its own writes even when the replicas lag behind, and inside {@link #onPrimary}. The
+ * mark is cleared at the end of every HTTP request by {@link ReadYourWritesFilter}, so it never carries over to the
+ * next request served by the same thread; the filter carries it to the same client's next requests instead.
+ * <p>
+ * Windows end at a wall-clock instant, so that they mean the same on every instance a client's requests reach.
+ */
+public final class ReadYourWrites {
+
+    // Epoch milliseconds
+    private static final ThreadLocal<Long> primaryUntil = new ThreadLocal<>();
+    private static final ThreadLocal<LongConsumer> writeListener = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> primaryScopes = ThreadLocal.withInitial(() -> 0);
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Sends this thread's reads to the primary for the next {@code window}.
+     */
+    public static void recordWrite(Duration window) {
+        long until = System.currentTimeMillis() + window.toMillis();
+        primaryUntil.set(until);
+        LongConsumer listener = writeListener.get();
+        if (listener != null) {
+            listener.accept(until);
+        }
+    }
+
+    /**
+     * Sends this thread's reads to the primary until {@code untilEpochMillis}, continuing a window an earlier request
+     * opened, and from now on hands the end of every window this thread opens to {@code onWrite}, until
+     * {@link #clear}.
+     */
+    public static void resume(long untilEpochMillis, LongConsumer onWrite) {
+        if (untilEpochMillis > System.currentTimeMillis()) {
+            primaryUntil.set(untilEpochMillis);
+        }
+        writeListener.set(onWrite);
+    }
+
+    /**
+     * Whether this thread's reads must go to the primary right now.
+     */
+    public static boolean isPending() {
+        if (primaryScopes.get() > 0) {
+            return true;
+        }
+        Long until = primaryUntil.get();
+        if (until == null) {
+            return false;
+        }
+        if (until > System.currentTimeMillis()) {
+            return true;
+        }
+        primaryUntil.remove();
+        return false;
+    }
+
+    /**
+     * Runs {@code reads} against the primary, for readers that must not miss a committed write.
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        primaryScopes.set(primaryScopes.get() + 1);
+        try {
+            return reads.get();
+        } finally {
+            int remaining = primaryScopes.get() - 1;
+            if (remaining == 0) {
+                primaryScopes.remove();
+            } else {
+                primaryScopes.set(remaining);
+            }
+        }
+    }
+
+    public static void onPrimary(Runnable reads) {
+        onPrimary(() -> {
+            reads.run();
+            return null;
+        });
+    }
+
+    public static void clear() {
+        primaryUntil.remove();
+        writeListener.remove();
+    }
+}
@@ -0,0 +1,99 @@
+package com.doksanbir.modulith.shared.infrastructure.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseCookie;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Carries the end of a read-your-writes window from the request that wrote to the same client's next requests: a
+ * cookie holding the end (epoch milliseconds) and its HMAC-SHA256, so a client can neither forge nor extend it.
+ * <p>
+ * Every instance that serves the same clients needs the same secret. Without one, each instance makes up its own
+ * and ignores the cookies of the others, so a client's next request keeps reading its writes only if it reaches the
+ * same instance.
+ */
+public class ReadYourWritesCookie {
+
+    public static final String NAME = "read-your-writes";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Duration window;
+
+    public ReadYourWritesCookie(String secret, Duration window) {
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.window = window;
+    }
+
+    public ResponseCookie create(long untilEpochMillis) {
+        String value = untilEpochMillis + "." + sign(Long.toString(untilEpochMillis));
+        return ResponseCookie.from(NAME, value)
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .maxAge(Duration.ofSeconds((window.toMillis() + 999) / 1000))
+                .build();
+    }
+
+    /**
+     * End of the window the request's cookie carries, or 0 if it carries none or one that fails verification. The
+     * end is capped at one window from now, in case the clock of the instance that set it runs ahead.
+     */
+    public long windowEnd(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (NAME.equals(cookie.getName())) {
+                return verify(cookie.getValue());
+            }
+        }
+        return 0;
+    }
+
+    private long verify(String value) {
+        int separator = value.indexOf('.');
+        if (separator <= 0) {
+            return 0;
+        }
+        String until = value.substring(0, separator);
+        byte[] expected = sign(until).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, value.substring(separator + 1).getBytes(StandardCharsets.US_ASCII))) {
+            return 0;
+        }
+        try {
+            return Math.min(Long.parseLong(until), System.currentTimeMillis() + window.toMillis());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private String sign(String value) {
+        try {
+            // Not thread-safe, and cheap to create next to the cost of a request
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(value.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign the read-your-writes cookie", e);
+        }
+    }
+}
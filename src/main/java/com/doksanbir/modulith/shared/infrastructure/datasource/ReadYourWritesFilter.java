@@ -0,0 +1,42 @@
+package com.doksanbir.modulith.shared.infrastructure.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes {@link ReadYourWrites} to the client: a write made while serving one request keeps that request's later
+ * reads on the primary, and so does every request of the same client until the window ends, through a
+ * {@link ReadYourWritesCookie} set on the response of the request that wrote. Nothing else served by the thread is
+ * affected.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesCookie cookie;
+
+    public ReadYourWritesFilter(ReadYourWritesCookie cookie) {
+        this.cookie = cookie;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReadYourWrites.clear();
+        // Writes run before the response is written, so the cookie can still be added when they happen
+        ReadYourWrites.resume(cookie.windowEnd(request), until -> {
+            if (!response.isCommitted()) {
+                response.addHeader(HttpHeaders.SET_COOKIE, cookie.create(until).toString());
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+}
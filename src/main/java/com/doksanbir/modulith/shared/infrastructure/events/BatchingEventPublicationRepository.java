@@ -0,0 +1,422 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.core.EventPublicationRepository;
+import org.springframework.modulith.events.core.EventSerializer;
+import org.springframework.modulith.events.core.PublicationTargetIdentifier;
+import org.springframework.modulith.events.core.TargetEventPublication;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Event publication repository over the same {@code event_publication} table as the JPA one, with batched writes:
+ * <ul>
+ *     <li>publications stored during a transaction are inserted in one JDBC batch just before it commits, so they
+ *     still commit or roll back together with the business change;</li>
+ *     <li>completion marks are buffered and written by a background flusher every {@code flushInterval} (or as soon
+ *     as {@code maxBatchSize} are pending) in one transaction, addressed by primary key.</li>
+ * </ul>
+ * A crash can lose at most one window of completion marks. Those publications are still incomplete in the table
+ * and get republished, which is the same at-least-once guarantee the registry gives when a listener commits but
+ * the process dies before its completion is recorded.
+ * <p>
+ * To address completions by id, the repository remembers which row it created (or loaded) for each event instance
+ * and listener, for at most {@code maxTracked} publications and for no longer than {@code trackingTtl}: a listener
+ * that fails never completes, and its entry would otherwise stay forever. An event it has no id for, e.g. when the
+ * same instance was published twice or the entry was evicted, is matched on its serialized form as the JPA
+ * repository does. Completions of remembered publications also feed the publication lag in
+ * {@link EventListenerMetrics}.
+ */
+@Slf4j
+public class BatchingEventPublicationRepository implements EventPublicationRepository, DisposableBean {
+
+    private static final String INSERT = """
+            insert into event_publication (id, listener_id, event_type, serialized_event, publication_date)
+            values (?, ?, ?, ?, ?)""";
+    private static final String MARK_COMPLETED_BY_ID = """
+            update event_publication set completion_date = ? where id = ? and completion_date is null""";
+    private static final String MARK_COMPLETED_BY_EVENT = """
+            update event_publication set completion_date = ?
+            where serialized_event = ? and listener_id = ? and completion_date is null""";
+    private static final String SELECT = """
+            select id, listener_id, event_type, serialized_event, publication_date, completion_date from event_publication""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventSerializer serializer;
+    private final int maxBatchSize;
+    private final int maxTracked;
+    private final long trackingTtlNanos;
+
+    private final EventListenerMetrics metrics;
+
+    private final Map<PublicationKey, Tracked> tracked = new ConcurrentHashMap<>();
+    private final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCompletions = new AtomicInteger();
+    private final ScheduledExecutorService flusher;
+
+    private final Counter inserted;
+    private final Timer flushes;
+    private final DistributionSummary flushSize;
+
+    public BatchingEventPublicationRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                              EventSerializer serializer, Duration flushInterval, int maxBatchSize,
+                                              int maxTracked, Duration trackingTtl,
+                                              EventListenerMetrics metrics, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.serializer = serializer;
+        this.maxBatchSize = maxBatchSize;
+        this.maxTracked = maxTracked;
+        this.trackingTtlNanos = trackingTtl.toNanos();
+        this.metrics = metrics;
+        this.inserted = Counter.builder("event.registry.inserted")
+                .description("Event publications inserted")
+                .register(meterRegistry);
+        this.flushes = Timer.builder("event.registry.flush")
+                .description("Time to write one batch of completion marks")
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("event.registry.flush.size")
+                .description("Completion marks written per batch")
+                .register(meterRegistry);
+        meterRegistry.gauge("event.registry.completions.pending", pendingCompletions);
+        meterRegistry.gauge("event.registry.tracked", tracked, Map::size);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-registry-flusher").daemon().factory());
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        long evictMillis = Math.max(1, trackingTtl.toMillis() / 2);
+        flusher.scheduleWithFixedDelay(this::evictStale, evictMillis, evictMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public TargetEventPublication create(TargetEventPublication publication) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(publication));
+            return publication;
+        }
+        PendingInserts pending = (PendingInserts) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInserts();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.publications.add(publication);
+        return publication;
+    }
+
+    @Override
+    public void markCompleted(TargetEventPublication publication, Instant completionDate) {
+        forget(publication.getEvent(), publication.getTargetIdentifier());
+        metrics.recordCompletion(publication, completionDate);
+        enqueue(Completion.byId(publication.getIdentifier(), completionDate));
+    }
+
+    @Override
+    public void markCompleted(Object event, PublicationTargetIdentifier identifier, Instant completionDate) {
+        TargetEventPublication publication = forget(event, identifier);
+        if (publication == null) {
+            enqueue(Completion.byEvent(serialize(event), identifier.getValue(), completionDate));
+            return;
+        }
+        metrics.recordCompletion(publication, completionDate);
+        enqueue(Completion.byId(publication.getIdentifier(), completionDate));
+    }
+
+    @Override
+    public List<TargetEventPublication> findIncompletePublications() {
+        flush();
+        return track(jdbcTemplate.query(SELECT + " where completion_date is null order by publication_date", this::map));
+    }
+
+    @Override
+    public List<TargetEventPublication> findIncompletePublicationsPublishedBefore(Instant instant) {
+        flush();
+        return track(jdbcTemplate.query(SELECT + " where completion_date is null and publication_date < ? order by publication_date",
+                this::map, toTimestamp(instant)));
+    }
+
+    @Override
+    public Optional<TargetEventPublication> findIncompletePublicationsByEventAndTargetIdentifier(
+            Object event, PublicationTargetIdentifier identifier) {
+        flush();
+        return track(jdbcTemplate.query(SELECT + " where serialized_event = ? and listener_id = ? and completion_date is null",
+                this::map, serialize(event), identifier.getValue())).stream().findFirst();
+    }
+
+    @Override
+    public List<TargetEventPublication> findCompletedPublications() {
+        flush();
+        return jdbcTemplate.query(SELECT + " where completion_date is not null order by publication_date", this::map);
+    }
+
+    @Override
+    public void deletePublications(List<UUID> identifiers) {
+        jdbcTemplate.batchUpdate("delete from event_publication where id = ?", identifiers, maxBatchSize,
+                (ps, id) -> ps.setObject(1, id));
+    }
+
+    @Override
+    public void deleteCompletedPublications() {
+        flush();
+        jdbcTemplate.update("delete from event_publication where completion_date is not null");
+    }
+
+    @Override
+    public void deleteCompletedPublicationsBefore(Instant instant) {
+        flush();
+        jdbcTemplate.update("delete from event_publication where completion_date < ?", toTimestamp(instant));
+    }
+
+    /**
+     * Writes all buffered completion marks in one transaction.
+     */
+    public synchronized void flush() {
+        List<Completion> batch = new ArrayList<>();
+        for (Completion completion; (completion = completions.poll()) != null; ) {
+            batch.add(completion);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        pendingCompletions.addAndGet(-batch.size());
+        List<Completion> byId = batch.stream().filter(c -> c.id() != null).toList();
+        List<Completion> byEvent = batch.stream().filter(c -> c.id() == null).toList();
+        try {
+            flushes.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                if (!byId.isEmpty()) {
+                    jdbcTemplate.batchUpdate(MARK_COMPLETED_BY_ID, byId, maxBatchSize, (ps, c) -> {
+                        ps.setObject(1, toTimestamp(c.completionDate()));
+                        ps.setObject(2, c.id());
+                    });
+                }
+                if (!byEvent.isEmpty()) {
+                    jdbcTemplate.batchUpdate(MARK_COMPLETED_BY_EVENT, byEvent, maxBatchSize, (ps, c) -> {
+                        ps.setObject(1, toTimestamp(c.completionDate()));
+                        ps.setString(2, c.serializedEvent());
+                        ps.setString(3, c.listenerId());
+                    });
+                }
+            }));
+        } catch (RuntimeException e) {
+            // The transaction rolled back, so none of the marks were written; they go back for the next flush.
+            // Writing a mark twice is harmless, the update only touches incomplete rows
+            completions.addAll(batch);
+            pendingCompletions.addAndGet(batch.size());
+            throw e;
+        }
+        flushSize.record(batch.size());
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private void enqueue(Completion completion) {
+        completions.add(completion);
+        if (pendingCompletions.incrementAndGet() >= maxBatchSize) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not write event publication completions, retrying with the next flush", e);
+        }
+    }
+
+    private void insert(List<TargetEventPublication> publications) {
+        jdbcTemplate.batchUpdate(INSERT, publications, maxBatchSize, (ps, publication) -> {
+            ps.setObject(1, publication.getIdentifier());
+            ps.setString(2, publication.getTargetIdentifier().getValue());
+            ps.setString(3, publication.getEvent().getClass().getName());
+            ps.setString(4, serialize(publication.getEvent()));
+            ps.setObject(5, toTimestamp(publication.getPublicationDate()));
+        });
+        inserted.increment(publications.size());
+    }
+
+    // Re-read publications are new event instances: entries for the instances read or created earlier can never be
+    // completed any more, so they are replaced
+    private List<TargetEventPublication> track(List<TargetEventPublication> publications) {
+        if (!publications.isEmpty() && !tracked.isEmpty()) {
+            Set<UUID> reread = new HashSet<>();
+            publications.forEach(p -> reread.add(p.getIdentifier()));
+            tracked.values().removeIf(t -> reread.contains(t.publication().getIdentifier()));
+        }
+        remember(publications);
+        return publications;
+    }
+
+    private void remember(List<TargetEventPublication> publications) {
+        long now = System.nanoTime();
+        for (TargetEventPublication publication : publications) {
+            if (tracked.size() >= maxTracked) {
+                return;
+            }
+            tracked.putIfAbsent(new PublicationKey(publication.getEvent(), publication.getTargetIdentifier().getValue()),
+                    new Tracked(publication, now));
+        }
+    }
+
+    private TargetEventPublication forget(Object event, PublicationTargetIdentifier identifier) {
+        Tracked removed = tracked.remove(new PublicationKey(event, identifier.getValue()));
+        return removed == null ? null : removed.publication();
+    }
+
+    private void evictStale() {
+        long now = System.nanoTime();
+        tracked.values().removeIf(t -> now - t.since() > trackingTtlNanos);
+    }
+
+    private String serialize(Object event) {
+        return serializer.serialize(event).toString();
+    }
+
+    private TargetEventPublication map(ResultSet rs, int row) throws SQLException {
+        Class<?> eventType;
+        try {
+            eventType = Class.forName(rs.getString("event_type"));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown event type " + rs.getString("event_type"), e);
+        }
+        OffsetDateTime completionDate = rs.getObject("completion_date", OffsetDateTime.class);
+        return new StoredPublication(
+                rs.getObject("id", UUID.class),
+                serializer.deserialize(rs.getString("serialized_event"), eventType),
+                PublicationTargetIdentifier.of(rs.getString("listener_id")),
+                rs.getObject("publication_date", OffsetDateTime.class).toInstant(),
+                completionDate == null ? null : completionDate.toInstant());
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * Identifies the publication of one event instance to one listener; events compare by identity, since two equal
+     * events published separately are separate publications.
+     */
+    private record PublicationKey(Object event, String listenerId) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PublicationKey key && key.event == event && key.listenerId.equals(listenerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(event) + listenerId.hashCode();
+        }
+    }
+
+    private record Tracked(TargetEventPublication publication, long since) {
+    }
+
+    private record Completion(UUID id, String serializedEvent, String listenerId, Instant completionDate) {
+
+        static Completion byId(UUID id, Instant completionDate) {
+            return new Completion(id, null, null, completionDate);
+        }
+
+        static Completion byEvent(String serializedEvent, String listenerId, Instant completionDate) {
+            return new Completion(null, serializedEvent, listenerId, completionDate);
+        }
+    }
+
+    /**
+     * The publications stored by the current transaction, inserted in one batch right before it commits.
+     */
+    private final class PendingInserts implements TransactionSynchronization {
+
+        private final List<TargetEventPublication> publications = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insert(publications);
+            remember(publications);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(BatchingEventPublicationRepository.this);
+            if (status != STATUS_COMMITTED) {
+                publications.forEach(p -> forget(p.getEvent(), p.getTargetIdentifier()));
+            }
+        }
+    }
+
+    private static final class StoredPublication implements TargetEventPublication {
+
+        private final UUID id;
+        private final Object event;
+        private final PublicationTargetIdentifier targetIdentifier;
+        private final Instant publicationDate;
+        private Instant completionDate;
+
+        StoredPublication(UUID id, Object event, PublicationTargetIdentifier targetIdentifier,
+                          Instant publicationDate, Instant completionDate) {
+            this.id = id;
+            this.event = event;
+            this.targetIdentifier = targetIdentifier;
+            this.publicationDate = publicationDate;
+            this.completionDate = completionDate;
+        }
+
+        @Override
+        public UUID getIdentifier() {
+            return id;
+        }
+
+        @Override
+        public Object getEvent() {
+            return event;
+        }
+
+        @Override
+        public PublicationTargetIdentifier getTargetIdentifier() {
+            return targetIdentifier;
+        }
+
+        @Override
+        public Instant getPublicationDate() {
+            return publicationDate;
+        }
+
+        @Override
+        public Optional<Instant> getCompletionDate() {
+            return Optional.ofNullable(completionDate);
+        }
+
+        @Override
+        public void markCompleted(Instant instant) {
+            this.completionDate = instant;
+        }
+    }
+}
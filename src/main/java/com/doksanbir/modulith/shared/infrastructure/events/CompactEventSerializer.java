@@ -0,0 +1,83 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import org.springframework.modulith.events.core.EventSerializer;
+
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores events that have an {@link EventCodec} as a compact binary payload instead of JSON: the type id and schema
+ * version followed by the fields as varints, Base64-encoded behind a {@value #PREFIX} marker so it still fits the
+ * text column of the registry table. Anything else, including events carrying nulls, goes through the JSON
+ * serializer, and payloads without the marker are read as JSON, so rows written before the switch stay readable.
+ * <p>
+ * Payloads are deterministic for equal events, which the registry relies on when it matches a completion on the
+ * serialized event.
+ */
+public class CompactEventSerializer implements EventSerializer {
+
+    static final String PREFIX = "~";
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final EventSerializer json;
+    private final Map<Class<?>, EventCodec<?>> codecsByType = new HashMap<>();
+    private final Map<Integer, EventCodec<?>> codecsById = new HashMap<>();
+
+    public CompactEventSerializer(EventSerializer json, Collection<EventCodec<?>> codecs) {
+        this.json = json;
+        for (EventCodec<?> codec : codecs) {
+            if (codecsById.put(codec.typeId(), codec) != null) {
+                throw new IllegalArgumentException("Duplicate event type id " + codec.typeId());
+            }
+            codecsByType.put(codec.type(), codec);
+        }
+    }
+
+    @Override
+    public Object serialize(Object event) {
+        EventCodec<?> codec = codecsByType.get(event.getClass());
+        if (codec == null) {
+            return json.serialize(event);
+        }
+        try {
+            return PREFIX + ENCODER.encodeToString(encode(codec, event));
+        } catch (IllegalArgumentException e) {
+            return json.serialize(event);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(Object serialized, Class<T> type) {
+        String payload = serialized.toString();
+        if (!payload.startsWith(PREFIX)) {
+            return json.deserialize(serialized, type);
+        }
+        EventCodec.Reader in = new EventCodec.Reader(DECODER.decode(payload.substring(PREFIX.length())));
+        int typeId = Math.toIntExact(in.readUnsigned());
+        int version = Math.toIntExact(in.readUnsigned());
+        EventCodec<?> codec = codecsById.get(typeId);
+        if (codec == null || !type.isAssignableFrom(codec.type())) {
+            throw new IllegalStateException("Event type id " + typeId + " does not denote a " + type.getName());
+        }
+        if (version > codec.version()) {
+            throw new IllegalStateException("Unknown schema version " + version + " of " + codec.type().getName());
+        }
+        Object event = codec.read(in, version);
+        if (!in.exhausted()) {
+            throw new IllegalStateException("Trailing bytes after " + codec.type().getName() + " payload");
+        }
+        return type.cast(event);
+    }
+
+    private static <T> byte[] encode(EventCodec<T> codec, Object event) {
+        EventCodec.Writer out = new EventCodec.Writer()
+                .writeUnsigned(codec.typeId())
+                .writeUnsigned(codec.version());
+        codec.write(codec.type().cast(event), out);
+        return out.toByteArray();
+    }
+}
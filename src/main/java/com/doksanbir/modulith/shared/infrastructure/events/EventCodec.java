@@ -0,0 +1,135 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Binary schema of one event type for {@link CompactEventSerializer}. The {@code typeId} identifies the type in
+ * stored payloads and must never be reused; {@code version} is written with every payload, so when the record
+ * changes, the codec bumps it and keeps reading the older versions still sitting in the registry table.
+ */
+public interface EventCodec<T> {
+
+    Class<T> type();
+
+    int typeId();
+
+    int version();
+
+    void write(T event, Writer out);
+
+    T read(Reader in, int version);
+
+    static <T> EventCodec<T> of(Class<T> type, int typeId, int version,
+                                BiConsumer<T, Writer> writer, BiFunction<Reader, Integer, T> reader) {
+        return new EventCodec<>() {
+            @Override
+            public Class<T> type() {
+                return type;
+            }
+
+            @Override
+            public int typeId() {
+                return typeId;
+            }
+
+            @Override
+            public int version() {
+                return version;
+            }
+
+            @Override
+            public void write(T event, Writer out) {
+                writer.accept(event, out);
+            }
+
+            @Override
+            public T read(Reader in, int version) {
+                return reader.apply(in, version);
+            }
+        };
+    }
+
+    /**
+     * Appends LEB128 varints, zigzag-encoded for signed values, so small numbers take one or two bytes. Null values
+     * are rejected; the serializer then falls back to JSON for that event.
+     */
+    final class Writer {
+
+        private byte[] buffer = new byte[16];
+        private int size;
+
+        public Writer writeLong(Long value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Null values have no binary encoding");
+            }
+            return writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        public Writer writeInt(Integer value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Null values have no binary encoding");
+            }
+            return writeLong(value.longValue());
+        }
+
+        public Writer writeUnsigned(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        public long readLong() {
+            long value = readUnsigned();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        public int readInt() {
+            return Math.toIntExact(readLong());
+        }
+
+        public long readUnsigned() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= buffer.length) {
+                    throw new IllegalStateException("Truncated event payload");
+                }
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint in event payload");
+        }
+
+        boolean exhausted() {
+            return position == buffer.length;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.events.OrderPlacedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchCreatedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchStockUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductCreatedEvent;
+import com.doksanbir.modulith.shared.events.ProductDeletedEvent;
+import com.doksanbir.modulith.shared.events.ProductDiscontinuedEvent;
+import com.doksanbir.modulith.shared.events.ProductReactivatedEvent;
+import com.doksanbir.modulith.shared.events.ProductStockUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductUpdatedEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Binary schemas of the events in {@code shared.events}. Type ids are stored with every payload: add new ones at
+ * the end and never renumber or reuse them. Every schema is at version 1.
+ */
+public final class EventCodecs {
+
+    private EventCodecs() {
+    }
+
+    public static List<EventCodec<?>> all() {
+        return List.of(
+                singleId(ProductCreatedEvent.class, 1, ProductCreatedEvent::productId, ProductCreatedEvent::new),
+                singleId(ProductDeletedEvent.class, 2, ProductDeletedEvent::productId, ProductDeletedEvent::new),
+                singleId(ProductDiscontinuedEvent.class, 3, ProductDiscontinuedEvent::productId, ProductDiscontinuedEvent::new),
+                singleId(ProductReactivatedEvent.class, 4, ProductReactivatedEvent::productId, ProductReactivatedEvent::new),
+                EventCodec.of(ProductStockUpdatedEvent.class, 5, 1,
+                        (event, out) -> out.writeLong(event.productId()).writeInt(event.stockChange()),
+                        (in, version) -> new ProductStockUpdatedEvent(in.readLong(), in.readInt())),
+                EventCodec.of(ProductBatchCreatedEvent.class, 6, 1,
+                        (event, out) -> writeIds(event.productIds(), out),
+                        (in, version) -> new ProductBatchCreatedEvent(readIds(in))),
+                EventCodec.of(ProductBatchStockUpdatedEvent.class, 7, 1,
+                        EventCodecs::writeBatchStockUpdated, EventCodecs::readBatchStockUpdated),
+                singleId(OrderPlacedEvent.class, 8, OrderPlacedEvent::orderId, OrderPlacedEvent::new),
+                singleId(ProductUpdatedEvent.class, 9, ProductUpdatedEvent::productId, ProductUpdatedEvent::new),
+                EventCodec.of(ProductBatchUpdatedEvent.class, 10, 1,
+                        (event, out) -> writeIds(event.productIds(), out),
+                        (in, version) -> new ProductBatchUpdatedEvent(readIds(in))));
+    }
+
+    private static <T> EventCodec<T> singleId(Class<T> type, int typeId, Function<T, Long> id, Function<Long, T> factory) {
+        return EventCodec.of(type, typeId, 1,
+                (event, out) -> out.writeLong(id.apply(event)),
+                (in, version) -> factory.apply(in.readLong()));
+    }
+
+    // Ids are written as deltas from the previous one, which stay small for the mostly ascending ids of a batch
+    private static void writeIds(List<Long> ids, EventCodec.Writer out) {
+        out.writeUnsigned(ids.size());
+        long previous = 0;
+        for (Long id : ids) {
+            out.writeLong(present(id) - previous);
+            previous = id;
+        }
+    }
+
+    private static List<Long> readIds(EventCodec.Reader in) {
+        int size = Math.toIntExact(in.readUnsigned());
+        List<Long> ids = new ArrayList<>(size);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += in.readLong();
+            ids.add(previous);
+        }
+        return ids;
+    }
+
+    // Entries are sorted by id, which makes the payload deterministic (the registry matches on it) and the deltas small
+    private static void writeBatchStockUpdated(ProductBatchStockUpdatedEvent event, EventCodec.Writer out) {
+        Map<Long, Integer> stock = event.stockByProductId();
+        long[] ids = new long[stock.size()];
+        int i = 0;
+        for (Long id : stock.keySet()) {
+            ids[i++] = present(id);
+        }
+        Arrays.sort(ids);
+        out.writeUnsigned(ids.length);
+        long previous = 0;
+        for (long id : ids) {
+            out.writeLong(id - previous).writeInt(stock.get(id));
+            previous = id;
+        }
+    }
+
+    private static long present(Long value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values have no binary encoding");
+        }
+        return value;
+    }
+
+    private static ProductBatchStockUpdatedEvent readBatchStockUpdated(EventCodec.Reader in, int version) {
+        int size = Math.toIntExact(in.readUnsigned());
+        Map<Long, Integer> stock = HashMap.newHashMap(size);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += in.readLong();
+            stock.put(previous, in.readInt());
+        }
+        return new ProductBatchStockUpdatedEvent(stock);
+    }
+}
@@ -0,0 +1,193 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.infrastructure.config.EventMetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.core.TargetEventPublication;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Micrometer instrumentation of the event pipeline, tagged by {@code listener} (class and method name) and
+ * {@code event} (simple class name):
+ * <ul>
+ *     <li>{@code event.listener.duration}: time spent in the listener, up to completion of a returned future;</li>
+ *     <li>{@code event.listener.failures}: listener invocations that threw, also tagged {@code exception};</li>
+ *     <li>{@code event.publication.lag}: from publication to the completion mark, recorded by
+ *     {@link BatchingEventPublicationRepository}, so republished publications include the time they were stuck;</li>
+ *     <li>{@code event.publications.incomplete}: incomplete publications per listener, counted every
+ *     {@code incompleteRefresh} on the application's task scheduler.</li>
+ * </ul>
+ * Duration and lag publish percentile histograms plus a client-side p50 and p99, which
+ * {@link SlowestListenersEndpoint} ranks the listeners by.
+ */
+@Component
+@Slf4j
+public class EventListenerMetrics {
+
+    private static final String DURATION = "event.listener.duration";
+    private static final String FAILURES = "event.listener.failures";
+    private static final String LAG = "event.publication.lag";
+
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final MultiGauge incompleteGauge;
+    private final TaskScheduler taskScheduler;
+    private final Duration incompleteRefresh;
+    private ScheduledFuture<?> refresh;
+    private final Map<String, Timer> durations = new ConcurrentHashMap<>();
+    private final Map<String, Timer> lags = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> incomplete = Map.of();
+
+    public EventListenerMetrics(MeterRegistry meterRegistry, JdbcTemplate jdbcTemplate, TaskScheduler taskScheduler,
+                                EventMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.incompleteGauge = MultiGauge.builder("event.publications.incomplete")
+                .description("Incomplete event publications per listener")
+                .register(meterRegistry);
+        this.taskScheduler = taskScheduler;
+        this.incompleteRefresh = properties.incompleteRefresh();
+    }
+
+    @PostConstruct
+    void startRefresh() {
+        refresh = taskScheduler.scheduleWithFixedDelay(this::refreshIncomplete, incompleteRefresh);
+    }
+
+    @PreDestroy
+    void stopRefresh() {
+        refresh.cancel(false);
+    }
+
+    public void recordInvocation(String listenerId, Object event, long nanos, Throwable failure) {
+        String listener = listenerName(listenerId);
+        String eventType = event.getClass().getSimpleName();
+        durations.computeIfAbsent(listener + '|' + eventType, key -> Timer.builder(DURATION)
+                        .description("Time spent handling one event in a listener")
+                        .tags("listener", listener, "event", eventType)
+                        .publishPercentiles(0.5, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            Counter.builder(FAILURES)
+                    .description("Listener invocations that failed")
+                    .tags("listener", listener, "event", eventType, "exception", failure.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    public void recordCompletion(TargetEventPublication publication, Instant completionDate) {
+        String listener = listenerName(publication.getTargetIdentifier().getValue());
+        String eventType = publication.getEvent().getClass().getSimpleName();
+        lags.computeIfAbsent(listener + '|' + eventType, key -> Timer.builder(LAG)
+                        .description("Time from publication of an event to its completion by a listener")
+                        .tags("listener", listener, "event", eventType)
+                        .publishPercentiles(0.5, 0.99)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(Duration.ofHours(1))
+                        .register(meterRegistry))
+                .record(Duration.between(publication.getPublicationDate(), completionDate));
+    }
+
+    /**
+     * Listener and event type pairs ordered by their p99 handling time, slowest first.
+     */
+    public List<ListenerStats> slowest(int limit) {
+        return durations.values().stream()
+                .map(this::stats)
+                .sorted(Comparator.comparingDouble(ListenerStats::p99Millis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Shortens a listener id such as {@code com.example.FooService.on(com.example.Event)} to {@code FooService.on}.
+     */
+    static String listenerName(String listenerId) {
+        int parameters = listenerId.indexOf('(');
+        String method = parameters < 0 ? listenerId : listenerId.substring(0, parameters);
+        int methodDot = method.lastIndexOf('.');
+        return method.substring(method.lastIndexOf('.', methodDot - 1) + 1);
+    }
+
+    private ListenerStats stats(Timer duration) {
+        String listener = duration.getId().getTag("listener");
+        String eventType = duration.getId().getTag("event");
+        HistogramSnapshot snapshot = duration.takeSnapshot();
+        Timer lag = lags.get(listener + '|' + eventType);
+        double failures = meterRegistry.find(FAILURES).tags("listener", listener, "event", eventType).counters()
+                .stream().mapToDouble(Counter::count).sum();
+        return new ListenerStats(
+                listener,
+                eventType,
+                snapshot.count(),
+                (long) failures,
+                snapshot.count() == 0 ? 0 : failures / snapshot.count(),
+                snapshot.mean(TimeUnit.MILLISECONDS),
+                percentile(snapshot, 0.99),
+                snapshot.max(TimeUnit.MILLISECONDS),
+                lag == null ? 0 : percentile(lag.takeSnapshot(), 0.99),
+                incomplete.getOrDefault(listener, 0L));
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+
+    private void refreshIncomplete() {
+        try {
+            Map<String, Long> counts = jdbcTemplate.query("""
+                            select listener_id, count(*) as incomplete from event_publication
+                            where completion_date is null group by listener_id""",
+                    (rs, row) -> Map.entry(listenerName(rs.getString("listener_id")), rs.getLong("incomplete")))
+                    .stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Long::sum));
+            incomplete = counts;
+            incompleteGauge.register(counts.entrySet().stream()
+                    .<MultiGauge.Row<?>>map(e -> MultiGauge.Row.of(Tags.of("listener", e.getKey()), e.getValue()))
+                    .toList(), true);
+        } catch (RuntimeException e) {
+            log.debug("Could not count incomplete event publications", e);
+        }
+    }
+
+    public record ListenerStats(
+            String listener,
+            String event,
+            long invocations,
+            long failures,
+            double failureRatio,
+            double meanMillis,
+            double p99Millis,
+            double maxMillis,
+            double lagP99Millis,
+            long incompletePublications
+    ) {}
+}
@@ -0,0 +1,61 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/eventlog}: offsets and size of the event log plus a page of its latest events.
+ * {@code /actuator/eventlog/{from}} pages from an offset instead, and {@code /actuator/eventlog/{from}/{limit}} also
+ * sets the page size, up to {@value #MAX_LIMIT} events.
+ */
+@Component
+@Endpoint(id = "eventlog")
+@ConditionalOnProperty(prefix = "app.events.log", name = "enabled", havingValue = "true")
+public class EventLogEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 1_000;
+
+    private final SegmentedEventLog eventLog;
+    private final EventLogExternalizer externalizer;
+
+    public EventLogEndpoint(SegmentedEventLog eventLog, EventLogExternalizer externalizer) {
+        this.eventLog = eventLog;
+        this.externalizer = externalizer;
+    }
+
+    @ReadOperation
+    public EventLogView eventLog() {
+        return page(Math.max(eventLog.startOffset(), eventLog.endOffset() - DEFAULT_LIMIT), DEFAULT_LIMIT);
+    }
+
+    @ReadOperation
+    public EventLogView eventLog(@Selector long from) {
+        return eventLog(from, DEFAULT_LIMIT);
+    }
+
+    @ReadOperation
+    public EventLogView eventLog(@Selector long from, @Selector int limit) {
+        if (from < 0) {
+            throw new InvalidEndpointRequestException("from must not be negative, was " + from, "Invalid offset");
+        }
+        if (limit < 1) {
+            throw new InvalidEndpointRequestException("limit must be positive, was " + limit, "Invalid limit");
+        }
+        return page(from, Math.min(limit, MAX_LIMIT));
+    }
+
+    private EventLogView page(long from, int limit) {
+        return new EventLogView(eventLog.startOffset(), eventLog.endOffset(), eventLog.segmentCount(),
+                eventLog.sizeInBytes(), externalizer.read(from, limit));
+    }
+
+    public record EventLogView(long startOffset, long endOffset, int segments, long bytes,
+                               List<EventLogExternalizer.ExternalizedEvent> events) {}
+}
@@ -0,0 +1,82 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.modulith.events.EventExternalizationConfiguration;
+import org.springframework.modulith.events.RoutingTarget;
+import org.springframework.modulith.events.core.ConditionalEventListener;
+import org.springframework.modulith.events.core.EventSerializer;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Externalizes the events selected by the {@link EventExternalizationConfiguration} into the
+ * {@link SegmentedEventLog}, in the registry's serialized form, and reads them back for replay.
+ * <p>
+ * The committing thread only hands the event to a single appender thread right after commit, so the log keeps the
+ * order in which transactions committed without holding the request (and its connection) for the write; the
+ * publication is marked complete, in a transaction of its own, once the returned future completes. If the process
+ * dies before the append, the event is appended on republication, so consumers must tolerate the occasional
+ * duplicate.
+ */
+public class EventLogExternalizer implements ConditionalEventListener, DisposableBean {
+
+    private final SegmentedEventLog eventLog;
+    private final EventExternalizationConfiguration configuration;
+    private final EventSerializer serializer;
+    private final ExecutorService appender = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("event-log-appender").daemon().factory());
+
+    public EventLogExternalizer(SegmentedEventLog eventLog, EventExternalizationConfiguration configuration,
+                                EventSerializer serializer) {
+        this.eventLog = eventLog;
+        this.configuration = configuration;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public boolean supports(Object event) {
+        return configuration.supports(event);
+    }
+
+    @TransactionalEventListener
+    public CompletableFuture<Long> externalize(Object event) {
+        return CompletableFuture.supplyAsync(() -> {
+            Object mapped = configuration.map(event);
+            RoutingTarget target = configuration.determineTarget(event);
+            return eventLog.append(target.getTarget(), mapped.getClass().getName(),
+                    serializer.serialize(mapped).toString().getBytes(StandardCharsets.UTF_8));
+        }, appender);
+    }
+
+    /**
+     * Reads up to {@code maxEvents} events from {@code fromOffset} on, deserialized back into their event types.
+     */
+    public List<ExternalizedEvent> read(long fromOffset, int maxEvents) {
+        return eventLog.read(fromOffset, maxEvents).stream()
+                .map(record -> new ExternalizedEvent(record.offset(), record.timestamp(), record.target(),
+                        serializer.deserialize(new String(record.payload(), StandardCharsets.UTF_8),
+                                eventType(record.eventType()))))
+                .toList();
+    }
+
+    @Override
+    public void destroy() {
+        appender.close();
+    }
+
+    private static Class<?> eventType(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown event type " + name + " in event log", e);
+        }
+    }
+
+    public record ExternalizedEvent(long offset, Instant timestamp, String target, Object event) {}
+}
@@ -0,0 +1,139 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.infrastructure.config.EventPurgeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Deletes completed event publications once they are older than the retention window. Rows go in batches of
+ * {@code batchSize}, each its own short transaction with a pause in between, so the purge never holds locks on a
+ * large part of the table and concurrent inserts and completions keep flowing.
+ * <p>
+ * Exports {@code event.publications.purged} (rows deleted), {@code event.publications.purge} (run time) and
+ * {@code event.publications.rows} tagged {@code state=completed|incomplete}, the table size as of the last run.
+ * Counting the completed rows would scan the whole table, so they are PostgreSQL's live row estimate less the
+ * incomplete rows, which are few and counted through the {@code completion_date} index. Databases without
+ * PostgreSQL's statistics, such as the embedded ones of tests, are counted exactly.
+ * <p>
+ * Both the batches and the count of incomplete rows rely on the index on {@code completion_date} that
+ * {@code db/event-publication-indexes.sql} creates.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.events.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class EventPublicationPurger {
+
+    // PostgreSQL has no DELETE ... LIMIT, so each batch picks its ids through a limited subquery
+    private static final String DELETE_BATCH = """
+            delete from event_publication where id in (
+                select id from event_publication where completion_date < ? limit ?)""";
+
+    private static final String ESTIMATED_ROWS = """
+            select n_live_tup from pg_stat_user_tables
+            where relname = 'event_publication' and schemaname = current_schema()""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventPurgeProperties properties;
+    private final Counter purged;
+    private final Timer runs;
+
+    private volatile double completedRows = Double.NaN;
+    private volatile double incompleteRows = Double.NaN;
+    private volatile boolean estimatesAvailable = true;
+
+    public EventPublicationPurger(JdbcTemplate jdbcTemplate, EventPurgeProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.purged = Counter.builder("event.publications.purged")
+                .description("Completed event publications deleted by the purge")
+                .register(meterRegistry);
+        this.runs = Timer.builder("event.publications.purge")
+                .description("Duration of a purge run")
+                .register(meterRegistry);
+        Gauge.builder("event.publications.rows", this, p -> p.completedRows)
+                .tag("state", "completed")
+                .register(meterRegistry);
+        Gauge.builder("event.publications.rows", this, p -> p.incompleteRows)
+                .tag("state", "incomplete")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.events.purge.cron:0 */15 * * * *}")
+    public void purgeOnSchedule() {
+        purge();
+    }
+
+    /**
+     * Deletes every publication completed before the retention window, batch by batch, and returns the number of
+     * rows deleted.
+     */
+    public long purge() {
+        Instant cutoff = Instant.now().minus(properties.retention());
+        long deleted = runs.record(() -> deleteCompletedBefore(cutoff));
+        refreshRowCounts();
+        if (deleted > 0) {
+            log.info("Purged {} event publications completed before {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private long deleteCompletedBefore(Instant cutoff) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_BATCH, cutoff.atOffset(ZoneOffset.UTC), properties.batchSize());
+            total += deleted;
+            purged.increment(deleted);
+            if (deleted == properties.batchSize() && !pause()) {
+                break;
+            }
+        } while (deleted == properties.batchSize());
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.pauseBetweenBatches());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void refreshRowCounts() {
+        double incomplete = count("select count(*) from event_publication where completion_date is null");
+        incompleteRows = incomplete;
+        completedRows = Math.max(0, estimatedRows() - incomplete);
+    }
+
+    private double estimatedRows() {
+        if (estimatesAvailable) {
+            try {
+                List<Long> estimate = jdbcTemplate.queryForList(ESTIMATED_ROWS, Long.class);
+                return estimate.isEmpty() ? Double.NaN : estimate.getFirst();
+            } catch (DataAccessException e) {
+                log.debug("No row estimates for event_publication, counting it instead", e);
+                estimatesAvailable = false;
+            }
+        }
+        return count("select count(*) from event_publication");
+    }
+
+    private double count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+}
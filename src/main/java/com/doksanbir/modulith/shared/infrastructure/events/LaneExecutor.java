@@ -0,0 +1,118 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks on a fixed set of single-threaded lanes. A task submitted while a partition key is bound goes to the
+ * lane that key hashes to, so tasks with the same key run one after another in submission order while different
+ * keys run in parallel. Tasks without a key are spread round-robin.
+ * <p>
+ * Each lane has a bounded queue. When it is full the submitter blocks until there is room, which pushes back on
+ * the publisher instead of buffering without limit. Queue depth, completed tasks and the time submitters spent
+ * blocked are exported as {@code event.lanes.*} metrics tagged with the executor name and lane.
+ * <p>
+ * Lane threads are virtual in virtual-thread mode, so a listener blocked on the database does not hold a platform
+ * thread; ordering within a lane is unchanged.
+ */
+public class LaneExecutor implements AsyncTaskExecutor, DisposableBean {
+
+    private static final ThreadLocal<Object> PARTITION_KEY = new ThreadLocal<>();
+    private static final long SHUTDOWN_CHECK_INTERVAL_MILLIS = 100;
+
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicInteger nextUnkeyedLane = new AtomicInteger();
+    private final Timer backpressure;
+
+    public LaneExecutor(String name, int laneCount, int queueCapacity, boolean virtualThreads, MeterRegistry meterRegistry) {
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        this.backpressure = Timer.builder("event.lanes.backpressure")
+                .description("Time submitters waited for room in a full lane queue")
+                .tag("executor", name)
+                .register(meterRegistry);
+        for (int i = 0; i < laneCount; i++) {
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    (virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform()).name(name + "-" + i).factory(),
+                    this::waitForRoom);
+            lanes[i] = lane;
+            String laneTag = String.valueOf(i);
+            Gauge.builder("event.lanes.queue.size", lane, l -> l.getQueue().size())
+                    .tag("executor", name)
+                    .tag("lane", laneTag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("event.lanes.completed", lane, ThreadPoolExecutor::getCompletedTaskCount)
+                    .tag("executor", name)
+                    .tag("lane", laneTag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Binds the partition key for tasks submitted by the current thread until {@link #clearPartitionKey()}.
+     */
+    public static void bindPartitionKey(Object key) {
+        PARTITION_KEY.set(key);
+    }
+
+    public static void clearPartitionKey() {
+        PARTITION_KEY.remove();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        laneFor(PARTITION_KEY.get()).execute(task);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * The lane that runs tasks bound to the given (non-null) key, out of {@code laneCount} lanes.
+     */
+    public static int laneOf(Object key, int laneCount) {
+        return Math.floorMod(key.hashCode(), laneCount);
+    }
+
+    private ThreadPoolExecutor laneFor(Object key) {
+        int index = key == null
+                ? Math.floorMod(nextUnkeyedLane.getAndIncrement(), lanes.length)
+                : laneOf(key, lanes.length);
+        return lanes[index];
+    }
+
+    // Waits in short steps rather than one blocking put, so a shutdown that starts meanwhile rejects the task instead
+    // of leaving it in the queue of a lane that has already drained and stopped
+    private void waitForRoom(Runnable task, ThreadPoolExecutor lane) {
+        long start = System.nanoTime();
+        try {
+            do {
+                if (lane.isShutdown()) {
+                    throw new RejectedExecutionException("Lane executor has been shut down");
+                }
+            } while (!lane.getQueue().offer(task, SHUTDOWN_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS));
+            if (lane.isShutdown() && lane.getQueue().remove(task)) {
+                throw new RejectedExecutionException("Lane executor has been shut down");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for room in a lane", e);
+        } finally {
+            backpressure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.events.ProductBatchEvent;
+import com.doksanbir.modulith.shared.events.ProductEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.event.TransactionalApplicationListener;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates the transactional listeners that run on a {@link LaneExecutor}. After commit, the listener is invoked
+ * on the committing thread and the {@code @Async} hand-off to the executor happens right there, so binding the
+ * event's partition key around that invocation decides the lane while events are still in commit order.
+ * <p>
+ * Batch events are keyed by their first product. Publishers split them per lane with {@link ProductBatchSplitter},
+ * so all products of a batch share that lane and the batch is ordered with their per-product events. Publications resubmitted by {@link OutstandingEventRepublisher}
+ * bypass this callback, so the republisher binds the same key itself.
+ */
+public class LaneKeyListenerFactory extends TransactionalEventListenerFactory {
+
+    private final String executorName;
+
+    public LaneKeyListenerFactory(String executorName) {
+        this.executorName = executorName;
+        // Ahead of the default factory (order 50), which would otherwise claim these methods
+        setOrder(40);
+    }
+
+    @Override
+    public boolean supportsMethod(Method method) {
+        Async async = AnnotatedElementUtils.findMergedAnnotation(method, Async.class);
+        return super.supportsMethod(method) && async != null && executorName.equals(async.value());
+    }
+
+    @Override
+    public ApplicationListener<?> createApplicationListener(String beanName, Class<?> type, Method method) {
+        ApplicationListener<?> listener = super.createApplicationListener(beanName, type, method);
+        if (listener instanceof TransactionalApplicationListener<?> transactional) {
+            transactional.addCallback(new TransactionalApplicationListener.SynchronizationCallback() {
+                @Override
+                public void preProcessEvent(ApplicationEvent event) {
+                    LaneExecutor.bindPartitionKey(event instanceof PayloadApplicationEvent<?> payload
+                            ? partitionKey(payload.getPayload()) : null);
+                }
+
+                @Override
+                public void postProcessEvent(ApplicationEvent event, Throwable ex) {
+                    LaneExecutor.clearPartitionKey();
+                }
+            });
+        }
+        return listener;
+    }
+
+    static Object partitionKey(Object event) {
+        return switch (event) {
+            case ProductEvent productEvent -> productEvent.productId();
+            case ProductBatchEvent batchEvent -> batchEvent.productIds().stream().findFirst().orElse(null);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Times event listener methods for {@link EventListenerMetrics}. It sits inside the {@code @Async} hand-off, so
+ * it measures the handling itself on the executing thread, not the queueing in front of it; a returned future is
+ * timed until it completes.
+ */
+public class ListenerMetricsInterceptor implements MethodInterceptor {
+
+    // Resolved on first use: advisors are created before ordinary beans like the metrics are ready
+    private final ObjectProvider<EventListenerMetrics> metrics;
+
+    public ListenerMetricsInterceptor(ObjectProvider<EventListenerMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object[] arguments = invocation.getArguments();
+        if (arguments.length == 0) {
+            return invocation.proceed();
+        }
+        String listenerId = ClassUtils.getQualifiedMethodName(invocation.getMethod());
+        Object event = arguments[0];
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            record(listenerId, event, start, e);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, failure) -> record(listenerId, event, start, failure));
+        } else {
+            record(listenerId, event, start, null);
+        }
+        return result;
+    }
+
+    private void record(String listenerId, Object event, long start, Throwable failure) {
+        metrics.getObject().recordInvocation(listenerId, event, System.nanoTime() - start, failure);
+    }
+}
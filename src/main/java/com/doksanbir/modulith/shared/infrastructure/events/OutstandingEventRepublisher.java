@@ -0,0 +1,253 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.infrastructure.config.EventRepublishProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.modulith.events.EventPublication;
+import org.springframework.modulith.events.core.EventPublicationRepository;
+import org.springframework.modulith.events.core.TargetEventPublication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalApplicationListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Republishes the event publications a previous run left incomplete, in the background once the application is
+ * ready, instead of serially during startup like {@code spring.modulith.republish-outstanding-events-on-restart}.
+ * <p>
+ * The outstanding publications are grouped by listener and cut into chunks of {@code chunkSize}, kept in
+ * publication order. The chunks of one listener run one after another, each queued behind the chunks of the other
+ * listeners, so {@code parallelism} workers serve up to that many listeners side by side and every listener sees its
+ * publications in order. Together the workers go no faster than {@code maxPerSecond}. Lane listeners get their
+ * partition key bound here as on the normal path. A publication whose listener fails simply stays incomplete for
+ * the next run.
+ * <p>
+ * For {@code @Async} listeners, and so for every {@code @ApplicationModuleListener}, handing a publication over only
+ * submits it to the listener's executor: the rate limits the submissions, not the work, and the run ends before the
+ * last ones are handled. A bounded executor such as {@link LaneExecutor} still holds the worker back while its
+ * queue is full.
+ * <p>
+ * Exports {@code event.republish.backlog} (publications not yet handed to a listener), {@code event.republish.rate}
+ * (publications per second in the current or last run), {@code event.republish.dispatched} and
+ * {@code event.republish.failed}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.events.republish", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutstandingEventRepublisher implements DisposableBean {
+
+    private final EventPublicationRepository repository;
+    private final ApplicationContext applicationContext;
+    private final EventRepublishProperties properties;
+    private final Instant startedAt = Instant.now();
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    private final long permitIntervalNanos;
+    private final AtomicLong nextPermit = new AtomicLong();
+    private final AtomicReference<CompletableFuture<Long>> running = new AtomicReference<>();
+    private final Counter dispatched;
+    private final Counter failed;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong runDispatched = new AtomicLong();
+    private volatile long runStartedNanos;
+    private volatile long runEndedNanos;
+
+    public OutstandingEventRepublisher(EventPublicationRepository repository, ApplicationContext applicationContext,
+                                       EventRepublishProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.applicationContext = applicationContext;
+        this.properties = properties;
+        this.permitIntervalNanos = properties.maxPerSecond() > 0 ? 1_000_000_000L / properties.maxPerSecond() : 0;
+        this.coordinator = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("event-republisher").daemon().factory());
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.parallelism()),
+                Thread.ofPlatform().name("event-republisher-", 0).daemon().factory());
+        this.dispatched = Counter.builder("event.republish.dispatched")
+                .description("Outstanding event publications handed back to their listener")
+                .register(meterRegistry);
+        this.failed = Counter.builder("event.republish.failed")
+                .description("Outstanding event publications whose listener could not be invoked")
+                .register(meterRegistry);
+        Gauge.builder("event.republish.backlog", backlog, AtomicLong::get)
+                .description("Outstanding event publications not yet handed back to their listener")
+                .register(meterRegistry);
+        Gauge.builder("event.republish.rate", this, OutstandingEventRepublisher::drainRate)
+                .description("Publications republished per second in the current or last run")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        republishOutstanding();
+    }
+
+    /**
+     * Starts republishing every publication left incomplete before this application started, unless a run is
+     * already in progress, and returns that run's future number of publications handed to their listeners.
+     */
+    public CompletableFuture<Long> republishOutstanding() {
+        CompletableFuture<Long> run = new CompletableFuture<>();
+        CompletableFuture<Long> current = running.compareAndExchange(null, run);
+        if (current != null) {
+            return current;
+        }
+        coordinator.execute(() -> {
+            try {
+                run.complete(republish());
+            } catch (RuntimeException e) {
+                log.warn("Republishing outstanding event publications failed", e);
+                run.completeExceptionally(e);
+            } finally {
+                running.set(null);
+            }
+        });
+        return run;
+    }
+
+    @Override
+    public void destroy() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private long republish() {
+        List<TargetEventPublication> outstanding = repository.findIncompletePublicationsPublishedBefore(startedAt);
+        if (outstanding.isEmpty()) {
+            return 0;
+        }
+        Map<String, TransactionalApplicationListener<ApplicationEvent>> listeners = listenersById();
+        List<List<List<TargetEventPublication>>> chunks = chunksByListener(outstanding);
+        log.info("Republishing {} outstanding event publications for {} listeners", outstanding.size(), chunks.size());
+
+        backlog.set(outstanding.size());
+        runDispatched.set(0);
+        runStartedNanos = System.nanoTime();
+        runEndedNanos = 0;
+        try {
+            CompletableFuture.allOf(chunks.stream()
+                            .map(listenerChunks -> {
+                                CompletableFuture<Void> previous = CompletableFuture.completedFuture(null);
+                                for (List<TargetEventPublication> chunk : listenerChunks) {
+                                    previous = previous.thenRunAsync(() -> dispatch(chunk, listeners), workers);
+                                }
+                                return previous;
+                            })
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            runEndedNanos = System.nanoTime();
+        }
+        log.info("Republished {} of {} outstanding event publications", runDispatched.get(), outstanding.size());
+        return runDispatched.get();
+    }
+
+    // The chunks of every listener, in publication order
+    private List<List<List<TargetEventPublication>>> chunksByListener(List<TargetEventPublication> outstanding) {
+        Map<String, List<TargetEventPublication>> byListener = outstanding.stream()
+                .sorted(Comparator.comparing(EventPublication::getPublicationDate))
+                .collect(Collectors.groupingBy(p -> p.getTargetIdentifier().getValue(), Collectors.toList()));
+        int chunkSize = Math.max(1, properties.chunkSize());
+        List<List<List<TargetEventPublication>>> chunks = new ArrayList<>();
+        byListener.values().forEach(publications -> {
+            List<List<TargetEventPublication>> listenerChunks = new ArrayList<>();
+            for (int from = 0; from < publications.size(); from += chunkSize) {
+                listenerChunks.add(publications.subList(from, Math.min(from + chunkSize, publications.size())));
+            }
+            chunks.add(listenerChunks);
+        });
+        return chunks;
+    }
+
+    private void dispatch(List<TargetEventPublication> chunk,
+                          Map<String, TransactionalApplicationListener<ApplicationEvent>> listeners) {
+        TransactionalApplicationListener<ApplicationEvent> listener =
+                listeners.get(chunk.getFirst().getTargetIdentifier().getValue());
+        if (listener == null) {
+            log.warn("No listener {} for {} outstanding event publications",
+                    chunk.getFirst().getTargetIdentifier(), chunk.size());
+            failed.increment(chunk.size());
+            backlog.addAndGet(-chunk.size());
+            return;
+        }
+        for (TargetEventPublication publication : chunk) {
+            if (!awaitPermit()) {
+                return;
+            }
+            LaneExecutor.bindPartitionKey(LaneKeyListenerFactory.partitionKey(publication.getEvent()));
+            try {
+                listener.processEvent(publication.getApplicationEvent());
+                dispatched.increment();
+                runDispatched.incrementAndGet();
+            } catch (RuntimeException e) {
+                log.warn("Republishing event publication {} failed", publication.getIdentifier(), e);
+                failed.increment();
+            } finally {
+                LaneExecutor.clearPartitionKey();
+                backlog.decrementAndGet();
+            }
+        }
+    }
+
+    private boolean awaitPermit() {
+        if (permitIntervalNanos == 0) {
+            return true;
+        }
+        long slot = nextPermit.getAndUpdate(next -> Math.max(next, System.nanoTime()) + permitIntervalNanos);
+        long wait = slot - System.nanoTime();
+        try {
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private double drainRate() {
+        if (runStartedNanos == 0) {
+            return 0;
+        }
+        long end = runEndedNanos == 0 ? System.nanoTime() : runEndedNanos;
+        return runDispatched.get() / Math.max(1e-9, (end - runStartedNanos) / 1e9);
+    }
+
+    // Listeners created from @TransactionalEventListener methods are registered with the context, not as beans
+    @SuppressWarnings("unchecked")
+    private Map<String, TransactionalApplicationListener<ApplicationEvent>> listenersById() {
+        Map<String, TransactionalApplicationListener<ApplicationEvent>> listeners = new HashMap<>();
+        if (applicationContext instanceof AbstractApplicationContext context) {
+            for (ApplicationListener<?> listener : context.getApplicationListeners()) {
+                if (listener instanceof TransactionalApplicationListener<?> transactional) {
+                    listeners.put(transactional.getListenerId(),
+                            (TransactionalApplicationListener<ApplicationEvent>) transactional);
+                }
+            }
+        }
+        return listeners;
+    }
+}
@@ -0,0 +1,55 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.events.ProductBatchCreatedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchStockUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchUpdatedEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Splits a product batch event into one event per {@link LaneExecutor} lane, each holding only the products of
+ * that lane. {@link LaneKeyListenerFactory} keys a batch by its first product, so every part runs on the same lane
+ * as the per-product events of its products and in commit order with them. Publishers of batch events publish the
+ * parts instead of the whole batch.
+ */
+public class ProductBatchSplitter {
+
+    private final int laneCount;
+
+    public ProductBatchSplitter(int laneCount) {
+        this.laneCount = laneCount;
+    }
+
+    public List<ProductBatchEvent> split(ProductBatchEvent event) {
+        return switch (event) {
+            case ProductBatchCreatedEvent e -> byLane(e.productIds()).values().stream()
+                    .<ProductBatchEvent>map(ProductBatchCreatedEvent::new)
+                    .toList();
+            case ProductBatchUpdatedEvent e -> byLane(e.productIds()).values().stream()
+                    .<ProductBatchEvent>map(ProductBatchUpdatedEvent::new)
+                    .toList();
+            case ProductBatchStockUpdatedEvent e -> {
+                Map<Integer, Map<Long, Integer>> parts = new TreeMap<>();
+                e.stockByProductId().forEach((productId, stock) -> parts
+                        .computeIfAbsent(LaneExecutor.laneOf(productId, laneCount), lane -> new HashMap<>())
+                        .put(productId, stock));
+                yield parts.values().stream()
+                        .<ProductBatchEvent>map(ProductBatchStockUpdatedEvent::new)
+                        .toList();
+            }
+        };
+    }
+
+    private Map<Integer, List<Long>> byLane(List<Long> productIds) {
+        Map<Integer, List<Long>> parts = new TreeMap<>();
+        for (Long productId : productIds) {
+            parts.computeIfAbsent(LaneExecutor.laneOf(productId, laneCount), lane -> new ArrayList<>()).add(productId);
+        }
+        return parts;
+    }
+}
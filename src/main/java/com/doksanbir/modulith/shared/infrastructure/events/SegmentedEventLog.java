@@ -0,0 +1,432 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.infrastructure.config.EventLogProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of externalized events in memory-mapped segment files, named after the offset of their first
+ * record. Every record gets the next offset of the log, so consumers tail it by asking for the records from the
+ * last offset they saw, and replay it from any retained offset.
+ * <p>
+ * A record is {@code [length][crc32][offset][timestamp][target][event type][payload]}; the length is written last,
+ * so a record torn by a crash reads as the end of the log, and on startup the last segment is scanned up to its
+ * last intact record. Appends go to the page cache and survive a process crash; the active segment is forced to
+ * disk every {@code flushInterval}, and a segment when it is rolled.
+ * <p>
+ * The active segment is rolled once it is full or older than {@code rollInterval}. Sealed segments are deleted,
+ * oldest first, while the log is larger than {@code retentionSize} or their last record is older than
+ * {@code retentionTime}.
+ * <p>
+ * Only one log may write a directory: it holds an exclusive lock on a {@value #LOCK_FILE} file there until closed,
+ * and opening a directory another process or log still holds fails.
+ */
+@Slf4j
+public class SegmentedEventLog implements Closeable {
+
+    private static final String SUFFIX = ".log";
+    private static final String LOCK_FILE = ".lock";
+    private static final int HEADER = 2 * Integer.BYTES;
+    private static final int FIXED_BODY = 2 * Long.BYTES + 2 * Short.BYTES;
+    // Every 64th record's position is kept in memory, so finding an offset scans at most 63 records
+    private static final int INDEX_INTERVAL = 64;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long rollIntervalMillis;
+    private final long retentionBytes;
+    private final long retentionMillis;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object appended = new Object();
+    private final ScheduledExecutorService maintenance;
+    private FileChannel lockChannel;
+    private volatile Segment active;
+
+    public SegmentedEventLog(EventLogProperties properties) {
+        this.directory = Path.of(properties.directory());
+        this.segmentBytes = Math.toIntExact(properties.segmentSize().toBytes());
+        this.rollIntervalMillis = properties.rollInterval().toMillis();
+        this.retentionBytes = properties.retentionSize().toBytes();
+        this.retentionMillis = properties.retentionTime().toMillis();
+        try {
+            Files.createDirectories(directory);
+            lock();
+            recover();
+        } catch (IOException e) {
+            releaseLock();
+            throw new UncheckedIOException("Could not open event log in " + directory, e);
+        }
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-log-maintenance").daemon().factory());
+        long flushMillis = Math.max(1, properties.flushInterval().toMillis());
+        maintenance.scheduleWithFixedDelay(this::maintain, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends one record and returns its offset.
+     */
+    public synchronized long append(String target, String eventType, byte[] payload) {
+        byte[] targetBytes = target.getBytes(StandardCharsets.UTF_8);
+        byte[] typeBytes = eventType.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = FIXED_BODY + targetBytes.length + typeBytes.length + payload.length;
+        if (HEADER + bodyLength > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + bodyLength + " bytes does not fit a segment");
+        }
+        long now = System.currentTimeMillis();
+        Segment segment = active;
+        if (segment.size + HEADER + bodyLength > segment.capacity() || segment.expired(now, rollIntervalMillis)) {
+            segment = roll();
+        }
+        long offset = segment.nextOffset;
+        ByteBuffer body = ByteBuffer.allocate(bodyLength)
+                .putLong(offset)
+                .putLong(now)
+                .putShort((short) targetBytes.length).put(targetBytes)
+                .putShort((short) typeBytes.length).put(typeBytes)
+                .put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(body.array());
+        segment.write(body.array(), (int) crc.getValue(), now);
+        synchronized (appended) {
+            appended.notifyAll();
+        }
+        return offset;
+    }
+
+    /**
+     * Returns up to {@code maxRecords} records starting at {@code fromOffset}, or at the oldest retained record if
+     * that offset has already been deleted; the offsets of the returned records show such a gap.
+     */
+    public List<LogRecord> read(long fromOffset, int maxRecords) {
+        List<LogRecord> records = new ArrayList<>(Math.min(maxRecords, 1024));
+        Map.Entry<Long, Segment> entry = segments.floorEntry(fromOffset);
+        Segment segment = entry != null ? entry.getValue() : segments.firstEntry().getValue();
+        long offset = Math.max(fromOffset, segment.baseOffset);
+        while (segment != null && records.size() < maxRecords) {
+            long end = segment.nextOffset;
+            if (offset < end) {
+                int position = segment.positionOf(offset);
+                while (offset < end && records.size() < maxRecords) {
+                    records.add(segment.readAt(position));
+                    position += HEADER + segment.lengthAt(position);
+                    offset++;
+                }
+            }
+            if (offset < end) {
+                break;
+            }
+            Map.Entry<Long, Segment> next = segments.higherEntry(segment.baseOffset);
+            segment = next == null ? null : next.getValue();
+            if (segment != null) {
+                offset = Math.max(offset, segment.baseOffset);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Waits until a record with an offset of at least {@code offset} exists, for at most {@code timeout}.
+     */
+    public boolean awaitOffset(long offset, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (appended) {
+            while (endOffset() <= offset) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                appended.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Offset of the oldest retained record.
+     */
+    public long startOffset() {
+        return segments.firstKey();
+    }
+
+    /**
+     * Offset the next record will get.
+     */
+    public long endOffset() {
+        return active.nextOffset;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long sizeInBytes() {
+        return segments.values().stream().mapToLong(s -> s.size).sum();
+    }
+
+    @Override
+    public synchronized void close() {
+        maintenance.shutdownNow();
+        active.buffer.force();
+        segments.values().forEach(Segment::close);
+        releaseLock();
+    }
+
+    private void lock() throws IOException {
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            releaseLock();
+            throw new IllegalStateException("Event log in " + directory + " is already open in another log or process");
+        }
+    }
+
+    // Closing the channel releases its lock
+    private void releaseLock() {
+        if (lockChannel == null) {
+            return;
+        }
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Could not release the event log lock in {}", directory, e);
+        }
+        lockChannel = null;
+    }
+
+    private synchronized void maintain() {
+        try {
+            active.buffer.force();
+            if (active.expired(System.currentTimeMillis(), rollIntervalMillis)) {
+                roll();
+            } else {
+                enforceRetention();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Event log maintenance failed", e);
+        }
+    }
+
+    private Segment roll() {
+        Segment sealed = active;
+        sealed.buffer.force();
+        active = createSegment(sealed.nextOffset);
+        enforceRetention();
+        return active;
+    }
+
+    private void enforceRetention() {
+        long now = System.currentTimeMillis();
+        long total = sizeInBytes();
+        for (Segment oldest : segments.values()) {
+            boolean oversized = retentionBytes > 0 && total > retentionBytes;
+            boolean expired = retentionMillis > 0 && now - oldest.lastAppendMillis > retentionMillis;
+            if (oldest == active || !(oversized || expired)) {
+                return;
+            }
+            segments.remove(oldest.baseOffset);
+            total -= oldest.size;
+            oldest.delete();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long baseOffset = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            Segment segment = new Segment(file, baseOffset, Math.toIntExact(Files.size(file)));
+            segment.recover();
+            segments.put(baseOffset, segment);
+        }
+        if (segments.isEmpty()) {
+            active = createSegment(0);
+        } else {
+            active = segments.lastEntry().getValue();
+            log.info("Opened event log {} at offsets {} to {} in {} segments",
+                    directory, startOffset(), endOffset(), segments.size());
+        }
+    }
+
+    private Segment createSegment(long baseOffset) {
+        try {
+            Segment segment = new Segment(directory.resolve("%020d%s".formatted(baseOffset, SUFFIX)), baseOffset, segmentBytes);
+            segments.put(baseOffset, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create event log segment at offset " + baseOffset, e);
+        }
+    }
+
+    public record LogRecord(long offset, Instant timestamp, String target, String eventType, byte[] payload) {}
+
+    /**
+     * One mapped file. Only the log's appending thread writes; readers use absolute reads and see a record once
+     * {@code nextOffset}, written last, covers it.
+     */
+    private static final class Segment {
+
+        private final Path file;
+        private final long baseOffset;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private volatile long createdMillis;
+        private volatile int[] index = new int[16];
+        private volatile int indexed;
+        private volatile int size;
+        private volatile long nextOffset;
+        private volatile long lastAppendMillis;
+
+        Segment(Path file, long baseOffset, int capacity) throws IOException {
+            this.file = file;
+            this.baseOffset = baseOffset;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            this.nextOffset = baseOffset;
+            this.createdMillis = System.currentTimeMillis();
+            this.lastAppendMillis = createdMillis;
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        boolean expired(long now, long rollIntervalMillis) {
+            return nextOffset > baseOffset && rollIntervalMillis > 0 && now - createdMillis >= rollIntervalMillis;
+        }
+
+        void write(byte[] body, int crc, long timestamp) {
+            int position = size;
+            buffer.put(position + HEADER, body);
+            buffer.putInt(position + Integer.BYTES, crc);
+            buffer.putInt(position, body.length);
+            indexRecord(position);
+            lastAppendMillis = timestamp;
+            size = position + HEADER + body.length;
+            nextOffset++;
+        }
+
+        int lengthAt(int position) {
+            return buffer.getInt(position);
+        }
+
+        int positionOf(long offset) {
+            int slot = Math.min((int) ((offset - baseOffset) / INDEX_INTERVAL), indexed - 1);
+            int[] positions = index;
+            int position = positions[slot];
+            for (long current = baseOffset + (long) slot * INDEX_INTERVAL; current < offset; current++) {
+                position += HEADER + lengthAt(position);
+            }
+            return position;
+        }
+
+        LogRecord readAt(int position) {
+            int length = lengthAt(position);
+            ByteBuffer body = buffer.slice(position + HEADER, length);
+            long offset = body.getLong();
+            long timestamp = body.getLong();
+            String target = string(body);
+            String eventType = string(body);
+            byte[] payload = new byte[body.remaining()];
+            body.get(payload);
+            return new LogRecord(offset, Instant.ofEpochMilli(timestamp), target, eventType, payload);
+        }
+
+        void recover() {
+            int position = 0;
+            while (position + HEADER <= capacity()) {
+                int length = lengthAt(position);
+                if (length < FIXED_BODY || position + HEADER + length > capacity()) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                buffer.get(position + HEADER, body);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                ByteBuffer fields = ByteBuffer.wrap(body);
+                if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES) || fields.getLong() != nextOffset) {
+                    log.warn("Event log segment {} ends in a torn record at offset {}", file, nextOffset);
+                    break;
+                }
+                indexRecord(position);
+                lastAppendMillis = fields.getLong();
+                if (nextOffset == baseOffset) {
+                    createdMillis = lastAppendMillis;
+                }
+                position += HEADER + length;
+                size = position;
+                nextOffset++;
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close event log segment {}", file, e);
+            }
+        }
+
+        // The mapping itself goes away when the buffer is collected; on Linux the file is gone right away
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete event log segment {}", file, e);
+            }
+        }
+
+        private void indexRecord(int position) {
+            if ((nextOffset - baseOffset) % INDEX_INTERVAL != 0) {
+                return;
+            }
+            int[] positions = index;
+            if (indexed == positions.length) {
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            positions[indexed] = position;
+            index = positions;
+            indexed++;
+        }
+
+        private static String string(ByteBuffer body) {
+            byte[] bytes = new byte[body.getShort()];
+            body.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
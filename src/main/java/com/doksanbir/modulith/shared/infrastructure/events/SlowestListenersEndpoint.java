@@ -0,0 +1,41 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.infrastructure.config.EventMetricsProperties;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/eventlisteners}: the event listeners with the highest p99 handling time, per event type, along
+ * with their failure ratio, publication lag and incomplete publications. {@code /actuator/eventlisteners/{limit}}
+ * overrides how many are listed.
+ */
+@Component
+@Endpoint(id = "eventlisteners")
+public class SlowestListenersEndpoint {
+
+    private final EventListenerMetrics metrics;
+    private final EventMetricsProperties properties;
+
+    public SlowestListenersEndpoint(EventListenerMetrics metrics, EventMetricsProperties properties) {
+        this.metrics = metrics;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public List<EventListenerMetrics.ListenerStats> slowest() {
+        return metrics.slowest(properties.slowestListeners());
+    }
+
+    @ReadOperation
+    public List<EventListenerMetrics.ListenerStats> slowest(@Selector int limit) {
+        if (limit < 1) {
+            throw new InvalidEndpointRequestException("limit must be positive, was " + limit, "Invalid limit");
+        }
+        return metrics.slowest(limit);
+    }
+}
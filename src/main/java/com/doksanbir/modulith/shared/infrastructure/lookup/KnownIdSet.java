@@ -0,0 +1,86 @@
+package com.doksanbir.modulith.shared.infrastructure.lookup;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe set of ids with one bit per id, in pages of 2^16 bits allocated on first use: a dense sequence of a
+ * million ids takes about 128 KB. Only ids in [0, 2^32) are tracked; any other id might be present.
+ * <p>
+ * Until {@link #markLoaded()} every id might be present, so the set can be filled while it is already in use.
+ */
+public final class KnownIdSet {
+
+    private static final int PAGE_BITS = 16;
+    private static final int WORDS_PER_PAGE = 1 << (PAGE_BITS - 6);
+    private static final long MAX_ID = 1L << 32;
+
+    // Copied on every new page, so readers never see a page slot filled before the page itself
+    private volatile AtomicLongArray[] pages = new AtomicLongArray[16];
+    private final AtomicLong size = new AtomicLong();
+    private volatile boolean loaded;
+
+    public void add(long id) {
+        if (!tracked(id)) {
+            return;
+        }
+        long mask = 1L << id;
+        if ((page(id, true).getAndAccumulate(word(id), mask, (bits, bit) -> bits | bit) & mask) == 0) {
+            size.incrementAndGet();
+        }
+    }
+
+    public void remove(long id) {
+        AtomicLongArray page = tracked(id) ? page(id, false) : null;
+        long mask = 1L << id;
+        if (page != null && (page.getAndAccumulate(word(id), ~mask, (bits, keep) -> bits & keep) & mask) != 0) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * False only if the id is certainly absent.
+     */
+    public boolean mightContain(long id) {
+        if (!loaded || !tracked(id)) {
+            return true;
+        }
+        AtomicLongArray page = page(id, false);
+        return page != null && (page.get(word(id)) & (1L << id)) != 0;
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    private AtomicLongArray page(long id, boolean create) {
+        int index = (int) (id >>> PAGE_BITS);
+        AtomicLongArray[] current = pages;
+        AtomicLongArray page = index < current.length ? current[index] : null;
+        return page != null || !create ? page : createPage(index);
+    }
+
+    private synchronized AtomicLongArray createPage(int index) {
+        AtomicLongArray[] current = pages;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        AtomicLongArray[] copy = Arrays.copyOf(current, Math.max(current.length, Integer.highestOneBit(index) << 1));
+        copy[index] = new AtomicLongArray(WORDS_PER_PAGE);
+        pages = copy;
+        return copy[index];
+    }
+
+    private static boolean tracked(long id) {
+        return id >= 0 && id < MAX_ID;
+    }
+
+    private static int word(long id) {
+        return (int) (id >>> 6) & (WORDS_PER_PAGE - 1);
+    }
+}
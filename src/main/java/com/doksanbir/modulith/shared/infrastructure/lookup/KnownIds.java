@@ -0,0 +1,124 @@
+package com.doksanbir.modulith.shared.infrastructure.lookup;
+
+import com.doksanbir.modulith.shared.infrastructure.config.KnownIdsProperties;
+import com.doksanbir.modulith.shared.infrastructure.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Negative lookup filter for one entity: the ids that exist, so lookups of ids that do not are answered without a
+ * query. The ids are loaded from the table in the background at startup and recorded by the repository adapter on
+ * every write; until the load has finished every id might exist.
+ * <p>
+ * A miss must never be claimed for a row that exists, so ids are added as soon as they are written, before the
+ * transaction commits, and removed only once a delete has committed. Rolled-back writes and races with the load can
+ * only leave ids behind that no longer exist, which cost a query as before.
+ * <p>
+ * Exports {@code known.ids.size} and {@code known.ids.rejected} (lookups answered without a query), tagged with the
+ * entity.
+ */
+@Slf4j
+public abstract class KnownIds {
+
+    private final String entity;
+    private final KnownIdsProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final KnownIdSet ids = new KnownIdSet();
+    private final Counter rejected;
+    private ExecutorService loader;
+
+    protected KnownIds(String entity, KnownIdsProperties properties, PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.entity = entity;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rejected = meterRegistry.counter("known.ids.rejected", "entity", entity);
+        Gauge.builder("known.ids.size", ids, KnownIdSet::size)
+                .tag("entity", entity)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Every id in the table; called once at startup inside a read-only transaction, and closed afterwards.
+     */
+    protected abstract Stream<Long> streamIds();
+
+    public boolean mightExist(Long id) {
+        if (!properties.enabled() || id == null || ids.mightContain(id)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void added(Collection<Long> newIds) {
+        if (properties.enabled()) {
+            newIds.forEach(ids::add);
+        }
+    }
+
+    public void removed(Long id) {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.remove(id);
+                }
+            });
+        } else {
+            ids.remove(id);
+        }
+    }
+
+    // Lifecycle annotations rather than InitializingBean and DisposableBean, so module tracing proxies the subclasses
+    // by class and they can still be injected as themselves
+    @PostConstruct
+    void start() {
+        if (properties.enabled()) {
+            loader = Executors.newSingleThreadExecutor(Thread.ofPlatform().name(entity + "-ids-loader").daemon().factory());
+            loader.execute(this::load);
+        }
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (loader != null) {
+            loader.shutdownNow();
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            // From the primary: an id missing from a lagging replica would be reported as a miss
+            ReadYourWrites.onPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Long> existing = streamIds()) {
+                    existing.forEach(ids::add);
+                }
+            }));
+            ids.markLoaded();
+            log.info("Loaded {} known {} ids in {} ms", ids.size(), entity,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Could not load the known {} ids; every {} lookup goes to the database", entity, entity, e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.doksanbir.modulith.shared.infrastructure.lookup;
+
+import com.doksanbir.modulith.shared.infrastructure.config.SingleFlightProperties;
+import com.doksanbir.modulith.shared.infrastructure.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: the first caller for a key runs the lookup, and every caller arriving while
+ * it is in flight waits for it and shares its result, or its exception. Nothing is kept once the lookup completes.
+ * Callers receive the same instance, so they must treat it as read-only.
+ * <p>
+ * Only reads outside a transaction are coalesced, because a transaction must see its own uncommitted writes. Writes
+ * {@link #forget} their keys once they commit, so a read that starts after a commit never joins a lookup that may
+ * have started before it. A caller that must read its own writes from the primary (see {@link ReadYourWrites}) does
+ * not join either, since the lookup in flight may be reading from a replica.
+ * <p>
+ * Exports {@code single.flight.calls}, tagged with the name and whether the call {@code led} a lookup or
+ * {@code joined} one, and {@code single.flight.collapse.ratio} (the share of calls that joined).
+ */
+public class SingleFlight<K, V> {
+
+    private final boolean enabled;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter led;
+    private final Counter joined;
+
+    public SingleFlight(String name, SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.led = meterRegistry.counter("single.flight.calls", "name", name, "role", "led");
+        this.joined = meterRegistry.counter("single.flight.calls", "name", name, "role", "joined");
+        Gauge.builder("single.flight.collapse.ratio", this, SingleFlight::collapseRatio)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> lookup) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive() || ReadYourWrites.isPending()) {
+            return lookup.get();
+        }
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            joined.increment();
+            return await(running);
+        }
+        led.increment();
+        try {
+            V value = lookup.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Detaches the lookups in flight for the keys once the current transaction commits, or right away outside one.
+     * Callers already waiting keep their result; later callers start a new lookup.
+     */
+    public void forget(Collection<K> keys) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.forEach(inFlight::remove);
+                }
+            });
+        } else {
+            keys.forEach(inFlight::remove);
+        }
+    }
+
+    private double collapseRatio() {
+        double calls = led.count() + joined.count();
+        return calls == 0 ? 0 : joined.count() / calls;
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.doksanbir.modulith.shared.infrastructure.threads;
+
+import com.doksanbir.modulith.shared.infrastructure.config.PinnedThreadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Detects virtual threads pinned to their carrier in virtual-thread mode: a virtual thread that blocks inside a
+ * {@code synchronized} block or method (as some JDBC drivers and connection pools still do) holds its carrier for as
+ * long as it blocks, which quietly turns the carriers back into a small platform thread pool.
+ * <p>
+ * The JVM reports every pin longer than {@code threshold} as a {@code jdk.VirtualThreadPinned} flight recorder
+ * event, which is streamed in process. Pins are timed as {@code jvm.threads.virtual.pinned}, tagged with the call
+ * site (the first frame outside the JDK), and the stack trace of each call site is logged the first time it pins.
+ */
+@Component
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final boolean enabled;
+    private final PinnedThreadProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(PinnedThreadProperties properties, Environment environment,
+                                       MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled() && Threading.VIRTUAL.isActive(environment);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(properties.threshold()).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::pinned);
+        recording.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {} ms", properties.threshold().toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void pinned(RecordedEvent event) {
+        String site = callSite(event.getStackTrace());
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads blocked while pinned to their carrier")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread pinned to its carrier for {} ms at {}; later pins there are only counted:\n{}",
+                    event.getDuration().toMillis(), site, format(event.getStackTrace()));
+        }
+    }
+
+    // The JDK frames on top are the parking itself; the first frame below them is the code that blocked
+    private static String callSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
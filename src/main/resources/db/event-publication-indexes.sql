@@ -0,0 +1,8 @@
+-- Indexes the event publication table needs on a PostgreSQL schema that Hibernate did not create; META-INF/orm.xml
+-- declares the same ones, so a generated schema already has them. Run it once, e.g.
+-- psql -f event-publication-indexes.sql; running it again is harmless.
+--
+-- Without it, every batch of the purge (app.events.purge.*) and every count of incomplete publications scans the
+-- whole table. CONCURRENTLY builds it without blocking inserts and completions, and cannot run inside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_event_publication_completion_date ON event_publication (completion_date);
@@ -0,0 +1,29 @@
+-- Moves a PostgreSQL schema created while the entities used IDENTITY ids onto the pooled sequences they use now.
+-- Run it once before deploying that version, e.g. psql -f pooled-id-sequences.sql; running it again is harmless.
+--
+-- Hibernate's pooled optimizer treats each value it draws as the top of a block of 50 ids, so every sequence is
+-- moved at least 50 past the highest existing id, and never backwards past a block a running instance may hold.
+
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS inventories_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50;
+
+SELECT setval('products_seq', GREATEST(
+        (SELECT COALESCE(max(id), 0) FROM products) + 50,
+        (SELECT last_value + 50 FROM products_seq)), false);
+SELECT setval('inventories_seq', GREATEST(
+        (SELECT COALESCE(max(id), 0) FROM inventories) + 50,
+        (SELECT last_value + 50 FROM inventories_seq)), false);
+SELECT setval('orders_seq', GREATEST(
+        (SELECT COALESCE(max(id), 0) FROM orders) + 50,
+        (SELECT last_value + 50 FROM orders_seq)), false);
+SELECT setval('order_items_seq', GREATEST(
+        (SELECT COALESCE(max(id), 0) FROM order_items) + 50,
+        (SELECT last_value + 50 FROM order_items_seq)), false);
+
+-- Ids now come from the sequences, so the identity defaults only get in the way
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE inventories ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,39 @@
+package com.doksanbir.modulith.benchmark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * Describes where a benchmark ran, so its numbers are never read without the database, CPU count and JVM they
+ * were measured on. An in-memory H2 answers far faster than PostgreSQL over a network: only the ratios between
+ * scenarios of one run carry over.
+ */
+public final class BenchmarkEnvironment {
+
+    private static final Logger log = LoggerFactory.getLogger(BenchmarkEnvironment.class);
+
+    private BenchmarkEnvironment() {
+    }
+
+    public static String describe(DataSource dataSource) {
+        String database;
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            database = metaData.getDatabaseProductName() + " " + metaData.getDatabaseProductVersion()
+                    + " (" + metaData.getURL() + ")";
+        } catch (SQLException e) {
+            database = "unknown database (" + e.getMessage() + ")";
+        }
+        return String.format("%s, %d CPUs, Java %s (%s)", database, Runtime.getRuntime().availableProcessors(),
+                Runtime.version(), System.getProperty("java.vm.name"));
+    }
+
+    public static void report(DataSource dataSource) {
+        log.info("Benchmark environment: {}", describe(dataSource));
+    }
+}
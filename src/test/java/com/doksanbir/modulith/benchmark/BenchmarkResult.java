@@ -0,0 +1,58 @@
+package com.doksanbir.modulith.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Outcome of one {@link LoadDriver} run. Latencies are recorded in microseconds.
+ */
+public record BenchmarkResult(
+        String name,
+        long operations,
+        long failures,
+        Duration elapsed,
+        Histogram latencies
+) {
+
+    private static final Logger log = LoggerFactory.getLogger(BenchmarkResult.class);
+
+    public double throughput() {
+        return operations / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    public long percentileMicros(double percentile) {
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    public BenchmarkResult report() {
+        log.info("{}", this);
+        return this;
+    }
+
+    /**
+     * Writes the latency distribution to {@code <name>.hgrm} in {@code directory}, in milliseconds, in the
+     * percentile format that HdrHistogram's plotter reads.
+     */
+    public Path writeHistogram(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(name + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-24s ops=%d failures=%d elapsed=%dms throughput=%.0f/s p50=%dus p99=%dus max=%dus",
+                name, operations, failures, elapsed.toMillis(), throughput(),
+                percentileMicros(50), percentileMicros(99), latencies.getMaxValue());
+    }
+}
@@ -0,0 +1,95 @@
+package com.doksanbir.modulith.benchmark;
+
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Seeds products and stock through the public REST API, so benchmarks stay independent of module internals.
+ */
+public final class CatalogFixture {
+
+    private final TestRestTemplate rest;
+
+    public CatalogFixture(TestRestTemplate rest) {
+        this.rest = rest;
+    }
+
+    /**
+     * Creates a product and waits for the inventory module to pick up its creation event before setting the stock.
+     */
+    public long createProductWithStock(int stock) {
+        Map<String, Object> product = Map.of(
+                "name", "bench-" + System.nanoTime(),
+                "description", "benchmark fixture",
+                "price", 10,
+                "stockQuantity", 0);
+        Map<?, ?> created = rest.postForObject("/api/products", product, Map.class);
+        long id = ((Number) created.get("id")).longValue();
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> rest.getForEntity("/api/inventories/{id}", String.class, id).getStatusCode().is2xxSuccessful());
+        if (!setQuantity(id, stock)) {
+            throw new IllegalStateException("Could not set stock of product " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Changes the product's stock through the product API, which reaches the inventory module as a
+     * {@code ProductStockUpdatedEvent}.
+     */
+    public boolean updateProductStock(long productId, int stock) {
+        return updateProduct(productId, stock, "ACTIVE");
+    }
+
+    /**
+     * Discontinues the product, keeping the given stock so that no stock update is published with it.
+     */
+    public boolean discontinueProduct(long productId, int stock) {
+        return updateProduct(productId, stock, "DISCONTINUED");
+    }
+
+    public boolean deleteProduct(long productId) {
+        return rest.exchange("/api/products/{id}", HttpMethod.DELETE, null, Void.class, productId)
+                .getStatusCode().is2xxSuccessful();
+    }
+
+    public boolean setQuantity(long productId, int quantity) {
+        return rest.exchange("/api/inventories/{id}", HttpMethod.PUT, json(quantity), Void.class, productId)
+                .getStatusCode().is2xxSuccessful();
+    }
+
+    public boolean adjust(long productId, int delta) {
+        return rest.postForEntity("/api/inventories/{id}/adjustments", json(delta), String.class, productId)
+                .getStatusCode() == HttpStatus.NO_CONTENT;
+    }
+
+    public int quantityOf(long productId) {
+        return rest.getForObject("/api/inventories/{id}", Integer.class, productId);
+    }
+
+    private boolean updateProduct(long productId, int stock, String status) {
+        Map<String, Object> product = Map.of(
+                "name", "bench-" + productId,
+                "description", "benchmark fixture",
+                "price", 10,
+                "stockQuantity", stock,
+                "status", status);
+        return rest.exchange("/api/products/{id}", HttpMethod.PUT, new HttpEntity<>(product), String.class, productId)
+                .getStatusCode().is2xxSuccessful();
+    }
+
+    private static HttpEntity<Integer> json(int value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(value, headers);
+    }
+}
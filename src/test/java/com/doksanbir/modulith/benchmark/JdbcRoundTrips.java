@@ -0,0 +1,138 @@
+package com.doksanbir.modulith.benchmark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the statements the application sends to the database. A JDBC batch counts as one round trip, however
+ * many statements were added to it; commits are counted separately. The longest round trip is kept as well, as
+ * the time a single statement held the database. Import {@link Config} into a test to wrap the
+ * application DataSource. {@link #simulateLatency} adds a network delay to every round trip, for an embedded
+ * database that would otherwise answer faster than any real one.
+ */
+public final class JdbcRoundTrips {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRoundTrips.class);
+
+    private static final AtomicLong roundTrips = new AtomicLong();
+    private static final AtomicLong batchedStatements = new AtomicLong();
+    private static final AtomicLong commits = new AtomicLong();
+    private static final AtomicLong longestRoundTripNanos = new AtomicLong();
+    private static volatile Duration latency = Duration.ZERO;
+
+    private JdbcRoundTrips() {
+    }
+
+    public static long roundTrips() {
+        return roundTrips.get();
+    }
+
+    public static long batchedStatements() {
+        return batchedStatements.get();
+    }
+
+    public static long commits() {
+        return commits.get();
+    }
+
+    /**
+     * The longest time the database took to answer one round trip, without any simulated latency.
+     */
+    public static Duration longestRoundTrip() {
+        return Duration.ofNanos(longestRoundTripNanos.get());
+    }
+
+    /**
+     * Logs the counts since the last {@link #reset()}, averaged over {@code units} (orders, products, ...).
+     */
+    public static void report(String scenario, int units) {
+        log.info("{}: {} round trips, {} per unit, {} rows sent in batches, {} commits, longest round trip {} ms",
+                scenario, roundTrips(), String.format("%.2f", (double) roundTrips() / units), batchedStatements(), commits(),
+                longestRoundTrip().toMillis());
+    }
+
+    public static void simulateLatency(Duration perRoundTrip) {
+        latency = perRoundTrip;
+    }
+
+    public static void reset() {
+        roundTrips.set(0);
+        batchedStatements.set(0);
+        commits.set(0);
+        longestRoundTripNanos.set(0);
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource);
+    }
+
+    private static <T> T proxy(Class<T> type, T target) {
+        Object proxy = Proxy.newProxyInstance(JdbcRoundTrips.class.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+            String name = method.getName();
+            boolean roundTrip = EXECUTE_METHODS.contains(name);
+            if (roundTrip) {
+                roundTrips.incrementAndGet();
+                if (!latency.isZero()) {
+                    Thread.sleep(latency);
+                }
+            } else if (name.equals("addBatch")) {
+                batchedStatements.incrementAndGet();
+            } else if (name.equals("commit")) {
+                commits.incrementAndGet();
+            }
+            Object result;
+            long start = System.nanoTime();
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (roundTrip) {
+                    long elapsed = System.nanoTime() - start;
+                    longestRoundTripNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            }
+            // Follow the object graph down to statements so every execution is seen
+            Class<?> returnType = method.getReturnType();
+            if (result != null && (returnType == Connection.class || Statement.class.isAssignableFrom(returnType))) {
+                return proxyUnchecked(returnType, result);
+            }
+            return result;
+        });
+        return type.cast(proxy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxyUnchecked(Class<T> type, Object target) {
+        return proxy(type, (T) target);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        static BeanPostProcessor roundTripCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.doksanbir.modulith.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Load driver for benchmarks. {@link #run} is closed-model: a fixed number of workers each run the operation
+ * back to back. {@link #runAtRate} is open-model: operations start at a fixed arrival rate whether or not
+ * earlier ones have finished. An operation reports success by returning {@code true}; a {@code false} result
+ * or an exception counts as a failure.
+ */
+public final class LoadDriver {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private LoadDriver() {
+    }
+
+    public static BenchmarkResult run(String name, int threads, int operationsPerThread, BooleanSupplier operation) {
+        Histogram latencies = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>(threads);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    Histogram local = new Histogram(MAX_TRACKABLE_MICROS, 3);
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        long begin = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = operation.getAsBoolean();
+                        } catch (RuntimeException e) {
+                            ok = false;
+                        }
+                        local.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin), MAX_TRACKABLE_MICROS));
+                        if (!ok) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    synchronized (latencies) {
+                        latencies.add(local);
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - begin);
+            return new BenchmarkResult(name, (long) threads * operationsPerThread, failures.get(), elapsed, latencies);
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark " + name + " did not complete", e);
+        }
+    }
+
+    /**
+     * Starts operations at {@code ratePerSecond} for {@code duration}, each on its own virtual thread. Latency is
+     * measured from the moment an operation was scheduled to start, so a stalled system cannot hide its queueing
+     * delay (no coordinated omission).
+     */
+    public static BenchmarkResult runAtRate(String name, int ratePerSecond, Duration duration, BooleanSupplier operation) {
+        Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        AtomicLong failures = new AtomicLong();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long operations = duration.toNanos() / intervalNanos;
+
+        long begin = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < operations; i++) {
+                long intendedStart = begin + i * intervalNanos;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                executor.execute(() -> {
+                    boolean ok;
+                    try {
+                        ok = operation.getAsBoolean();
+                    } catch (RuntimeException e) {
+                        ok = false;
+                    }
+                    latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart), MAX_TRACKABLE_MICROS));
+                    if (!ok) {
+                        failures.incrementAndGet();
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - begin);
+        return new BenchmarkResult(name, operations, failures.get(), elapsed, latencies);
+    }
+}
@@ -0,0 +1,113 @@
+package com.doksanbir.modulith.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Places orders at a fixed arrival rate ({@code -Dbenchmark.orders.rate}, default 1000/s) for
+ * {@code -Dbenchmark.orders.duration} seconds and checks that the application keeps up without errors, and that
+ * concurrent orders for scarce stock never take more than there is.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderPlacementThroughputBenchmarkTest {
+
+    private static final int RATE = Integer.getInteger("benchmark.orders.rate", 1000);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("benchmark.orders.duration", 30));
+    private static final int PRODUCTS = 50;
+    private static final int LINES_PER_ORDER = 5;
+
+    private final TestRestTemplate rest;
+    private final CatalogFixture catalog;
+    private final URI ordersUri;
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Autowired
+    OrderPlacementThroughputBenchmarkTest(TestRestTemplate rest, @LocalServerPort int port) {
+        this.rest = rest;
+        this.catalog = new CatalogFixture(rest);
+        this.ordersUri = URI.create("http://localhost:" + port + "/api/orders");
+    }
+
+    @Test
+    void sustainsTargetOrderRate() {
+        List<Long> productIds = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(catalog.createProductWithStock(1_000_000));
+        }
+
+        LoadDriver.runAtRate("order-warmup", RATE / 4, Duration.ofSeconds(5), () -> placeOrder(productIds)).report();
+        BenchmarkResult result = LoadDriver.runAtRate("order-placement", RATE, DURATION, () -> placeOrder(productIds)).report();
+
+        assertThat(result.failures()).isZero();
+        assertThat(result.throughput()).isGreaterThanOrEqualTo(RATE * 0.95);
+    }
+
+    @Test
+    void concurrentOrdersNeverOversell() {
+        int stock = 100;
+        long scarce = catalog.createProductWithStock(stock);
+        long plentiful = catalog.createProductWithStock(1_000_000);
+        // The client's price is ignored; the line is priced from the catalog
+        String order = "{\"customerId\":1,\"items\":[{\"productId\":" + plentiful + ",\"quantity\":1,\"price\":0.01},"
+                + "{\"productId\":" + scarce + ",\"quantity\":1,\"price\":0.01}]}";
+
+        BenchmarkResult result = LoadDriver.run("order-oversell", 32, 10, () -> send(order) == 200).report();
+
+        assertThat(result.operations() - result.failures()).isEqualTo(stock);
+        assertThat(catalog.quantityOf(scarce)).isZero();
+        // Rejected orders gave back the stock they had taken from the plentiful product
+        assertThat(catalog.quantityOf(plentiful)).isEqualTo(1_000_000 - stock);
+        assertThat(send(order)).isEqualTo(409);
+        assertThat(rest.getForObject("/api/orders", String.class)).doesNotContain("0.01");
+    }
+
+    private boolean placeOrder(List<Long> productIds) {
+        return send(randomOrder(productIds)) == 200;
+    }
+
+    private int send(String order) {
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(order))
+                .build();
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static String randomOrder(List<Long> productIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringJoiner items = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            long productId = productIds.get(random.nextInt(productIds.size()));
+            items.add("{\"productId\":" + productId + ",\"quantity\":" + (1 + random.nextInt(3)) + ",\"price\":10.00}");
+        }
+        return "{\"customerId\":" + random.nextLong(1, 10_000) + ",\"items\":" + items + "}";
+    }
+}
@@ -0,0 +1,65 @@
+package com.doksanbir.modulith.benchmark;
+
+import com.doksanbir.modulith.ModulithApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the database round trips of placing a 30-line order, once with the pooled sequence ids the entities use
+ * and once with the IDENTITY ids they used before. With IDENTITY every item is its own INSERT; with pooled ids the
+ * order and its items go out as JDBC batches.
+ */
+@Tag("benchmark")
+class OrderRoundTripBenchmarkTest {
+
+    private static final int ORDER_LINES = 30;
+    private static final int ORDERS = 20;
+
+    @Test
+    void multiItemOrderIsWrittenInBatches() {
+        double identity = roundTripsPerOrder("identity ids", "META-INF/orm.xml,META-INF/identity-ids.xml");
+        double pooled = roundTripsPerOrder("pooled sequence ids", "META-INF/orm.xml");
+
+        // One row-by-row INSERT per item would already exceed this on its own
+        assertThat(identity).isGreaterThan(ORDER_LINES);
+        assertThat(pooled).isLessThan(ORDER_LINES);
+        assertThat(pooled * 3).isLessThan(identity);
+    }
+
+    private double roundTripsPerOrder(String scenario, String mappingResources) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ModulithApplication.class, JdbcRoundTrips.Config.class)
+                .profiles("benchmark")
+                .run("--server.port=0", "--spring.jpa.mapping-resources=" + mappingResources)) {
+            BenchmarkEnvironment.report(context.getBean(DataSource.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            TestRestTemplate rest = new TestRestTemplate(new RestTemplateBuilder().rootUri("http://localhost:" + port));
+            CatalogFixture catalog = new CatalogFixture(rest);
+
+            List<Map<String, Object>> items = new ArrayList<>(ORDER_LINES);
+            for (int i = 0; i < ORDER_LINES; i++) {
+                items.add(Map.of("productId", catalog.createProductWithStock(1_000), "quantity", 1));
+            }
+            Map<String, Object> order = Map.of("customerId", 1, "items", items);
+
+            JdbcRoundTrips.reset();
+            for (int i = 0; i < ORDERS; i++) {
+                assertThat(rest.postForEntity("/api/orders", order, String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+            }
+            JdbcRoundTrips.report(ORDERS + " orders of " + ORDER_LINES + " lines, " + scenario, ORDERS);
+            return (double) JdbcRoundTrips.roundTrips() / ORDERS;
+        }
+    }
+}
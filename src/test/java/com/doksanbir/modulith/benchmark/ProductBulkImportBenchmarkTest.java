@@ -0,0 +1,76 @@
+package com.doksanbir.modulith.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Imports 10k products as NDJSON and then updates their stock as CSV through the bulk endpoint. Every chunk of
+ * 1000 rows is written as JDBC batches in one transaction and reaches the inventory module as a single event.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(JdbcRoundTrips.Config.class)
+class ProductBulkImportBenchmarkTest {
+
+    private static final int PRODUCTS = 10_000;
+
+    private final TestRestTemplate rest;
+    private final CatalogFixture catalog;
+
+    @Autowired
+    ProductBulkImportBenchmarkTest(TestRestTemplate rest) {
+        this.rest = rest;
+        this.catalog = new CatalogFixture(rest);
+    }
+
+    @Test
+    void bulkImportIsWrittenAndPropagatedPerChunk() {
+        long firstId = catalog.createProductWithStock(0) + 1;
+        String ndjson = IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> "{\"name\":\"bulk-" + i + "\",\"description\":\"bulk import\",\"price\":10,\"stockQuantity\":0}")
+                .collect(Collectors.joining("\n"));
+
+        JdbcRoundTrips.reset();
+        Map<?, ?> created = rest.postForObject("/api/products/bulk", body(ndjson, "application/x-ndjson"), Map.class);
+        JdbcRoundTrips.report("bulk create of " + PRODUCTS + " products", PRODUCTS);
+        assertThat(created.get("created")).isEqualTo(PRODUCTS);
+
+        long lastId = firstId + PRODUCTS - 1;
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> rest.getForEntity("/api/inventories/{id}", String.class, lastId).getStatusCode().is2xxSuccessful());
+
+        String csv = "id,name,description,price,stockQuantity\n" + IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> (firstId + i) + ",bulk-" + i + ",\"bulk import, restocked\",10,25")
+                .collect(Collectors.joining("\n"));
+
+        JdbcRoundTrips.reset();
+        Map<?, ?> updated = rest.postForObject("/api/products/bulk", body(csv, "text/csv"), Map.class);
+        JdbcRoundTrips.report("bulk update of " + PRODUCTS + " products", PRODUCTS);
+        assertThat(updated.get("updated")).isEqualTo(PRODUCTS);
+
+        await().atMost(Duration.ofSeconds(30)).until(() -> catalog.quantityOf(lastId) == 25);
+    }
+
+    private static HttpEntity<String> body(String content, String contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(contentType));
+        return new HttpEntity<>(content, headers);
+    }
+}
@@ -0,0 +1,58 @@
+package com.doksanbir.modulith.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Streams stock updates for many products at once, each product updated back to back by its own client. The
+ * resulting {@code ProductStockUpdatedEvent}s run in parallel across lanes but in commit order per product, so
+ * every inventory must settle on the last value written rather than whichever event happened to finish last.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ProductEventLaneBenchmarkTest {
+
+    private static final int PRODUCTS = 16;
+    private static final int UPDATES_PER_PRODUCT = 25;
+
+    private final CatalogFixture catalog;
+
+    @Autowired
+    ProductEventLaneBenchmarkTest(TestRestTemplate rest) {
+        this.catalog = new CatalogFixture(rest);
+    }
+
+    @Test
+    void stockEventsAreAppliedInOrderPerProduct() {
+        List<Long> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(catalog.createProductWithStock(0));
+        }
+
+        // One worker per product: each thread claims a product and writes 1..UPDATES_PER_PRODUCT to it in sequence
+        AtomicInteger claimed = new AtomicInteger();
+        ThreadLocal<Long> product = ThreadLocal.withInitial(() -> products.get(claimed.getAndIncrement()));
+        ThreadLocal<AtomicInteger> stock = ThreadLocal.withInitial(AtomicInteger::new);
+        BenchmarkResult result = LoadDriver.run("product-stock-events", PRODUCTS, UPDATES_PER_PRODUCT,
+                () -> catalog.updateProductStock(product.get(), stock.get().incrementAndGet()));
+        result.report();
+
+        assertThat(result.failures()).isZero();
+        await().atMost(Duration.ofSeconds(30))
+                .untilAsserted(() -> assertThat(products).allSatisfy(id ->
+                        assertThat(catalog.quantityOf(id)).isEqualTo(UPDATES_PER_PRODUCT)));
+    }
+}
@@ -0,0 +1,201 @@
+package com.doksanbir.modulith.benchmark;
+
+import com.doksanbir.modulith.ModulithApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the REST API: product pages, inventory reads and order placement run side by side, each
+ * at its own fixed arrival rate (open model, see {@link LoadDriver#runAtRate}). For every endpoint the latency
+ * distribution is written to {@code <endpoint>.hgrm} and throughput, failures and percentiles to
+ * {@code summary.csv}, in a timestamped directory under {@code -Dload.output} (default {@code target/load}).
+ * <p>
+ * Without {@code -Dload.target} the application is started in-process against an in-memory H2 database in
+ * PostgreSQL mode (the {@code load} Spring profile), so nothing else has to be running. With
+ * {@code -Dload.target=http://host:8080} the load goes to that instance and its own database instead.
+ * <p>
+ * Rates are set with {@code -Dload.<endpoint>.rate} (requests per second) and p99 budgets with
+ * {@code -Dload.<endpoint>.p99} (milliseconds), for endpoints {@code products}, {@code inventories} and
+ * {@code orders}. A budget breach is only logged unless {@code -Dload.enforce-budgets=true}, in which case it fails
+ * the run, and so does any failed request.
+ * <pre>
+ * ./mvnw test -Pload -Dload.duration=60 -Dload.orders.rate=100 -Dload.enforce-budgets=true
+ * </pre>
+ */
+@Tag("load")
+class RestLoadHarnessTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RestLoadHarnessTest.class);
+
+    private static final String TARGET = System.getProperty("load.target", "");
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration", 30));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup", 5));
+    private static final boolean ENFORCE_BUDGETS = Boolean.getBoolean("load.enforce-budgets");
+    private static final Path OUTPUT = Path.of(System.getProperty("load.output", "target/load"));
+    private static final int PRODUCTS = 100;
+    private static final int PAGE_SIZE = 20;
+    private static final int LINES_PER_ORDER = 5;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void restEndpointsStayWithinTheirLatencyBudgets() throws IOException {
+        if (TARGET.isBlank()) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ModulithApplication.class)
+                    .profiles("load")
+                    .run("--server.port=0")) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                runAgainst("http://localhost:" + port);
+            }
+        } else {
+            runAgainst(TARGET.replaceAll("/+$", ""));
+        }
+    }
+
+    private void runAgainst(String baseUrl) throws IOException {
+        CatalogFixture catalog = new CatalogFixture(new TestRestTemplate(new RestTemplateBuilder().rootUri(baseUrl)));
+        List<Long> productIds = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(catalog.createProductWithStock(1_000_000));
+        }
+
+        List<Endpoint> endpoints = List.of(
+                new Endpoint("products", 200, 100, () -> send(pageOfProducts(baseUrl, productIds))),
+                new Endpoint("inventories", 200, 50, () -> send(inventoryOf(baseUrl, productIds))),
+                new Endpoint("orders", 50, 250, () -> send(placeOrder(baseUrl, productIds))));
+
+        runTogether(endpoints, WARMUP, "-warmup");
+        List<BenchmarkResult> results = runTogether(endpoints, DURATION, "");
+
+        Path directory = OUTPUT.resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        List<String> summary = new ArrayList<>();
+        summary.add("endpoint,rate,operations,failures,throughput,p50_ms,p99_ms,p999_ms,max_ms,p99_budget_ms,within_budget");
+        List<String> breaches = new ArrayList<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint endpoint = endpoints.get(i);
+            BenchmarkResult result = results.get(i).report();
+            result.writeHistogram(directory);
+            double p99Millis = result.percentileMicros(99) / 1000.0;
+            boolean withinBudget = p99Millis <= endpoint.p99BudgetMillis();
+            if (!withinBudget) {
+                breaches.add(String.format("%s p99 %.1f ms > %d ms", endpoint.name(), p99Millis, endpoint.p99BudgetMillis()));
+            }
+            summary.add(String.format("%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%b",
+                    endpoint.name(), endpoint.rate(), result.operations(), result.failures(), result.throughput(),
+                    result.percentileMicros(50) / 1000.0, p99Millis, result.percentileMicros(99.9) / 1000.0,
+                    result.latencies().getMaxValue() / 1000.0, endpoint.p99BudgetMillis(), withinBudget));
+        }
+        Files.write(directory.resolve("summary.csv"), summary);
+        log.info("Load test results written to {}", directory.toAbsolutePath());
+
+        if (ENFORCE_BUDGETS) {
+            assertThat(breaches).as("p99 budget breaches").isEmpty();
+            assertThat(results).allSatisfy(result -> assertThat(result.failures()).as(result.name() + " failures").isZero());
+        } else {
+            breaches.forEach(breach -> log.warn("Over budget: {}", breach));
+        }
+    }
+
+    private static List<BenchmarkResult> runTogether(List<Endpoint> endpoints, Duration duration, String suffix) {
+        List<Callable<BenchmarkResult>> runs = endpoints.stream()
+                .<Callable<BenchmarkResult>>map(endpoint -> () ->
+                        LoadDriver.runAtRate(endpoint.name() + suffix, endpoint.rate(), duration, endpoint.operation()))
+                .toList();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<BenchmarkResult> results = new ArrayList<>();
+            for (Future<BenchmarkResult> run : executor.invokeAll(runs)) {
+                results.add(run.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load test interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load test did not complete", e.getCause());
+        }
+    }
+
+    private static HttpRequest pageOfProducts(String baseUrl, List<Long> productIds) {
+        long after = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size())) - 1;
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/page?after=" + after + "&size=" + PAGE_SIZE))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest inventoryOf(String baseUrl, List<Long> productIds) {
+        long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/inventories/" + productId))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest placeOrder(String baseUrl, List<Long> productIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringJoiner items = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            long productId = productIds.get(random.nextInt(productIds.size()));
+            items.add("{\"productId\":" + productId + ",\"quantity\":" + (1 + random.nextInt(3)) + ",\"price\":10.00}");
+        }
+        String order = "{\"customerId\":" + random.nextLong(1, 10_000) + ",\"items\":" + items + "}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(order))
+                .build();
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * One endpoint under load. The rate and p99 budget given here are defaults for
+     * {@code -Dload.<name>.rate} and {@code -Dload.<name>.p99}.
+     */
+    private record Endpoint(String name, int rate, long p99BudgetMillis, BooleanSupplier operation) {
+
+        Endpoint {
+            rate = Integer.getInteger("load." + name + ".rate", rate);
+            p99BudgetMillis = Long.getLong("load." + name + ".p99", p99BudgetMillis);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.doksanbir.modulith.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * A supplier-sync style burst: every product gets its stock rewritten many times in quick succession. Inventory
+ * must end on the last value while applying far fewer updates than were published, and every publication,
+ * coalesced or not, must end up completed. The window is widened so that products can be deleted or discontinued
+ * inside it.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.inventory.stock-coalescing.window=1s")
+class StockCoalescingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StockCoalescingBenchmarkTest.class);
+
+    private static final int PRODUCTS = 8;
+    private static final int UPDATES_PER_PRODUCT = 50;
+
+    private final TestRestTemplate rest;
+    private final CatalogFixture catalog;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    StockCoalescingBenchmarkTest(TestRestTemplate rest, JdbcTemplate jdbcTemplate) {
+        this.rest = rest;
+        this.catalog = new CatalogFixture(rest);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void burstsCollapseToTheLatestStock() {
+        List<Long> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(catalog.createProductWithStock(0));
+        }
+
+        // Counters are per application context, which other benchmarks may share
+        double receivedBefore = counter("inventory.stock.coalescing.received");
+        double appliedBefore = counter("inventory.stock.coalescing.applied");
+
+        AtomicInteger claimed = new AtomicInteger();
+        ThreadLocal<Long> product = ThreadLocal.withInitial(() -> products.get(claimed.getAndIncrement()));
+        ThreadLocal<AtomicInteger> stock = ThreadLocal.withInitial(AtomicInteger::new);
+        BenchmarkResult result = LoadDriver.run("stock-burst", PRODUCTS, UPDATES_PER_PRODUCT,
+                () -> catalog.updateProductStock(product.get(), stock.get().incrementAndGet()));
+        result.report();
+
+        await().atMost(Duration.ofSeconds(30))
+                .untilAsserted(() -> assertThat(products).allSatisfy(id ->
+                        assertThat(catalog.quantityOf(id)).isEqualTo(UPDATES_PER_PRODUCT)));
+        await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                "select count(*) from event_publication where completion_date is null", Integer.class) == 0);
+
+        double received = counter("inventory.stock.coalescing.received") - receivedBefore;
+        double applied = counter("inventory.stock.coalescing.applied") - appliedBefore;
+        log.info("stock updates: {} received, {} applied ({}% coalesced)",
+                (long) received, (long) applied, Math.round(100 * (received - applied) / received));
+        assertThat(received).isEqualTo(PRODUCTS * UPDATES_PER_PRODUCT);
+        assertThat(applied).isLessThan(received);
+    }
+
+    @Test
+    void productsDeletedInsideTheWindowAreSkipped() {
+        long kept = catalog.createProductWithStock(0);
+        long deleted = catalog.createProductWithStock(0);
+        long discontinued = catalog.createProductWithStock(0);
+
+        for (long id : List.of(kept, deleted, discontinued)) {
+            assertThat(catalog.updateProductStock(id, 7)).isTrue();
+        }
+        // Their inventory is removed before the window ends, so the coalesced update finds none for them
+        assertThat(catalog.deleteProduct(deleted)).isTrue();
+        assertThat(catalog.discontinueProduct(discontinued, 7)).isTrue();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> catalog.quantityOf(kept) == 7);
+        await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                "select count(*) from event_publication where completion_date is null", Integer.class) == 0);
+    }
+
+    private double counter(String name) {
+        Map<?, ?> metric = rest.getForObject("/actuator/metrics/{name}", Map.class, name);
+        return ((Number) ((Map<?, ?>) ((List<?>) metric.get("measurements")).getFirst()).get("value")).doubleValue();
+    }
+}
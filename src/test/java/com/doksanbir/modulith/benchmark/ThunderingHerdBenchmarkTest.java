@@ -0,0 +1,92 @@
+package com.doksanbir.modulith.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Thousands of concurrent reads of the same product and inventory, as during a launch, against a database with a
+ * simulated 2 ms round trip. With single-flight the hot key costs a small fraction of a query per request, while
+ * the same load spread over distinct keys, which cannot coalesce, costs one query per request. The product cache
+ * is off so that product reads reach the database.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.product.cache.enabled=false",
+        "logging.level.com.doksanbir.modulith.benchmark.ThunderingHerdBenchmarkTest=INFO"})
+@Import(JdbcRoundTrips.Config.class)
+class ThunderingHerdBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThunderingHerdBenchmarkTest.class);
+
+    private static final int THREADS = 64;
+    private static final int READS_PER_THREAD = 40;
+    private static final Duration ROUND_TRIP = Duration.ofMillis(2);
+
+    private final TestRestTemplate rest;
+    private final CatalogFixture catalog;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    ThunderingHerdBenchmarkTest(TestRestTemplate rest, MeterRegistry meterRegistry) {
+        this.rest = rest;
+        this.catalog = new CatalogFixture(rest);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @AfterEach
+    void removeLatency() {
+        JdbcRoundTrips.simulateLatency(Duration.ZERO);
+    }
+
+    @Test
+    void concurrentReadsOfOneProductShareTheirQueries() {
+        List<Long> ids = IntStream.range(0, THREADS).mapToObj(i -> catalog.createProductWithStock(100)).toList();
+        JdbcRoundTrips.simulateLatency(ROUND_TRIP);
+
+        long hotProductQueries = herd("product", "/api/products/{id}", ids.getFirst(), null);
+        long hotInventoryQueries = herd("inventory", "/api/inventories/{id}", ids.getFirst(), null);
+        long spreadProductQueries = herd("product-spread", "/api/products/{id}", null, ids);
+
+        long reads = (long) THREADS * READS_PER_THREAD;
+        assertThat(hotProductQueries).isLessThan(reads / 4);
+        assertThat(hotInventoryQueries).isLessThan(reads / 4);
+        assertThat(spreadProductQueries).isGreaterThan(reads / 2);
+        assertThat(collapseRatio("product")).isGreaterThan(0.5);
+        assertThat(collapseRatio("inventory")).isGreaterThan(0.5);
+    }
+
+    // Every read is of the hot id, or of a random one from the spread
+    private long herd(String name, String path, Long hotId, List<Long> spread) {
+        JdbcRoundTrips.reset();
+        BenchmarkResult result = LoadDriver.run(name, THREADS, READS_PER_THREAD, () -> {
+            long id = hotId != null ? hotId : spread.get(ThreadLocalRandom.current().nextInt(spread.size()));
+            return rest.getForEntity(path, String.class, id).getStatusCode().is2xxSuccessful();
+        }).report();
+        JdbcRoundTrips.report(name + " thundering herd", (int) result.operations());
+        assertThat(result.failures()).isZero();
+        return JdbcRoundTrips.roundTrips();
+    }
+
+    private double collapseRatio(String name) {
+        double ratio = meterRegistry.get("single.flight.collapse.ratio").tag("name", name).gauge().value();
+        log.info("{} collapse ratio {}", name, String.format("%.3f", ratio));
+        return ratio;
+    }
+}
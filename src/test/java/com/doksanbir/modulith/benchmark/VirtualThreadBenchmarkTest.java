@@ -0,0 +1,145 @@
+package com.doksanbir.modulith.benchmark;
+
+import com.doksanbir.modulith.ModulithApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Compares platform-thread and virtual-thread mode under I/O-heavy load: inventory reads arrive at a fixed rate
+ * against a database that takes {@code ROUND_TRIP} per query, more than the default 200 Tomcat threads can carry
+ * at that latency. The connection pool is sized above the load so that threads are the only limit. Each mode runs
+ * in its own application context, and virtual-thread mode must also report a deliberately pinned virtual thread.
+ * <p>
+ * Virtual threads share as many carriers as there are cores, so on a small machine the CPU caps virtual-thread
+ * mode well before the rate does; the client runs on virtual threads too so it does not crowd out the carriers.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadBenchmarkTest.class);
+
+    private static final int PRODUCTS = 50;
+    private static final int RATE = 100;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final Duration ROUND_TRIP = Duration.ofSeconds(4);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void virtualThreadsCarryBlockingLoadThatExhaustsThePlatformPool() {
+        BenchmarkResult platform = run(false);
+        BenchmarkResult virtual = run(true);
+
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+        assertThat(virtual.throughput()).isGreaterThan(platform.throughput() * 1.2);
+        assertThat(virtual.percentileMicros(99)).isLessThan(platform.percentileMicros(99));
+    }
+
+    private BenchmarkResult run(boolean virtualThreads) {
+        String mode = virtualThreads ? "virtual-threads" : "platform-threads";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ModulithApplication.class, JdbcRoundTrips.Config.class)
+                .profiles("benchmark")
+                // Arguments rather than default properties, which application.properties would override
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.hikari.maximum-pool-size=" + 2 * RATE * ROUND_TRIP.toSeconds(),
+                        // One query per read, however the random product ids collide
+                        "--app.lookup.single-flight.enabled=false",
+                        "--logging.level.com.doksanbir.modulith.benchmark.VirtualThreadBenchmarkTest=INFO",
+                        "--logging.level.com.doksanbir.modulith.shared.infrastructure.threads=INFO")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            CatalogFixture catalog = new CatalogFixture(new TestRestTemplate(new RestTemplateBuilder()
+                    .rootUri("http://localhost:" + port)));
+            List<Long> productIds = new ArrayList<>(PRODUCTS);
+            for (int i = 0; i < PRODUCTS; i++) {
+                productIds.add(catalog.createProductWithStock(100));
+            }
+
+            JdbcRoundTrips.simulateLatency(ROUND_TRIP);
+            JdbcRoundTrips.reset();
+            BenchmarkResult result;
+            try {
+                result = LoadDriver.runAtRate(mode, RATE, DURATION, () -> readInventory(port, productIds)).report();
+            } finally {
+                JdbcRoundTrips.simulateLatency(Duration.ZERO);
+            }
+            JdbcRoundTrips.report(mode + " inventory reads", (int) result.operations());
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            if (virtualThreads) {
+                pinDeliberately();
+                await().atMost(Duration.ofSeconds(10)).until(() -> pinnedAt(meterRegistry, "pinDeliberately") > 0);
+            }
+            log.info("{}: {} pinned virtual threads", mode, pinnedAt(meterRegistry, ""));
+            return result;
+        }
+    }
+
+    private boolean readInventory(int port, List<Long> productIds) {
+        long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/inventories/" + productId))
+                .GET()
+                .build();
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Sleeping while holding a monitor pins a virtual thread to its carrier
+    private static void pinDeliberately() {
+        Object monitor = new Object();
+        Thread pinned = Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        try {
+            pinned.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long pinnedAt(MeterRegistry meterRegistry, String site) {
+        return meterRegistry.find("jvm.threads.virtual.pinned").timers().stream()
+                .filter(timer -> timer.getId().getTag("site").contains(site))
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
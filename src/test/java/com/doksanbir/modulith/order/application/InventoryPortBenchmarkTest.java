@@ -0,0 +1,85 @@
+package com.doksanbir.modulith.order.application;
+
+import com.doksanbir.modulith.ModulithApplication;
+import com.doksanbir.modulith.benchmark.BenchmarkEnvironment;
+import com.doksanbir.modulith.benchmark.BenchmarkResult;
+import com.doksanbir.modulith.benchmark.CatalogFixture;
+import com.doksanbir.modulith.benchmark.LoadDriver;
+import com.doksanbir.modulith.order.application.port.out.InventoryPort;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the stock check an order placement performs for every line, once through the in-process
+ * {@link InventoryPort} adapter and once through the Feign client looping back over HTTP, each in its own
+ * application context on the same database. The in-process adapter must be faster at the median, both for a
+ * call per line and for one batched call per order.
+ */
+@Tag("benchmark")
+class InventoryPortBenchmarkTest {
+
+    private static final int ORDER_LINES = 20;
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 100;
+
+    @Test
+    void inProcessStockCheckIsFasterThanHttpLoopback() {
+        List<BenchmarkResult> inProcess = run("in-process", "local");
+        List<BenchmarkResult> feign = run("feign", "remote");
+
+        for (int i = 0; i < inProcess.size(); i++) {
+            assertThat(inProcess.get(i).failures()).isZero();
+            assertThat(feign.get(i).failures()).isZero();
+            assertThat(inProcess.get(i).percentileMicros(50)).isLessThan(feign.get(i).percentileMicros(50));
+        }
+    }
+
+    private List<BenchmarkResult> run(String name, String mode) {
+        // The Feign client is created before a random port is known, so each context binds a free port up front
+        int port = freePort();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ModulithApplication.class)
+                .profiles("benchmark")
+                .run("--server.port=" + port,
+                        "--app.order.inventory.mode=" + mode,
+                        "--app.order.inventory.url=http://localhost:" + port + "/api/inventories")) {
+            BenchmarkEnvironment.report(context.getBean(DataSource.class));
+            InventoryPort inventoryPort = context.getBean(InventoryPort.class);
+            CatalogFixture catalog = new CatalogFixture(new TestRestTemplate(new RestTemplateBuilder()
+                    .rootUri("http://localhost:" + port)));
+            List<Long> productIds = new ArrayList<>(ORDER_LINES);
+            for (int i = 0; i < ORDER_LINES; i++) {
+                productIds.add(catalog.createProductWithStock(100));
+            }
+
+            // Warm up connection pools, JIT and (in remote mode) the HTTP client
+            LoadDriver.run("warmup", THREADS, ORDERS_PER_THREAD / 2, () -> inventoryPort.getInventories(productIds).size() == ORDER_LINES);
+
+            BenchmarkResult perLine = LoadDriver.run(name + "-per-line", THREADS, ORDERS_PER_THREAD,
+                    () -> productIds.stream().allMatch(id -> inventoryPort.getInventory(id) > 0)).report();
+            BenchmarkResult batched = LoadDriver.run(name + "-batched", THREADS, ORDERS_PER_THREAD,
+                    () -> inventoryPort.getInventories(productIds).size() == ORDER_LINES).report();
+            return List.of(perLine, batched);
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.doksanbir.modulith.product.application;
+
+import com.doksanbir.modulith.ModulithApplication;
+import com.doksanbir.modulith.benchmark.BenchmarkEnvironment;
+import com.doksanbir.modulith.benchmark.JdbcRoundTrips;
+import com.doksanbir.modulith.product.application.port.out.ProductRepositoryPort;
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the database round trips of creating products in bulk inside one transaction, once with the pooled
+ * sequence ids the entities use and once with the IDENTITY ids they used before, which Hibernate cannot batch.
+ */
+@Tag("benchmark")
+class ProductBulkInsertBenchmarkTest {
+
+    private static final int PRODUCTS = 10_000;
+
+    @Test
+    void bulkCreationIsWrittenInBatches() {
+        long identity = roundTrips("identity ids", "META-INF/orm.xml,META-INF/identity-ids.xml");
+        long pooled = roundTrips("pooled sequence ids", "META-INF/orm.xml");
+
+        assertThat(identity).isGreaterThanOrEqualTo(PRODUCTS);
+        assertThat(pooled).isLessThan(PRODUCTS / 10);
+        assertThat(pooled * 10).isLessThan(identity);
+    }
+
+    private long roundTrips(String scenario, String mappingResources) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ModulithApplication.class, JdbcRoundTrips.Config.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.mapping-resources=" + mappingResources)) {
+            BenchmarkEnvironment.report(context.getBean(DataSource.class));
+            ProductRepositoryPort productRepositoryPort = context.getBean(ProductRepositoryPort.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+            JdbcRoundTrips.reset();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < PRODUCTS; i++) {
+                    productRepositoryPort.save(Product.builder()
+                            .name("bulk-" + i)
+                            .description("bulk insert benchmark")
+                            .price(BigDecimal.TEN)
+                            .stockQuantity(0)
+                            .status(ProductStatus.ACTIVE)
+                            .build());
+                }
+            });
+            JdbcRoundTrips.report(PRODUCTS + " products in one transaction, " + scenario, PRODUCTS);
+            return JdbcRoundTrips.roundTrips();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.doksanbir.modulith.product.application;
+
+import com.doksanbir.modulith.benchmark.BenchmarkResult;
+import com.doksanbir.modulith.benchmark.JdbcRoundTrips;
+import com.doksanbir.modulith.benchmark.LoadDriver;
+import com.doksanbir.modulith.product.application.port.out.ProductRepositoryPort;
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductStatus;
+import com.doksanbir.modulith.product.infrastructure.catalog.ProductCatalog;
+import com.doksanbir.modulith.product.infrastructure.catalog.ProductCatalogSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Serves product reads from the in-memory catalog snapshot: they must not reach the database, an edit must become
+ * visible within the staleness bound, and the footprint per product is measured on the heap and compared with the
+ * snapshot's own estimate.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.product.catalog.enabled=true",
+        "app.product.catalog.refresh-interval=100ms",
+        "app.product.catalog.max-staleness=1s",
+        "logging.level.com.doksanbir.modulith.product.application.ProductCatalogSnapshotBenchmarkTest=INFO"})
+@Import(JdbcRoundTrips.Config.class)
+class ProductCatalogSnapshotBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalogSnapshotBenchmarkTest.class);
+
+    private static final int PRODUCTS = 20_000;
+    private static final int MEASURED_PRODUCTS = 200_000;
+
+    private final TestRestTemplate rest;
+    private final ProductRepositoryPort productRepositoryPort;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCatalog productCatalog;
+
+    @Autowired
+    ProductCatalogSnapshotBenchmarkTest(TestRestTemplate rest, ProductRepositoryPort productRepositoryPort,
+                                        TransactionTemplate transactionTemplate, ProductCatalog productCatalog) {
+        this.rest = rest;
+        this.productRepositoryPort = productRepositoryPort;
+        this.transactionTemplate = transactionTemplate;
+        this.productCatalog = productCatalog;
+    }
+
+    @Test
+    void readsAreServedFromTheSnapshotWithinTheStalenessBound() {
+        List<Long> ids = transactionTemplate.execute(status -> productRepositoryPort.saveAll(
+                        IntStream.range(0, PRODUCTS).mapToObj(i -> product("catalog-" + i, i)).toList())
+                .stream().map(Product::getId).toList());
+        await().atMost(Duration.ofSeconds(30)).until(() -> productCatalog.freshSnapshot()
+                .filter(snapshot -> snapshot.findById(ids.getLast()).isPresent())
+                .isPresent());
+
+        JdbcRoundTrips.reset();
+        BenchmarkResult byId = LoadDriver.run("get-product-snapshot", 4, 2_500, () -> {
+            long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            return rest.getForEntity("/api/products/{id}", String.class, id).getStatusCode().is2xxSuccessful();
+        }).report();
+        BenchmarkResult pages = LoadDriver.run("get-page-snapshot", 4, 500, () -> {
+            long after = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            return rest.getForEntity("/api/products/page?after={after}&size=100", String.class, after)
+                    .getStatusCode().is2xxSuccessful();
+        }).report();
+        JdbcRoundTrips.report("catalog reads from the snapshot", (int) (byId.operations() + pages.operations()));
+
+        assertThat(byId.failures()).isZero();
+        assertThat(pages.failures()).isZero();
+        // Background jobs (registry flushes, metric refreshes) may still query now and then
+        assertThat(JdbcRoundTrips.roundTrips()).isLessThan((byId.operations() + pages.operations()) / 1_000);
+
+        long edited = ids.getFirst();
+        Instant committed = Instant.now();
+        rest.put("/api/products/{id}", Map.of("name", "renamed", "description", "catalog snapshot", "price", 12,
+                "stockQuantity", 0, "status", "ACTIVE"), edited);
+        await().atMost(Duration.ofSeconds(1)).pollInterval(Duration.ofMillis(10)).until(() ->
+                "renamed".equals(rest.getForObject("/api/products/{id}", Map.class, edited).get("name")));
+        log.info("edit visible in the snapshot after {} ms", Duration.between(committed, Instant.now()).toMillis());
+    }
+
+    @Test
+    void footprintPerProductIsMeasuredAndEstimated() {
+        long before = usedHeapAfterGc();
+        ProductCatalogSnapshot snapshot = ProductCatalogSnapshot.of(Stream.iterate(1L, id -> id + 1)
+                .limit(MEASURED_PRODUCTS)
+                .map(id -> {
+                    Product product = product("product-" + id, id.intValue());
+                    product.setId(id);
+                    return product;
+                }), Instant.now());
+        long measured = (usedHeapAfterGc() - before) / MEASURED_PRODUCTS;
+        long estimated = snapshot.estimatedBytes() / snapshot.size();
+        log.info("{} products: {} bytes per product on the heap, {} estimated", snapshot.size(), measured, estimated);
+
+        assertThat(snapshot.findById((long) MEASURED_PRODUCTS)).isPresent();
+        assertThat(estimated).isBetween(measured / 2, measured * 2);
+    }
+
+    private static Product product(String name, int i) {
+        return Product.builder()
+                .name(name)
+                .description("catalog snapshot benchmark " + i)
+                .price(BigDecimal.valueOf(1_000 + i % 100_000, 2))
+                .stockQuantity(i % 50)
+                .status(ProductStatus.ACTIVE)
+                .build();
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,131 @@
+package com.doksanbir.modulith.product.application;
+
+import com.doksanbir.modulith.benchmark.BenchmarkResult;
+import com.doksanbir.modulith.benchmark.JdbcRoundTrips;
+import com.doksanbir.modulith.benchmark.LoadDriver;
+import com.doksanbir.modulith.product.application.port.out.ProductRepositoryPort;
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductFilter;
+import com.doksanbir.modulith.product.domain.ProductStatus;
+import com.doksanbir.modulith.product.infrastructure.catalog.ProductCatalog;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Catalog filters answered from the snapshot's price order and status bitmaps: they must return the same pages as
+ * the SQL path, without reaching the database, and faster.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.product.catalog.enabled=true",
+        "app.product.catalog.refresh-interval=100ms",
+        "app.product.catalog.max-staleness=1s"})
+@Import(JdbcRoundTrips.Config.class)
+class ProductFilterBenchmarkTest {
+
+    private static final int PRODUCTS = 50_000;
+    private static final int PAGE_SIZE = 100;
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    private static final Map<String, ProductFilter> FILTERS = Map.of(
+            "narrow-price", new ProductFilter(new BigDecimal("100.00"), new BigDecimal("102.00"), null, null),
+            "wide-price", new ProductFilter(new BigDecimal("100"), new BigDecimal("900"), null, null),
+            "status", new ProductFilter(null, null, ProductStatus.INACTIVE, null),
+            "out-of-stock", new ProductFilter(null, null, null, false),
+            "combined", new ProductFilter(new BigDecimal("200"), new BigDecimal("300"), ProductStatus.ACTIVE, true));
+
+    private final TestRestTemplate rest;
+    private final ProductRepositoryPort productRepositoryPort;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCatalog productCatalog;
+
+    @Autowired
+    ProductFilterBenchmarkTest(TestRestTemplate rest, ProductRepositoryPort productRepositoryPort,
+                               TransactionTemplate transactionTemplate, ProductCatalog productCatalog) {
+        this.rest = rest;
+        this.productRepositoryPort = productRepositoryPort;
+        this.transactionTemplate = transactionTemplate;
+        this.productCatalog = productCatalog;
+    }
+
+    @Test
+    void filtersAreServedFromTheSnapshotIndexes() {
+        List<Long> ids = new ArrayList<>();
+        for (int chunk = 0; chunk < PRODUCTS; chunk += 5_000) {
+            int from = chunk;
+            ids.addAll(transactionTemplate.execute(status -> productRepositoryPort.saveAll(
+                            IntStream.range(from, from + 5_000).mapToObj(ProductFilterBenchmarkTest::product).toList())
+                    .stream().map(Product::getId).toList()));
+        }
+        await().atMost(Duration.ofSeconds(30)).until(() -> productCatalog.freshSnapshot()
+                .filter(snapshot -> snapshot.findById(ids.getLast()).isPresent())
+                .isPresent());
+
+        FILTERS.forEach((name, filter) -> {
+            Long cursor = ids.get(PRODUCTS / 3);
+            assertThat(pageIds(productRepositoryPort.findAllMatching(filter, null, PAGE_SIZE)))
+                    .as(name).isEqualTo(pageIds(sql(filter, null)));
+            assertThat(pageIds(productRepositoryPort.findAllMatching(filter, cursor, PAGE_SIZE)))
+                    .as(name).isEqualTo(pageIds(sql(filter, cursor)));
+        });
+
+        List<BenchmarkResult> sql = new ArrayList<>();
+        List<BenchmarkResult> snapshot = new ArrayList<>();
+        FILTERS.forEach((name, filter) -> {
+            sql.add(LoadDriver.run("filter-sql-" + name, 1, 300, () -> sql(filter, null) != null).report());
+            JdbcRoundTrips.reset();
+            snapshot.add(LoadDriver.run("filter-snapshot-" + name, 1, 3_000, () ->
+                    productRepositoryPort.findAllMatching(filter, null, PAGE_SIZE) != null).report());
+            // Background jobs (registry flushes, metric refreshes) may still query now and then
+            assertThat(JdbcRoundTrips.roundTrips()).as(name).isLessThan(3);
+        });
+        for (int i = 0; i < sql.size(); i++) {
+            assertThat(snapshot.get(i).percentileMicros(50)).as(snapshot.get(i).name())
+                    .isLessThan(sql.get(i).percentileMicros(50));
+        }
+
+        Map<?, ?> page = rest.getForObject("/api/products/filter?minPrice=200&maxPrice=300&status=ACTIVE&inStock=true&size=50",
+                Map.class);
+        assertThat((List<?>) page.get("content")).hasSize(50).allSatisfy(product -> {
+            BigDecimal price = new BigDecimal(String.valueOf(((Map<?, ?>) product).get("price")));
+            assertThat(price).isBetween(new BigDecimal("200"), new BigDecimal("300"));
+            assertThat(((Map<?, ?>) product).get("status")).isEqualTo("ACTIVE");
+        });
+    }
+
+    private List<Product> sql(ProductFilter filter, Long afterId) {
+        // Inside a read-write transaction the adapter bypasses the snapshot and queries the database
+        return transactionTemplate.execute(status -> productRepositoryPort.findAllMatching(filter, afterId, PAGE_SIZE));
+    }
+
+    private static List<Long> pageIds(List<Product> page) {
+        return page.stream().map(Product::getId).toList();
+    }
+
+    private static Product product(int i) {
+        return Product.builder()
+                .name("filter-" + i)
+                .description("filter benchmark")
+                .price(BigDecimal.valueOf(100 + (i * 7919L) % 100_000, 2))
+                .stockQuantity(i % 3 == 0 ? 0 : i % 40)
+                .status(i % 10 == 0 ? STATUSES[i / 10 % STATUSES.length] : ProductStatus.ACTIVE)
+                .build();
+    }
+}
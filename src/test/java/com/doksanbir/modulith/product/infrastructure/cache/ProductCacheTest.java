@@ -0,0 +1,56 @@
+package com.doksanbir.modulith.product.infrastructure.cache;
+
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.infrastructure.config.ProductCacheProperties;
+import com.doksanbir.modulith.shared.infrastructure.config.DataSourceRoutingProperties;
+import com.doksanbir.modulith.shared.infrastructure.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheTest {
+
+    private final List<Boolean> refillsOnPrimary = new ArrayList<>();
+
+    @Test
+    void refillsWithinTheWindowAfterAChangeReadFromThePrimary() throws InterruptedException {
+        ProductCache cache = cache(true);
+        cache.get(1L, this::load);
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+        cache.invalidateAll(List.of(2L));
+        cache.get(2L, this::load);
+        cache.invalidate(3L);
+        Thread.sleep(300);
+        cache.get(3L, this::load);
+
+        assertThat(refillsOnPrimary).containsExactly(false, true, true, false);
+    }
+
+    @Test
+    void withoutRoutingRefillsAreLeftAlone() {
+        ProductCache cache = cache(false);
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+
+        assertThat(refillsOnPrimary).containsExactly(false);
+    }
+
+    private ProductCache cache(boolean routing) {
+        return new ProductCache(new ProductCacheProperties(true, 100, Duration.ofMinutes(10)),
+                new DataSourceRoutingProperties(routing, List.of(), DataSourceRoutingProperties.Selection.ROUND_ROBIN,
+                        1, Duration.ofMillis(200), null),
+                new SimpleMeterRegistry());
+    }
+
+    private Optional<Product> load(Long id) {
+        refillsOnPrimary.add(ReadYourWrites.isPending());
+        return Optional.of(Product.builder().id(id).name("product-" + id).build());
+    }
+}
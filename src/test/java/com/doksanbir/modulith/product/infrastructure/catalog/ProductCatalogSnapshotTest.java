@@ -0,0 +1,154 @@
+package com.doksanbir.modulith.product.infrastructure.catalog;
+
+import com.doksanbir.modulith.product.domain.Product;
+import com.doksanbir.modulith.product.domain.ProductFilter;
+import com.doksanbir.modulith.product.domain.ProductStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCatalogSnapshotTest {
+
+    private static final Instant AS_OF = Instant.parse("2026-01-01T00:00:00Z");
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    private final ProductCatalogSnapshot snapshot = ProductCatalogSnapshot.of(
+            LongStream.rangeClosed(1, 5).mapToObj(id -> product(id, "product-" + id, 10 * id, 1, ProductStatus.ACTIVE)),
+            AS_OF);
+
+    @Test
+    void changesReplaceAddAndRemoveProducts() {
+        ProductCatalogSnapshot changed = snapshot.withChanges(
+                List.of(product(7, "added", 70, 1, ProductStatus.ACTIVE),
+                        product(3, "replaced", 30, 0, ProductStatus.INACTIVE),
+                        product(6, "added", 60, 1, ProductStatus.ACTIVE)),
+                Set.of(2L, 3L, 6L, 7L), AS_OF.plusSeconds(1));
+
+        assertThat(changed.findAll()).extracting(Product::getId).containsExactly(1L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(changed.findById(2L)).isEmpty();
+        assertThat(changed.findById(3L)).get().usingRecursiveComparison()
+                .isEqualTo(product(3, "replaced", 30, 0, ProductStatus.INACTIVE));
+        assertThat(changed.findAllAfter(3L, 2)).extracting(Product::getId).containsExactly(4L, 5L);
+        assertThat(changed.asOf()).isEqualTo(AS_OF.plusSeconds(1));
+
+        // The snapshot it was derived from is left as it was
+        assertThat(snapshot.findAll()).extracting(Product::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(snapshot.findById(3L)).get().extracting(Product::getName).isEqualTo("product-3");
+    }
+
+    @Test
+    void aPriceChangeMovesTheProductInThePriceOrder() {
+        ProductCatalogSnapshot changed = snapshot.withChanges(
+                List.of(product(1, "product-1", 45, 1, ProductStatus.ACTIVE)), Set.of(1L), AS_OF);
+
+        assertThat(changed.findAllMatching(priceRange(41, 50), null, 10)).extracting(Product::getId)
+                .containsExactly(1L, 5L);
+        assertThat(changed.findAllMatching(priceRange(0, 20), null, 10)).extracting(Product::getId)
+                .containsExactly(2L);
+        assertThat(changed.findAllMatching(priceRange(0, 40), null, 10)).extracting(Product::getId)
+                .containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    void filtersMatchABruteForceScanOnBothPaths() {
+        Random random = new Random(42);
+        TreeMap<Long, Product> catalog = new TreeMap<>();
+        for (long id = 1; id <= 2_000; id++) {
+            catalog.put(id, randomProduct(random, id));
+        }
+        ProductCatalogSnapshot current = ProductCatalogSnapshot.of(catalog.values().stream(), AS_OF);
+
+        for (int round = 0; round < 5; round++) {
+            List<Product> upserts = new ArrayList<>();
+            Set<Long> changedIds = new HashSet<>();
+            for (int change = 0; change < 200; change++) {
+                long id = 1 + random.nextInt(2_500);
+                changedIds.add(id);
+                upserts.removeIf(product -> product.getId() == id);
+                if (random.nextInt(4) == 0) {
+                    catalog.remove(id);
+                } else {
+                    Product product = randomProduct(random, id);
+                    catalog.put(id, product);
+                    upserts.add(product);
+                }
+            }
+            current = current.withChanges(upserts, changedIds, AS_OF);
+
+            assertThat(current.findAll()).usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyElementsOf(catalog.values());
+            for (int query = 0; query < 200; query++) {
+                ProductFilter filter = randomFilter(random);
+                Long afterId = random.nextBoolean() ? null : (long) random.nextInt(2_500);
+                // Narrow price ranges with large limits are gathered from the price order, wide ones with small
+                // limits scanned in id order
+                int limit = List.of(1, 10, 100, 5_000).get(random.nextInt(4));
+                assertThat(current.findAllMatching(filter, afterId, limit))
+                        .as("%s after %s, limit %d", filter, afterId, limit)
+                        .extracting(Product::getId)
+                        .containsExactlyElementsOf(bruteForce(catalog, filter, afterId, limit));
+            }
+        }
+    }
+
+    private static List<Long> bruteForce(TreeMap<Long, Product> catalog, ProductFilter filter, Long afterId, int limit) {
+        return (afterId == null ? catalog : catalog.tailMap(afterId, false)).values().stream()
+                .filter(product -> filter.minPrice() == null || product.getPrice().compareTo(filter.minPrice()) >= 0)
+                .filter(product -> filter.maxPrice() == null || product.getPrice().compareTo(filter.maxPrice()) <= 0)
+                .filter(product -> filter.status() == null || product.getStatus() == filter.status())
+                .filter(product -> filter.inStock() == null || product.getStockQuantity() > 0 == filter.inStock())
+                .limit(limit)
+                .map(Product::getId)
+                .toList();
+    }
+
+    private static ProductFilter randomFilter(Random random) {
+        BigDecimal minPrice = null;
+        BigDecimal maxPrice = null;
+        if (random.nextInt(4) > 0) {
+            int low = random.nextInt(200);
+            // Mostly narrow ranges, so that both paths are taken
+            int high = low + (random.nextBoolean() ? random.nextInt(5) : random.nextInt(200));
+            minPrice = random.nextInt(5) == 0 ? null : BigDecimal.valueOf(low, 1);
+            maxPrice = random.nextInt(5) == 0 ? null : BigDecimal.valueOf(high, 1);
+        }
+        ProductStatus status = random.nextBoolean() ? null : STATUSES[random.nextInt(STATUSES.length)];
+        Boolean inStock = random.nextBoolean() ? null : random.nextBoolean();
+        return new ProductFilter(minPrice, maxPrice, status, inStock);
+    }
+
+    private static Product randomProduct(Random random, long id) {
+        // Few distinct prices, so that many products share one
+        return product(id, "product-" + id, BigDecimal.valueOf(random.nextInt(200), 1), random.nextInt(3),
+                STATUSES[random.nextInt(STATUSES.length)]);
+    }
+
+    private static ProductFilter priceRange(long min, long max) {
+        return new ProductFilter(BigDecimal.valueOf(min), BigDecimal.valueOf(max), null, null);
+    }
+
+    private static Product product(long id, String name, long price, int stock, ProductStatus status) {
+        return product(id, name, BigDecimal.valueOf(price), stock, status);
+    }
+
+    private static Product product(long id, String name, BigDecimal price, int stock, ProductStatus status) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description(name + " description")
+                .price(price)
+                .stockQuantity(stock)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.doksanbir.modulith.search.application;
+
+import com.doksanbir.modulith.benchmark.BenchmarkResult;
+import com.doksanbir.modulith.benchmark.LoadDriver;
+import com.doksanbir.modulith.search.domain.SearchHit;
+import com.doksanbir.modulith.search.domain.SearchableProduct;
+import com.doksanbir.modulith.search.infrastructure.index.InvertedIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Product search: queries against a 1M-product index must answer in under a millisecond at the median, and
+ * products created, renamed, discontinued and deleted through the REST API must show up in (or drop out of)
+ * the results shortly after.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties =
+        "logging.level.com.doksanbir.modulith.search.application.ProductSearchBenchmarkTest=INFO")
+class ProductSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchBenchmarkTest.class);
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ne", "ro", "sa", "tu", "vi", "ze", "bo",
+            "da", "fe", "gu", "hi", "jo", "ku", "la", "me", "no", "pi"};
+    private static final int VOCABULARY = SYLLABLES.length * SYLLABLES.length * SYLLABLES.length;
+
+    private final TestRestTemplate rest;
+
+    @Autowired
+    ProductSearchBenchmarkTest(TestRestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Test
+    void queriesOverOneMillionProductsAnswerInUnderAMillisecond() {
+        InvertedIndex index = new InvertedIndex(3, 64);
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        List<SearchableProduct> chunk = new ArrayList<>(10_000);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            chunk.add(new SearchableProduct(id, text(random, 3), text(random, 12)));
+            if (chunk.size() == 10_000) {
+                index.indexAll(chunk, 1);
+                chunk.clear();
+            }
+        }
+        log.info("indexed {} products in {} ms", index.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+
+        BenchmarkResult exact = LoadDriver.run("search-exact", 1, 5_000, () ->
+                !index.search(word(ThreadLocalRandom.current().nextInt(VOCABULARY)), 20).isEmpty()).report();
+        BenchmarkResult common = LoadDriver.run("search-common-term", 1, 1_000, () ->
+                !index.search(word(ThreadLocalRandom.current().nextInt(8)), 20).isEmpty()).report();
+        BenchmarkResult twoTerms = LoadDriver.run("search-two-terms", 1, 5_000, () -> {
+            ThreadLocalRandom current = ThreadLocalRandom.current();
+            index.search(word(zipf(current.nextDouble())) + " " + word(zipf(current.nextDouble())), 20);
+            return true;
+        }).report();
+        BenchmarkResult prefix = LoadDriver.run("search-prefix", 1, 5_000, () -> {
+            String word = word(ThreadLocalRandom.current().nextInt(VOCABULARY));
+            return !index.search(word.substring(0, 5), 20).isEmpty();
+        }).report();
+        BenchmarkResult termAndPrefix = LoadDriver.run("search-term-and-prefix", 1, 5_000, () -> {
+            ThreadLocalRandom current = ThreadLocalRandom.current();
+            index.search(word(zipf(current.nextDouble())) + " " + word(current.nextInt(VOCABULARY)).substring(0, 4), 20);
+            return true;
+        }).report();
+
+        assertThat(exact.percentileMicros(50)).isLessThan(1_000);
+        assertThat(twoTerms.percentileMicros(50)).isLessThan(1_000);
+        assertThat(prefix.percentileMicros(50)).isLessThan(1_000);
+        assertThat(termAndPrefix.percentileMicros(50)).isLessThan(1_000);
+        assertThat(common.failures()).isZero();
+
+        // Updates replace the old text and deletions drop the product
+        index.indexAll(List.of(new SearchableProduct(1L, "quasar lantern", "brass")), 2);
+        assertThat(index.search("quasar lant", 5)).extracting(SearchHit::productId).containsExactly(1L);
+        index.removeAll(List.of(1L), 3);
+        assertThat(index.search("quasar", 5)).isEmpty();
+    }
+
+    @Test
+    void productChangesReachTheSearchResults() {
+        String term = "zephyr" + System.nanoTime();
+        Map<?, ?> created = rest.postForObject("/api/products", Map.of("name", "Café " + term,
+                "description", "search benchmark", "price", 10, "stockQuantity", 0), Map.class);
+        long id = ((Number) created.get("id")).longValue();
+        awaitHits("cafe " + term.substring(0, 8), id, true);
+
+        rest.put("/api/products/{id}", Map.of("name", "Lamp", "description", "renamed " + term + "x",
+                "price", 10, "stockQuantity", 0, "status", "ACTIVE"), id);
+        awaitHits(term + "x", id, true);
+        awaitHits("cafe " + term, id, false);
+
+        rest.delete("/api/products/{id}", id);
+        awaitHits(term + "x", id, false);
+    }
+
+    private void awaitHits(String query, long id, boolean present) {
+        await().atMost(Duration.ofSeconds(10)).pollInterval(Duration.ofMillis(20)).until(() -> {
+            Map<?, ?> result = rest.getForObject("/api/search/products?q={q}", Map.class, query);
+            boolean found = ((List<?>) result.get("hits")).stream()
+                    .anyMatch(hit -> ((Number) ((Map<?, ?>) hit).get("id")).longValue() == id);
+            return found == present;
+        });
+    }
+
+    private static String text(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(i == 0 ? "" : " ").append(word(zipf(random.nextDouble())));
+        }
+        return text.toString();
+    }
+
+    // Skewed towards low word numbers, so a few terms are very common and most are rare, as in real text
+    private static int zipf(double uniform) {
+        return (int) (VOCABULARY * uniform * uniform * uniform);
+    }
+
+    private static String word(int number) {
+        return SYLLABLES[number % SYLLABLES.length]
+                + SYLLABLES[number / SYLLABLES.length % SYLLABLES.length]
+                + SYLLABLES[number / (SYLLABLES.length * SYLLABLES.length)];
+    }
+}
@@ -0,0 +1,86 @@
+package com.doksanbir.modulith.search.infrastructure.index;
+
+import com.doksanbir.modulith.search.domain.SearchHit;
+import com.doksanbir.modulith.search.domain.SearchableProduct;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex(3, 64);
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatchesAndExpandsTheLastTermAsAPrefix() {
+        index.indexAll(List.of(
+                new SearchableProduct(1L, "brass lamp", "a desk lantern"),
+                new SearchableProduct(2L, "lantern", "brass, for camping"),
+                new SearchableProduct(3L, "camping stove", "burns gas")), 1);
+
+        assertThat(hits("lantern")).containsExactly(2L, 1L);
+        assertThat(hits("brass lant")).containsExactly(2L, 1L);
+        assertThat(hits("camp")).containsExactly(3L, 2L);
+        assertThat(hits("brass stove")).isEmpty();
+    }
+
+    @Test
+    void updatesReplaceTheTextAndRemovalsDropTheProduct() {
+        index.indexAll(List.of(new SearchableProduct(1L, "brass lamp", "")), 1);
+        index.indexAll(List.of(new SearchableProduct(1L, "copper kettle", "")), 2);
+
+        assertThat(hits("brass")).isEmpty();
+        assertThat(hits("kettle")).containsExactly(1L);
+
+        index.removeAll(List.of(1L), 3);
+        assertThat(hits("kettle")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void changesOlderThanTheLastAppliedOneAreIgnored() {
+        index.indexAll(List.of(new SearchableProduct(1L, "copper kettle", "")), 5);
+        index.indexAll(List.of(new SearchableProduct(1L, "brass lamp", ""), new SearchableProduct(2L, "brass bell", "")), 4);
+
+        assertThat(hits("brass")).containsExactly(2L);
+        assertThat(hits("kettle")).containsExactly(1L);
+
+        // A removal keeps its version, so a late read of the removed product does not bring it back
+        index.removeAll(List.of(1L), 7);
+        index.indexAll(List.of(new SearchableProduct(1L, "copper kettle", "")), 6);
+        assertThat(hits("kettle")).isEmpty();
+
+        index.indexAll(List.of(new SearchableProduct(1L, "copper kettle", "")), 8);
+        assertThat(hits("kettle")).containsExactly(1L);
+    }
+
+    @Test
+    void compactionKeepsTheResults() {
+        List<SearchableProduct> products = new ArrayList<>();
+        for (long id = 1; id <= 4_000; id++) {
+            products.add(new SearchableProduct(id, id % 2 == 0 ? "even lamp" : "odd lamp", "item" + id));
+        }
+        index.indexAll(products, 1);
+
+        // Removing half the products crosses the compaction threshold
+        index.removeAll(LongStream.rangeClosed(1, 4_000).filter(id -> id % 2 == 1).boxed().toList(), 2);
+        index.indexAll(List.of(new SearchableProduct(2L, "even lantern", "item2")), 3);
+
+        assertThat(index.size()).isEqualTo(2_000);
+        assertThat(hits("odd")).isEmpty();
+        assertThat(hits("item3 lamp")).isEmpty();
+        assertThat(hits("item3998 lamp")).containsExactly(3_998L);
+        assertThat(hits("even lant")).containsExactly(2L);
+        assertThat(index.search("even lamp", 5_000)).hasSize(1_999);
+
+        index.indexAll(List.of(new SearchableProduct(4_001L, "odd lamp", "item4001")), 4);
+        assertThat(hits("odd")).containsExactly(4_001L);
+    }
+
+    private List<Long> hits(String query) {
+        return index.search(query, 10).stream().map(SearchHit::productId).toList();
+    }
+}
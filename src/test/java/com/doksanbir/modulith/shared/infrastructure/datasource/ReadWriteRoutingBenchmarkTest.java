@@ -0,0 +1,149 @@
+package com.doksanbir.modulith.shared.infrastructure.datasource;
+
+import com.doksanbir.modulith.benchmark.BenchmarkResult;
+import com.doksanbir.modulith.benchmark.CatalogFixture;
+import com.doksanbir.modulith.benchmark.LoadDriver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes reads to two replica pools. By default both pools point at the primary's own database, so there is nothing
+ * to replicate; to try real instances, pass {@code -Dapp.datasource.routing.replicas[0].url=...} (and
+ * {@code [1]}) for two local databases that replicate from the primary.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=${spring.datasource.url}",
+        "app.datasource.routing.replicas[0].username=${spring.datasource.username}",
+        "app.datasource.routing.replicas[0].password=${spring.datasource.password}",
+        "app.datasource.routing.replicas[1].url=${spring.datasource.url}",
+        "app.datasource.routing.replicas[1].username=${spring.datasource.username}",
+        "app.datasource.routing.replicas[1].password=${spring.datasource.password}",
+        "app.datasource.routing.read-your-writes-window=500ms",
+        // Every read must reach the database to be routed
+        "app.product.cache.enabled=false",
+        "app.lookup.single-flight.enabled=false"})
+class ReadWriteRoutingBenchmarkTest {
+
+    private static final int PRODUCTS = 20;
+
+    private final TestRestTemplate rest;
+    private final CatalogFixture catalog;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    ReadWriteRoutingBenchmarkTest(TestRestTemplate rest, MeterRegistry meterRegistry, DataSource dataSource,
+                                  PlatformTransactionManager transactionManager) {
+        this.rest = rest;
+        this.catalog = new CatalogFixture(rest);
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    void readsGoToTheReplicasAndWritesToThePrimary() {
+        List<Long> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(catalog.createProductWithStock(5));
+        }
+
+        double writesBefore = connections("primary", "write");
+        double replicaReadsBefore = connections("replica-1", "read") + connections("replica-2", "read");
+        BenchmarkResult reads = LoadDriver.run("routed-product-reads", 4, 250, () ->
+                rest.getForEntity("/api/products/{id}", String.class,
+                        products.get(ThreadLocalRandom.current().nextInt(PRODUCTS))).getStatusCode().is2xxSuccessful())
+                .report();
+
+        assertThat(reads.failures()).isZero();
+        assertThat(connections("replica-1", "read") + connections("replica-2", "read") - replicaReadsBefore)
+                .isGreaterThanOrEqualTo(reads.operations());
+        assertThat(connections("replica-1", "read")).isPositive();
+        assertThat(connections("replica-2", "read")).isPositive();
+        // Background jobs may write meanwhile, but the reads themselves do not
+        assertThat(connections("primary", "write") - writesBefore).isLessThan(reads.operations() / 10.0);
+        assertThat(meterRegistry.find("hikaricp.connections.active").tag("pool", "replica-1").gauge()).isNotNull();
+
+        // A write pins the writing client's next requests to the primary, through the cookie, and no one else's
+        ResponseEntity<String> update = rest.exchange("/api/products/{id}", HttpMethod.PUT, new HttpEntity<>(Map.of(
+                "name", "routed", "description", "read your writes", "price", 10, "stockQuantity", 7, "status", "ACTIVE")),
+                String.class, products.getFirst());
+        String cookie = update.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+        assertThat(cookie).startsWith(ReadYourWritesCookie.NAME + "=");
+        cookie = cookie.substring(0, cookie.indexOf(';'));
+
+        double replicaReads = connections("replica-1", "read") + connections("replica-2", "read");
+        assertThat(getProduct(products.getFirst(), null)).isTrue();
+        assertThat(connections("replica-1", "read") + connections("replica-2", "read")).isGreaterThan(replicaReads);
+
+        double primaryReads = connections("primary", "read-your-writes");
+        assertThat(getProduct(products.getFirst(), cookie)).isTrue();
+        assertThat(connections("primary", "read-your-writes")).isGreaterThan(primaryReads);
+
+        // A cookie whose end was moved is ignored
+        String tampered = cookie.replaceFirst("=(\\d)", "=9");
+        replicaReads = connections("replica-1", "read") + connections("replica-2", "read");
+        assertThat(getProduct(products.getFirst(), tampered)).isTrue();
+        assertThat(connections("replica-1", "read") + connections("replica-2", "read")).isGreaterThan(replicaReads);
+    }
+
+    @Test
+    void aThreadReadsItsOwnWritesFromThePrimaryForTheWindow() throws InterruptedException {
+        ReadYourWrites.clear();
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.queryForObject("select 1", Integer.class));
+
+        double primaryReads = connections("primary", "read-your-writes");
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.queryForObject("select 1", Integer.class));
+        assertThat(connections("primary", "read-your-writes")).isEqualTo(primaryReads + 1);
+
+        Thread.sleep(Duration.ofMillis(600));
+        double replicaReads = connections("replica-1", "read") + connections("replica-2", "read");
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.queryForObject("select 1", Integer.class));
+        assertThat(connections("replica-1", "read") + connections("replica-2", "read")).isEqualTo(replicaReads + 1);
+
+        ReadYourWrites.onPrimary(() ->
+                readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.queryForObject("select 1", Integer.class)));
+        assertThat(connections("primary", "read-your-writes")).isEqualTo(primaryReads + 2);
+    }
+
+    private boolean getProduct(long productId, String cookie) {
+        HttpHeaders headers = new HttpHeaders();
+        if (cookie != null) {
+            headers.add(HttpHeaders.COOKIE, cookie);
+        }
+        return rest.exchange("/api/products/{id}", HttpMethod.GET, new HttpEntity<>(headers), String.class, productId)
+                .getStatusCode().is2xxSuccessful();
+    }
+
+    private double connections(String pool, String route) {
+        return meterRegistry.counter("datasource.routing.connections", "pool", pool, "route", route).count();
+    }
+}
@@ -0,0 +1,145 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.events.ProductStockUpdatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.core.EventSerializer;
+import org.springframework.modulith.events.core.PublicationTargetIdentifier;
+import org.springframework.modulith.events.core.TargetEventPublication;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchingEventPublicationRepositoryTest {
+
+    private static final PublicationTargetIdentifier LISTENER = PublicationTargetIdentifier.of("test.listener");
+    // Long enough that the background flusher never runs during a test
+    private static final Duration FLUSH_INTERVAL = Duration.ofHours(1);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final EventSerializer serializer = mock(EventSerializer.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BatchingEventPublicationRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        runTransactions();
+        repository.destroy();
+    }
+
+    @Test
+    void completionMarksSurviveAFailedFlush() {
+        repository = repository(10, Duration.ofHours(1));
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        repository.markCompleted(TargetEventPublication.of(new ProductStockUpdatedEvent(1L, 1), LISTENER), Instant.now());
+        repository.markCompleted(TargetEventPublication.of(new ProductStockUpdatedEvent(2L, 2), LISTENER), Instant.now());
+
+        assertThatThrownBy(repository::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(pendingCompletions()).isEqualTo(2);
+
+        runTransactions();
+        repository.flush();
+        assertThat(pendingCompletions()).isZero();
+        verify(jdbcTemplate).batchUpdate(startsWith("update event_publication set completion_date = ? where id = ?"),
+                argThat((Collection<Object> marks) -> marks.size() == 2),
+                anyInt(), any());
+    }
+
+    @Test
+    void publicationsBeyondTheCapAreCompletedBySerializedEvent() {
+        repository = repository(1, Duration.ofHours(1));
+        runTransactions();
+        when(serializer.serialize(any())).thenReturn("serialized");
+        ProductStockUpdatedEvent first = new ProductStockUpdatedEvent(1L, 1);
+        ProductStockUpdatedEvent second = new ProductStockUpdatedEvent(2L, 2);
+
+        commit(first, second);
+        assertThat(tracked()).isEqualTo(1);
+
+        repository.markCompleted(first, LISTENER, Instant.now());
+        repository.markCompleted(second, LISTENER, Instant.now());
+        repository.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("update event_publication set completion_date = ? where id = ?"),
+                any(Collection.class), anyInt(), any());
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("update event_publication set completion_date = ?\nwhere serialized_event"),
+                any(Collection.class), anyInt(), any());
+        assertThat(tracked()).isZero();
+    }
+
+    @Test
+    void publicationsThatNeverCompleteAreEvicted() {
+        repository = repository(10, Duration.ofMillis(50));
+        commit(new ProductStockUpdatedEvent(1L, 1));
+        assertThat(tracked()).isEqualTo(1);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> tracked() == 0);
+    }
+
+    private BatchingEventPublicationRepository repository(int maxTracked, Duration trackingTtl) {
+        return new BatchingEventPublicationRepository(jdbcTemplate, transactionTemplate, serializer, FLUSH_INTERVAL,
+                500, maxTracked, trackingTtl, mock(EventListenerMetrics.class), meterRegistry);
+    }
+
+    // Stores the publications as one transaction would and commits it
+    private void commit(Object... events) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (Object event : events) {
+                repository.create(TargetEventPublication.of(event, LISTENER));
+            }
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.beforeCommit(false);
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactions() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private double pendingCompletions() {
+        return meterRegistry.get("event.registry.completions.pending").gauge().value();
+    }
+
+    private double tracked() {
+        return meterRegistry.get("event.registry.tracked").gauge().value();
+    }
+}
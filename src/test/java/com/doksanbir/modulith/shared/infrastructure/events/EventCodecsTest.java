@@ -0,0 +1,120 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.events.OrderPlacedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchCreatedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchStockUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductCreatedEvent;
+import com.doksanbir.modulith.shared.events.ProductDeletedEvent;
+import com.doksanbir.modulith.shared.events.ProductDiscontinuedEvent;
+import com.doksanbir.modulith.shared.events.ProductReactivatedEvent;
+import com.doksanbir.modulith.shared.events.ProductStockUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductUpdatedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.modulith.events.core.EventSerializer;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EventCodecsTest {
+
+    private final EventSerializer json = mock(EventSerializer.class);
+    private final CompactEventSerializer serializer = new CompactEventSerializer(json, EventCodecs.all());
+
+    @Test
+    void everyEventRoundTrips() {
+        List<Object> events = List.of(
+                new ProductCreatedEvent(1L),
+                new ProductDeletedEvent(Long.MAX_VALUE),
+                new ProductDiscontinuedEvent(3L),
+                new ProductReactivatedEvent(4L),
+                new ProductUpdatedEvent(5L),
+                new OrderPlacedEvent(6L),
+                new ProductStockUpdatedEvent(-7L, Integer.MIN_VALUE),
+                new ProductBatchCreatedEvent(List.of(30L, 10L, 20L, Long.MIN_VALUE)),
+                new ProductBatchUpdatedEvent(List.of()),
+                new ProductBatchStockUpdatedEvent(Map.of(10L, 0, 11L, -1, 1_000_000L, Integer.MAX_VALUE)));
+
+        for (Object event : events) {
+            Object payload = serializer.serialize(event);
+            assertThat(payload.toString()).startsWith(CompactEventSerializer.PREFIX);
+            assertThat(serializer.deserialize(payload, event.getClass())).isEqualTo(event);
+        }
+        verifyNoInteractions(json);
+    }
+
+    @Test
+    void typeIdsAreUnique() {
+        Set<Integer> typeIds = EventCodecs.all().stream().map(EventCodec::typeId).collect(Collectors.toSet());
+        assertThat(typeIds).hasSameSizeAs(EventCodecs.all());
+    }
+
+    @Test
+    void stockBatchPayloadDoesNotDependOnMapOrder() {
+        Map<Long, Integer> ascending = new TreeMap<>(Map.of(1L, 1, 2L, 2, 3L, 3));
+        Map<Long, Integer> descending = new LinkedHashMap<>();
+        descending.put(3L, 3);
+        descending.put(2L, 2);
+        descending.put(1L, 1);
+
+        assertThat(serializer.serialize(new ProductBatchStockUpdatedEvent(descending)))
+                .isEqualTo(serializer.serialize(new ProductBatchStockUpdatedEvent(ascending)));
+    }
+
+    @Test
+    void eventsWithNullsAndPayloadsWithoutTheMarkerGoThroughJson() {
+        ProductStockUpdatedEvent withNull = new ProductStockUpdatedEvent(1L, null);
+        when(json.serialize(withNull)).thenReturn("{\"productId\":1}");
+        when(json.deserialize("{\"productId\":1}", ProductStockUpdatedEvent.class)).thenReturn(withNull);
+
+        assertThat(serializer.serialize(withNull)).isEqualTo("{\"productId\":1}");
+        assertThat(serializer.deserialize("{\"productId\":1}", ProductStockUpdatedEvent.class)).isEqualTo(withNull);
+        verify(json).deserialize("{\"productId\":1}", ProductStockUpdatedEvent.class);
+    }
+
+    @Test
+    void rejectsPayloadsItCannotReadFaithfully() {
+        // type id 1 (ProductCreatedEvent), version 2, which no codec has written yet
+        assertThatThrownBy(() -> serializer.deserialize(payload(1, 2, 2), ProductCreatedEvent.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Unknown schema version");
+        assertThatThrownBy(() -> serializer.deserialize(payload(1, 1, 2, 0), ProductCreatedEvent.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Trailing bytes");
+        assertThatThrownBy(() -> serializer.deserialize(payload(1, 1), ProductCreatedEvent.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Truncated");
+        assertThatThrownBy(() -> serializer.deserialize(payload(1, 1, 2), ProductDeletedEvent.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("does not denote");
+    }
+
+    @Test
+    void rejectsDuplicateTypeIds() {
+        EventCodec<ProductCreatedEvent> duplicate = EventCodec.of(ProductCreatedEvent.class, 2, 1,
+                (event, out) -> out.writeLong(event.productId()), (in, version) -> new ProductCreatedEvent(in.readLong()));
+
+        assertThatThrownBy(() -> new CompactEventSerializer(json, List.of(EventCodecs.all().get(1), duplicate)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String payload(int... bytes) {
+        byte[] raw = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            raw[i] = (byte) bytes[i];
+        }
+        return CompactEventSerializer.PREFIX + Base64.getEncoder().withoutPadding().encodeToString(raw);
+    }
+}
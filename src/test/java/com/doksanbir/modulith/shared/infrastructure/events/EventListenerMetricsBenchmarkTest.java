@@ -0,0 +1,70 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.benchmark.BenchmarkResult;
+import com.doksanbir.modulith.benchmark.CatalogFixture;
+import com.doksanbir.modulith.benchmark.LoadDriver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Drives product creations through the API and reads the listener statistics back from
+ * {@code /actuator/eventlisteners}: the inventory listener must show up with its handling time and the lag from
+ * publication to completion.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties =
+        "logging.level.com.doksanbir.modulith.shared.infrastructure.events.EventListenerMetricsBenchmarkTest=INFO")
+class EventListenerMetricsBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventListenerMetricsBenchmarkTest.class);
+
+    private final TestRestTemplate rest;
+    private final CatalogFixture catalog;
+
+    @Autowired
+    EventListenerMetricsBenchmarkTest(TestRestTemplate rest) {
+        this.rest = rest;
+        this.catalog = new CatalogFixture(rest);
+    }
+
+    @Test
+    void slowestListenersEndpointReportsLatencyAndLag() {
+        BenchmarkResult result = LoadDriver.run("create-products", 4, 50, () -> catalog.createProductWithStock(1) > 0);
+        result.report();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(inventoryListener())
+                .hasValueSatisfying(stats -> assertThat(((Number) stats.get("lagP99Millis")).doubleValue()).isPositive()));
+        Map<?, ?> stats = inventoryListener().orElseThrow();
+        log.info("slowest listeners: {}", rest.getForObject("/actuator/eventlisteners", List.class));
+
+        assertThat(((Number) stats.get("invocations")).longValue()).isGreaterThanOrEqualTo(200);
+        assertThat(((Number) stats.get("p99Millis")).doubleValue()).isPositive();
+        assertThat(((Number) stats.get("failures")).longValue()).isZero();
+        assertThat(rest.getForEntity("/actuator/eventlisteners/-1", String.class).getStatusCode().value()).isEqualTo(400);
+    }
+
+    private Optional<Map<?, ?>> inventoryListener() {
+        List<?> listeners = rest.getForObject("/actuator/eventlisteners/50", List.class);
+        return listeners.stream()
+                .map(Map.class::cast)
+                .<Map<?, ?>>map(stats -> stats)
+                .filter(stats -> "InventoryService.handleProductEvent".equals(stats.get("listener"))
+                        && "ProductCreatedEvent".equals(stats.get("event")))
+                .findFirst();
+    }
+}
@@ -0,0 +1,70 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.benchmark.BenchmarkResult;
+import com.doksanbir.modulith.benchmark.CatalogFixture;
+import com.doksanbir.modulith.benchmark.LoadDriver;
+import com.doksanbir.modulith.shared.events.ProductCreatedEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Creates products through the API and replays the event log from the offset it had before: every product's
+ * creation event must be there, deserialized and routed to the {@code product} target.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.events.log.enabled=true")
+class EventLogExternalizationBenchmarkTest {
+
+    private static final int PRODUCTS = 100;
+
+    private final TestRestTemplate rest;
+    private final CatalogFixture catalog;
+    private final SegmentedEventLog eventLog;
+    private final EventLogExternalizer externalizer;
+
+    @Autowired
+    EventLogExternalizationBenchmarkTest(TestRestTemplate rest, SegmentedEventLog eventLog,
+                                         EventLogExternalizer externalizer) {
+        this.rest = rest;
+        this.catalog = new CatalogFixture(rest);
+        this.eventLog = eventLog;
+        this.externalizer = externalizer;
+    }
+
+    @Test
+    void productEventsAreReplayableFromTheLog() {
+        long from = eventLog.endOffset();
+        Set<Long> created = ConcurrentHashMap.newKeySet();
+        BenchmarkResult result = LoadDriver.run("create-products", 4, PRODUCTS / 4,
+                () -> created.add(catalog.createProductWithStock(1)));
+        result.report();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            List<EventLogExternalizer.ExternalizedEvent> replayed = externalizer.read(from, 10_000);
+            assertThat(replayed)
+                    .filteredOn(e -> e.event() instanceof ProductCreatedEvent)
+                    .allSatisfy(e -> assertThat(e.target()).isEqualTo("product"))
+                    .extracting(e -> ((ProductCreatedEvent) e.event()).productId())
+                    .containsAll(created);
+        });
+
+        Map<?, ?> page = rest.getForObject("/actuator/eventlog/{from}/{limit}", Map.class, from, 1_000_000);
+        assertThat((List<?>) page.get("events")).hasSizeBetween(PRODUCTS, 1_000);
+        assertThat(rest.getForEntity("/actuator/eventlog/{from}/0", String.class, from).getStatusCode().value())
+                .isEqualTo(400);
+    }
+}
@@ -0,0 +1,40 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes event publication rows straight into the registry table, as a previous run would have left them, so a
+ * benchmark can start from a backlog without publishing every event.
+ */
+final class EventPublicationFixture {
+
+    private EventPublicationFixture() {
+    }
+
+    /**
+     * Inserts one publication per serialized event for the given listener; a null {@code completionDate} leaves
+     * them incomplete.
+     */
+    static void insert(JdbcTemplate jdbcTemplate, String listenerId, String eventType, List<String> serializedEvents,
+                       Instant publicationDate, Instant completionDate) {
+        OffsetDateTime published = publicationDate.atOffset(ZoneOffset.UTC);
+        OffsetDateTime completed = completionDate == null ? null : completionDate.atOffset(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate("""
+                        insert into event_publication (id, listener_id, event_type, serialized_event, publication_date, completion_date)
+                        values (?, ?, ?, ?, ?, ?)""",
+                serializedEvents, 1_000, (ps, serializedEvent) -> {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setString(2, listenerId);
+                    ps.setString(3, eventType);
+                    ps.setString(4, serializedEvent);
+                    ps.setObject(5, published);
+                    ps.setObject(6, completed);
+                });
+    }
+}
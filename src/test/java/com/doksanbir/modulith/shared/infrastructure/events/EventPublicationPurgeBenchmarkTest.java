@@ -0,0 +1,115 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.benchmark.BenchmarkEnvironment;
+import com.doksanbir.modulith.benchmark.JdbcRoundTrips;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fills the publication table with a backlog of old completed rows next to recent and incomplete ones, then purges
+ * it. Only the old completed rows may go, and they must go in many small deletes rather than one. The same backlog is
+ * then deleted again by one unbounded statement: the longest batch must hold the table several times shorter.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(properties = {
+        "app.events.purge.retention=1d",
+        "app.events.purge.pause-between-batches=0ms",
+        "logging.level.com.doksanbir.modulith.shared.infrastructure.events.EventPublicationPurgeBenchmarkTest=INFO"})
+@Import(JdbcRoundTrips.Config.class)
+class EventPublicationPurgeBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPublicationPurgeBenchmarkTest.class);
+
+    private static final int OLD_COMPLETED = 100_000;
+    private static final int RECENT_COMPLETED = 1_000;
+    private static final int INCOMPLETE = 1_000;
+
+    private final EventPublicationPurger purger;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    EventPublicationPurgeBenchmarkTest(EventPublicationPurger purger, JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                       MeterRegistry meterRegistry) {
+        this.purger = purger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    void purgeDeletesOnlyExpiredCompletedPublicationsInBatches() {
+        BenchmarkEnvironment.report(dataSource);
+        Instant now = Instant.now();
+        // Both statements run once on a smaller backlog first, so neither is measured cold
+        insert(OLD_COMPLETED / 10, now.minus(Duration.ofDays(30)), now.minus(Duration.ofDays(30)));
+        purger.purge();
+        insert(OLD_COMPLETED / 10, now.minus(Duration.ofDays(30)), now.minus(Duration.ofDays(30)));
+        deleteAllCompletedBefore(now);
+
+        insert(OLD_COMPLETED, now.minus(Duration.ofDays(30)), now.minus(Duration.ofDays(30)));
+        insert(RECENT_COMPLETED, now.minus(Duration.ofHours(1)), now.minus(Duration.ofHours(1)));
+        insert(INCOMPLETE, now.minus(Duration.ofDays(30)), null);
+
+        JdbcRoundTrips.reset();
+        long start = System.nanoTime();
+        long deleted = purger.purge();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Duration longestBatch = JdbcRoundTrips.longestRoundTrip();
+        log.info("purged {} rows in {} ms ({} rows/s), {} statements, longest {} ms",
+                deleted, elapsed.toMillis(), deleted * 1_000 / Math.max(1, elapsed.toMillis()), JdbcRoundTrips.roundTrips(),
+                longestBatch.toMillis());
+
+        assertThat(deleted).isEqualTo(OLD_COMPLETED);
+        assertThat(JdbcRoundTrips.roundTrips()).isGreaterThan(OLD_COMPLETED / 5_000);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from event_publication where completion_date is not null", Long.class))
+                .isEqualTo(RECENT_COMPLETED);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from event_publication where completion_date is null", Long.class))
+                .isEqualTo(INCOMPLETE);
+        assertThat(rows("completed")).isEqualTo(RECENT_COMPLETED);
+        assertThat(rows("incomplete")).isEqualTo(INCOMPLETE);
+
+        insert(OLD_COMPLETED, now.minus(Duration.ofDays(30)), now.minus(Duration.ofDays(30)));
+        JdbcRoundTrips.reset();
+        int deletedAtOnce = deleteAllCompletedBefore(now);
+        Duration unbounded = JdbcRoundTrips.longestRoundTrip();
+        log.info("one unbounded delete of {} rows took {} ms, {} times the longest batch",
+                deletedAtOnce, unbounded.toMillis(), String.format("%.1f", (double) unbounded.toNanos() / longestBatch.toNanos()));
+
+        assertThat(deletedAtOnce).isEqualTo(OLD_COMPLETED);
+        assertThat(longestBatch.multipliedBy(3)).isLessThan(unbounded);
+    }
+
+    private int deleteAllCompletedBefore(Instant now) {
+        return jdbcTemplate.update("delete from event_publication where completion_date < ?",
+                now.minus(Duration.ofDays(1)).atOffset(ZoneOffset.UTC));
+    }
+
+    private double rows(String state) {
+        return meterRegistry.get("event.publications.rows").tag("state", state).gauge().value();
+    }
+
+    private void insert(int rows, Instant publicationDate, Instant completionDate) {
+        EventPublicationFixture.insert(jdbcTemplate, "benchmark.listener", "java.lang.String",
+                Collections.nCopies(rows, "\"purge\""), publicationDate, completionDate);
+    }
+}
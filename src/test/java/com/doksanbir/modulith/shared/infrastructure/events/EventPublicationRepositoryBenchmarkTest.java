@@ -0,0 +1,104 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.benchmark.BenchmarkResult;
+import com.doksanbir.modulith.benchmark.JdbcRoundTrips;
+import com.doksanbir.modulith.benchmark.LoadDriver;
+import com.doksanbir.modulith.shared.events.ProductStockUpdatedEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.core.EventPublicationRepository;
+import org.springframework.modulith.events.core.PublicationTargetIdentifier;
+import org.springframework.modulith.events.core.TargetEventPublication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stores and completes the same publications through the JPA repository and the batching one. Publications are
+ * stored 100 per transaction, as a bulk operation would, and completed one by one from several threads, as the
+ * listeners do.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest
+@Import(JdbcRoundTrips.Config.class)
+class EventPublicationRepositoryBenchmarkTest {
+
+    private static final int PUBLICATIONS = 5_000;
+    private static final int PER_TRANSACTION = 100;
+    private static final int LISTENER_THREADS = 4;
+
+    private final List<EventPublicationRepository> repositories;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EventPublicationRepositoryBenchmarkTest(List<EventPublicationRepository> repositories,
+                                            TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate) {
+        this.repositories = repositories;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void batchingRepositoryCutsPerEventWrites() {
+        EventPublicationRepository jpa = repositories.stream()
+                .filter(r -> !(r instanceof BatchingEventPublicationRepository))
+                .findFirst().orElseThrow();
+        BatchingEventPublicationRepository batching = repositories.stream()
+                .filter(BatchingEventPublicationRepository.class::isInstance)
+                .map(BatchingEventPublicationRepository.class::cast)
+                .findFirst().orElseThrow();
+
+        long jpaRoundTrips = storeAndComplete("jpa", jpa, 0);
+        long batchingRoundTrips = storeAndComplete("batching", batching, PUBLICATIONS);
+
+        assertThat(batchingRoundTrips).isLessThan(jpaRoundTrips);
+    }
+
+    private long storeAndComplete(String name, EventPublicationRepository repository, int firstProductId) {
+        PublicationTargetIdentifier listener = PublicationTargetIdentifier.of("benchmark." + name);
+        List<ProductStockUpdatedEvent> events = IntStream.range(firstProductId, firstProductId + PUBLICATIONS)
+                .mapToObj(i -> new ProductStockUpdatedEvent((long) i, i))
+                .toList();
+
+        JdbcRoundTrips.reset();
+        AtomicInteger nextChunk = new AtomicInteger();
+        BenchmarkResult store = LoadDriver.run(name + "-store", 1, PUBLICATIONS / PER_TRANSACTION, () -> {
+            int from = nextChunk.getAndIncrement() * PER_TRANSACTION;
+            transactionTemplate.executeWithoutResult(status -> events.subList(from, from + PER_TRANSACTION)
+                    .forEach(event -> repository.create(TargetEventPublication.of(event, listener))));
+            return true;
+        });
+
+        AtomicInteger nextEvent = new AtomicInteger();
+        BenchmarkResult complete = LoadDriver.run(name + "-complete", LISTENER_THREADS, PUBLICATIONS / LISTENER_THREADS, () -> {
+            repository.markCompleted(events.get(nextEvent.getAndIncrement()), listener, Instant.now());
+            return true;
+        });
+        if (repository instanceof BatchingEventPublicationRepository batching) {
+            batching.flush();
+        }
+        long roundTrips = JdbcRoundTrips.roundTrips();
+
+        store.report();
+        complete.report();
+        JdbcRoundTrips.report(name + " repository, " + PUBLICATIONS + " publications", PUBLICATIONS);
+
+        Integer incomplete = jdbcTemplate.queryForObject(
+                "select count(*) from event_publication where listener_id = ? and completion_date is null",
+                Integer.class, listener.getValue());
+        assertThat(incomplete).isZero();
+        return roundTrips;
+    }
+}
@@ -0,0 +1,109 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.events.ProductBatchCreatedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchStockUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductBatchUpdatedEvent;
+import com.doksanbir.modulith.shared.events.ProductCreatedEvent;
+import com.doksanbir.modulith.shared.events.ProductStockUpdatedEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.modulith.events.core.EventSerializer;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the compact binary payloads with Modulith's JSON ones: stored bytes per event and the cost of
+ * serializing and deserializing, for single-product events and for batches of a thousand products.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(properties =
+        "logging.level.com.doksanbir.modulith.shared.infrastructure.events.EventSerializationBenchmarkTest=INFO")
+class EventSerializationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSerializationBenchmarkTest.class);
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final EventSerializer json;
+    private final EventSerializer compact;
+
+    @Autowired
+    EventSerializationBenchmarkTest(@Qualifier("jacksonEventSerializer") EventSerializer json,
+                                    CompactEventSerializer compact) {
+        this.json = json;
+        this.compact = compact;
+    }
+
+    @Test
+    void compactPayloadsAreSmallerAndRoundTrip() {
+        List<Long> batchIds = LongStream.range(1_000_000, 1_001_000).boxed().toList();
+        List<Object> events = List.of(
+                new ProductCreatedEvent(1_234_567L),
+                new ProductStockUpdatedEvent(1_234_567L, 42),
+                new ProductBatchCreatedEvent(batchIds),
+                new ProductBatchUpdatedEvent(batchIds),
+                new ProductBatchStockUpdatedEvent(batchIds.stream()
+                        .collect(Collectors.toMap(Function.identity(), id -> (int) (id % 500)))));
+
+        for (Object event : events) {
+            Measurement jsonResult = measure(json, event);
+            Measurement compactResult = measure(compact, event);
+            log.info("{}: json {} bytes, ser {} ns, de {} ns | compact {} bytes, ser {} ns, de {} ns",
+                    event.getClass().getSimpleName(),
+                    jsonResult.bytes(), jsonResult.serializeNanos(), jsonResult.deserializeNanos(),
+                    compactResult.bytes(), compactResult.serializeNanos(), compactResult.deserializeNanos());
+
+            assertThat(compact.deserialize(compact.serialize(event), event.getClass())).isEqualTo(event);
+            assertThat(compactResult.bytes()).isLessThan(jsonResult.bytes());
+        }
+    }
+
+    @Test
+    void readsJsonWrittenBeforeTheSwitch() {
+        ProductStockUpdatedEvent event = new ProductStockUpdatedEvent(7L, 3);
+        assertThat(compact.deserialize(json.serialize(event), ProductStockUpdatedEvent.class)).isEqualTo(event);
+        assertThat(compact.serialize(new ProductStockUpdatedEvent(7L, null))).isEqualTo(json.serialize(
+                new ProductStockUpdatedEvent(7L, null)));
+    }
+
+    private static Measurement measure(EventSerializer serializer, Object event) {
+        Object serialized = serializer.serialize(event);
+        int iterations = event instanceof ProductBatchEvent ? ITERATIONS / 100 : ITERATIONS;
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += serializer.serialize(event).hashCode();
+            sink += serializer.deserialize(serialized, event.getClass()).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += serializer.serialize(event).hashCode();
+        }
+        long serializeNanos = (System.nanoTime() - start) / iterations;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += serializer.deserialize(serialized, event.getClass()).hashCode();
+        }
+        long deserializeNanos = (System.nanoTime() - start) / iterations;
+        assertThat(sink).isNotNull();
+        return new Measurement(serialized.toString().getBytes(StandardCharsets.UTF_8).length,
+                serializeNanos, deserializeNanos);
+    }
+
+    private record Measurement(int bytes, long serializeNanos, long deserializeNanos) {}
+}
@@ -0,0 +1,83 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.benchmark.CatalogFixture;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Leaves a backlog of incomplete product creation publications behind, as a crash would, and lets the republisher
+ * drain it. Every publication must end up completed, and the run may not go faster than the configured rate.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.events.republish.parallelism=4",
+        "app.events.republish.chunk-size=100",
+        "app.events.republish.max-per-second=1000",
+        "logging.level.com.doksanbir.modulith.shared.infrastructure.events.OutstandingEventRepublisherBenchmarkTest=INFO"})
+class OutstandingEventRepublisherBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OutstandingEventRepublisherBenchmarkTest.class);
+
+    private static final int OUTSTANDING = 2_000;
+    private static final int MAX_PER_SECOND = 1_000;
+    private static final long FIRST_PRODUCT_ID = 900_000;
+
+    private final OutstandingEventRepublisher republisher;
+    private final CatalogFixture catalog;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OutstandingEventRepublisherBenchmarkTest(OutstandingEventRepublisher republisher, TestRestTemplate rest,
+                                             JdbcTemplate jdbcTemplate) {
+        this.republisher = republisher;
+        this.catalog = new CatalogFixture(rest);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void drainsOutstandingPublicationsAtTheConfiguredRate() {
+        // Borrow listener id and event type from a real publication of the inventory listener
+        catalog.createProductWithStock(0);
+        Map<String, Object> template = jdbcTemplate.queryForMap("""
+                select listener_id, event_type from event_publication
+                where event_type like '%ProductCreatedEvent' and listener_id like '%InventoryService%'
+                limit 1""");
+        EventPublicationFixture.insert(jdbcTemplate, (String) template.get("listener_id"),
+                (String) template.get("event_type"),
+                LongStream.range(FIRST_PRODUCT_ID, FIRST_PRODUCT_ID + OUTSTANDING)
+                        .mapToObj(productId -> "{\"productId\":" + productId + "}")
+                        .toList(),
+                Instant.now().minus(Duration.ofHours(1)), null);
+
+        long start = System.nanoTime();
+        long republished = republisher.republishOutstanding().join();
+        Duration dispatchTime = Duration.ofNanos(System.nanoTime() - start);
+        await().atMost(Duration.ofSeconds(30)).until(() -> jdbcTemplate.queryForObject(
+                "select count(*) from event_publication where completion_date is null", Integer.class) == 0);
+        Duration drainTime = Duration.ofNanos(System.nanoTime() - start);
+        log.info("republished {} publications: dispatched in {} ms, drained in {} ms ({} per second)",
+                republished, dispatchTime.toMillis(), drainTime.toMillis(),
+                republished * 1_000 / Math.max(1, drainTime.toMillis()));
+
+        assertThat(republished).isEqualTo(OUTSTANDING);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from inventories where product_id >= ?",
+                Integer.class, FIRST_PRODUCT_ID)).isEqualTo(OUTSTANDING);
+        assertThat(dispatchTime).isGreaterThanOrEqualTo(Duration.ofMillis(900L * OUTSTANDING / MAX_PER_SECOND));
+    }
+}
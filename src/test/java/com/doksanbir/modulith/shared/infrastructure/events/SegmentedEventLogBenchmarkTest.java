@@ -0,0 +1,88 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.infrastructure.config.EventLogProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Appends a few hundred thousand small records across many rolled segments, then replays and tails them by offset.
+ * Recovery, retention and locking are covered by {@link SegmentedEventLogTest}.
+ */
+@Tag("benchmark")
+class SegmentedEventLogBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentedEventLogBenchmarkTest.class);
+
+    private static final int RECORDS = 300_000;
+    private static final byte[] PAYLOAD = "~BQHOm0tU".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsReplaysAndTailsByOffset() throws InterruptedException {
+        try (SegmentedEventLog eventLog = new SegmentedEventLog(properties(DataSize.ofMegabytes(1), DataSize.ofGigabytes(1)))) {
+            CompletableFuture<Long> tailed = CompletableFuture.supplyAsync(() -> tail(eventLog));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < RECORDS; i++) {
+                eventLog.append("product", "com.doksanbir.modulith.shared.events.ProductStockUpdatedEvent", PAYLOAD);
+            }
+            Duration appendTime = Duration.ofNanos(System.nanoTime() - start);
+
+            start = System.nanoTime();
+            long expected = 0;
+            for (List<SegmentedEventLog.LogRecord> page; !(page = eventLog.read(expected, 1_000)).isEmpty(); ) {
+                for (SegmentedEventLog.LogRecord record : page) {
+                    assertThat(record.offset()).isEqualTo(expected++);
+                }
+            }
+            Duration replayTime = Duration.ofNanos(System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < 10_000; i++) {
+                long offset = (i * 7_919L) % RECORDS;
+                assertThat(eventLog.read(offset, 1).getFirst().offset()).isEqualTo(offset);
+            }
+            long seekNanos = (System.nanoTime() - start) / 10_000;
+
+            log.info("{} records in {} segments ({} bytes): append {} ms ({}/s), replay {} ms ({}/s), seek {} ns",
+                    RECORDS, eventLog.segmentCount(), eventLog.sizeInBytes(),
+                    appendTime.toMillis(), RECORDS * 1_000L / Math.max(1, appendTime.toMillis()),
+                    replayTime.toMillis(), RECORDS * 1_000L / Math.max(1, replayTime.toMillis()), seekNanos);
+
+            assertThat(expected).isEqualTo(RECORDS);
+            assertThat(eventLog.segmentCount()).isGreaterThan(1);
+            assertThat(tailed.join()).isEqualTo(RECORDS);
+        }
+    }
+
+    private EventLogProperties properties(DataSize segmentSize, DataSize retentionSize) {
+        return new EventLogProperties(true, directory.toString(), segmentSize, Duration.ofHours(1), retentionSize,
+                Duration.ofDays(7), Duration.ofSeconds(1));
+    }
+
+    private static long tail(SegmentedEventLog eventLog) {
+        long next = 0;
+        try {
+            while (next < RECORDS && eventLog.awaitOffset(next, Duration.ofSeconds(30))) {
+                next += eventLog.read(next, 10_000).size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return next;
+    }
+}
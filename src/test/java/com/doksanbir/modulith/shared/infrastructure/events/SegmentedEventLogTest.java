@@ -0,0 +1,128 @@
+package com.doksanbir.modulith.shared.infrastructure.events;
+
+import com.doksanbir.modulith.shared.infrastructure.config.EventLogProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentedEventLogTest {
+
+    private static final byte[] PAYLOAD = "~BQHOm0tU".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsRecordsBackAcrossRolledSegments() {
+        try (SegmentedEventLog eventLog = open(DataSize.ofKilobytes(4), DataSize.ofGigabytes(1))) {
+            for (int i = 0; i < 500; i++) {
+                assertThat(eventLog.append("product", "event-" + i, PAYLOAD)).isEqualTo(i);
+            }
+
+            assertThat(eventLog.segmentCount()).isGreaterThan(1);
+            List<SegmentedEventLog.LogRecord> page = eventLog.read(95, 10);
+            assertThat(page).extracting(SegmentedEventLog.LogRecord::offset)
+                    .containsExactly(95L, 96L, 97L, 98L, 99L, 100L, 101L, 102L, 103L, 104L);
+            assertThat(page.getFirst().eventType()).isEqualTo("event-95");
+            assertThat(page.getFirst().target()).isEqualTo("product");
+            assertThat(page.getFirst().payload()).isEqualTo(PAYLOAD);
+            assertThat(eventLog.read(499, 10)).hasSize(1);
+            assertThat(eventLog.read(500, 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void recoversUpToTheLastIntactRecord() throws IOException {
+        try (SegmentedEventLog eventLog = open(DataSize.ofKilobytes(64), DataSize.ofGigabytes(1))) {
+            for (int i = 0; i < 10_000; i++) {
+                eventLog.append("product", "event", PAYLOAD);
+            }
+        }
+        try (SegmentedEventLog reopened = open(DataSize.ofKilobytes(64), DataSize.ofGigabytes(1))) {
+            assertThat(reopened.endOffset()).isEqualTo(10_000);
+            assertThat(reopened.read(9_999, 10)).singleElement()
+                    .satisfies(record -> assertThat(record.payload()).isEqualTo(PAYLOAD));
+            reopened.append("product", "event", PAYLOAD);
+        }
+
+        // Tear the last record: its length survives, its body does not
+        Path last;
+        try (Stream<Path> files = Files.list(directory)) {
+            last = files.filter(file -> file.toString().endsWith(".log")).sorted().toList().getLast();
+        }
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (int length; (length = readInt(channel, position)) > 0 && position + 8 + length <= channel.size(); ) {
+                long next = position + 8 + length;
+                if (readInt(channel, next) <= 0) {
+                    channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), position + 12);
+                }
+                position = next;
+            }
+        }
+        try (SegmentedEventLog recovered = open(DataSize.ofKilobytes(64), DataSize.ofGigabytes(1))) {
+            assertThat(recovered.endOffset()).isEqualTo(10_000);
+            assertThat(recovered.append("product", "event", PAYLOAD)).isEqualTo(10_000);
+        }
+    }
+
+    @Test
+    void retentionDeletesTheOldestSegments() {
+        try (SegmentedEventLog eventLog = open(DataSize.ofKilobytes(64), DataSize.ofKilobytes(256))) {
+            for (int i = 0; i < 50_000; i++) {
+                eventLog.append("product", "event", PAYLOAD);
+            }
+            assertThat(eventLog.sizeInBytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(256 + 64).toBytes());
+            assertThat(eventLog.startOffset()).isPositive();
+            assertThat(eventLog.read(0, 1).getFirst().offset()).isEqualTo(eventLog.startOffset());
+        }
+    }
+
+    @Test
+    void aDirectoryIsOpenInOneLogAtATime() {
+        try (SegmentedEventLog eventLog = open(DataSize.ofKilobytes(64), DataSize.ofGigabytes(1))) {
+            eventLog.append("product", "event", PAYLOAD);
+
+            assertThatThrownBy(() -> open(DataSize.ofKilobytes(64), DataSize.ofGigabytes(1)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("already open");
+        }
+        try (SegmentedEventLog reopened = open(DataSize.ofKilobytes(64), DataSize.ofGigabytes(1))) {
+            assertThat(reopened.endOffset()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void rejectsRecordsLargerThanASegment() {
+        try (SegmentedEventLog eventLog = open(DataSize.ofKilobytes(4), DataSize.ofGigabytes(1))) {
+            assertThatThrownBy(() -> eventLog.append("product", "event", new byte[8_192]))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(eventLog.endOffset()).isZero();
+        }
+    }
+
+    private SegmentedEventLog open(DataSize segmentSize, DataSize retentionSize) {
+        return new SegmentedEventLog(new EventLogProperties(true, directory.toString(), segmentSize,
+                Duration.ofHours(1), retentionSize, Duration.ofDays(7), Duration.ofSeconds(1)));
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        channel.read(buffer, position);
+        return buffer.flip().remaining() == 4 ? buffer.getInt() : 0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.doksanbir.modulith.shared.infrastructure.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KnownIdSetTest {
+
+    private final KnownIdSet ids = new KnownIdSet();
+
+    @Test
+    void everyIdMightBePresentUntilLoaded() {
+        ids.add(1);
+
+        assertThat(ids.mightContain(2)).isTrue();
+        ids.markLoaded();
+        assertThat(ids.mightContain(1)).isTrue();
+        assertThat(ids.mightContain(2)).isFalse();
+    }
+
+    @Test
+    void addsAndRemovesIdsAcrossPages() {
+        ids.markLoaded();
+        long[] added = {0, 63, 64, 65_535, 65_536, 1L << 31, (1L << 32) - 1};
+        for (long id : added) {
+            ids.add(id);
+            ids.add(id);
+        }
+
+        assertThat(ids.size()).isEqualTo(added.length);
+        for (long id : added) {
+            assertThat(ids.mightContain(id)).as("id %d", id).isTrue();
+        }
+        for (long id : new long[]{1, 62, 66, 65_534, 65_537, (1L << 31) + 1, (1L << 32) - 2}) {
+            assertThat(ids.mightContain(id)).as("id %d", id).isFalse();
+        }
+
+        ids.remove(64);
+        ids.remove(64);
+        ids.remove(7_000_000);
+        assertThat(ids.mightContain(64)).isFalse();
+        assertThat(ids.size()).isEqualTo(added.length - 1);
+    }
+
+    @Test
+    void idsOutsideTheTrackedRangeMightAlwaysBePresent() {
+        ids.markLoaded();
+        ids.add(-1);
+        ids.add(1L << 32);
+
+        assertThat(ids.size()).isZero();
+        assertThat(ids.mightContain(-5)).isTrue();
+        assertThat(ids.mightContain(Long.MAX_VALUE)).isTrue();
+    }
+
+    @Test
+    void concurrentAddsAreAllKept() throws InterruptedException {
+        ids.markLoaded();
+        // Interleaved ids, so the threads share words and race to create the same pages
+        List<Thread> adders = IntStream.range(0, 4)
+                .mapToObj(thread -> Thread.ofPlatform().start(() -> {
+                    for (long id = thread; id < 1_000_000; id += 4) {
+                        ids.add(id);
+                    }
+                }))
+                .toList();
+        for (Thread adder : adders) {
+            adder.join();
+        }
+
+        assertThat(ids.size()).isEqualTo(1_000_000);
+        assertThat(LongStream.range(0, 1_000_000).allMatch(ids::mightContain)).isTrue();
+    }
+}
@@ -0,0 +1,146 @@
+package com.doksanbir.modulith.shared.infrastructure.lookup;
+
+import com.doksanbir.modulith.benchmark.BenchmarkResult;
+import com.doksanbir.modulith.benchmark.CatalogFixture;
+import com.doksanbir.modulith.benchmark.JdbcRoundTrips;
+import com.doksanbir.modulith.benchmark.LoadDriver;
+import com.doksanbir.modulith.shared.KnownMissingProductException;
+import com.doksanbir.modulith.shared.ProductNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Bots asking for ids that do not exist: with the known-id filters loaded, those lookups must be answered with a
+ * 404 without reaching the database, while every existing product, including one created a moment ago, is still
+ * found.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.lookup.known-ids.enabled=true",
+        "logging.level.com.doksanbir.modulith.shared.infrastructure.lookup.NegativeLookupBenchmarkTest=INFO"})
+@Import(JdbcRoundTrips.Config.class)
+class NegativeLookupBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(NegativeLookupBenchmarkTest.class);
+
+    private static final int PRODUCTS = 20;
+    private static final int EXCEPTIONS = 100_000;
+
+    private final TestRestTemplate rest;
+    private final CatalogFixture catalog;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    NegativeLookupBenchmarkTest(TestRestTemplate rest, MeterRegistry meterRegistry) {
+        this.rest = rest;
+        this.catalog = new CatalogFixture(rest);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    void missesSkipTheDatabaseAndHitsAreStillFound() {
+        // The filters start rejecting once their ids are loaded
+        awaitRejecting("product", "/api/products/{id}");
+        awaitRejecting("inventory", "/api/inventories/{id}");
+        List<Long> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(catalog.createProductWithStock(5));
+        }
+        for (int i = 0; i < 50; i++) {
+            Map<?, ?> created = rest.postForObject("/api/products", Map.of("name", "fresh-" + i,
+                    "description", "negative lookup", "price", 10, "stockQuantity", 0), Map.class);
+            assertThat(rest.getForEntity("/api/products/{id}", String.class, created.get("id")).getStatusCode())
+                    .isEqualTo(HttpStatus.OK);
+        }
+
+        double rejectedBefore = rejected("product") + rejected("inventory");
+        JdbcRoundTrips.reset();
+        BenchmarkResult productMisses = LoadDriver.run("get-missing-product", 4, 2_500, () ->
+                rest.getForEntity("/api/products/{id}", String.class, missingId()).getStatusCode() == HttpStatus.NOT_FOUND)
+                .report();
+        BenchmarkResult inventoryMisses = LoadDriver.run("get-missing-inventory", 4, 2_500, () ->
+                rest.getForEntity("/api/inventories/{id}", String.class, missingId()).getStatusCode() == HttpStatus.NOT_FOUND)
+                .report();
+        long misses = productMisses.operations() + inventoryMisses.operations();
+        JdbcRoundTrips.report("lookups of missing ids", (int) misses);
+
+        assertThat(productMisses.failures()).isZero();
+        assertThat(inventoryMisses.failures()).isZero();
+        assertThat(rejected("product") + rejected("inventory") - rejectedBefore).isEqualTo(misses);
+        // Background jobs (registry flushes, metric refreshes) may still query now and then
+        assertThat(JdbcRoundTrips.roundTrips()).isLessThan(misses / 1_000);
+
+        BenchmarkResult hits = LoadDriver.run("get-existing-inventory", 4, 500, () ->
+                rest.getForEntity("/api/inventories/{id}", String.class,
+                        products.get(ThreadLocalRandom.current().nextInt(PRODUCTS))).getStatusCode().is2xxSuccessful())
+                .report();
+        assertThat(hits.failures()).isZero();
+
+        long deleted = products.getFirst();
+        rest.delete("/api/products/{id}", deleted);
+        assertThat(rest.getForEntity("/api/products/{id}", String.class, deleted).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        await().atMost(Duration.ofSeconds(10)).until(() -> rest.getForEntity("/api/inventories/{id}", String.class,
+                deleted).getStatusCode() == HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void knownMissesSkipTheStackTrace() {
+        long sink = 0;
+        for (int i = 0; i < EXCEPTIONS; i++) {
+            sink += new KnownMissingProductException((long) i).getMessage().length();
+            sink += new ProductNotFoundException((long) i).getMessage().length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < EXCEPTIONS; i++) {
+            sink += new KnownMissingProductException((long) i).getMessage().length();
+        }
+        long stackless = (System.nanoTime() - start) / EXCEPTIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < EXCEPTIONS; i++) {
+            sink += new ProductNotFoundException((long) i).getMessage().length();
+        }
+        long withStackTrace = (System.nanoTime() - start) / EXCEPTIONS;
+        log.info("not-found exception: {} ns for a known miss, {} ns with a stack trace (sink {})", stackless, withStackTrace, sink);
+
+        assertThat(new KnownMissingProductException(1L).getStackTrace()).isEmpty();
+        assertThat(new ProductNotFoundException(1L).getStackTrace()).isNotEmpty();
+        assertThat(stackless).isLessThan(withStackTrace);
+    }
+
+    private void awaitRejecting(String entity, String path) {
+        await().atMost(Duration.ofSeconds(30)).until(() -> {
+            double before = rejected(entity);
+            rest.getForEntity(path, String.class, missingId());
+            return rejected(entity) > before;
+        });
+    }
+
+    private double rejected(String entity) {
+        return meterRegistry.get("known.ids.rejected").tag("entity", entity).counter().count();
+    }
+
+    // Far above any id the sequence hands out here
+    private static long missingId() {
+        return ThreadLocalRandom.current().nextLong(100_000_000, 1_000_000_000);
+    }
+}
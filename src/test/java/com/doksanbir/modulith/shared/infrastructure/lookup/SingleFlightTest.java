@@ -0,0 +1,148 @@
+package com.doksanbir.modulith.shared.infrastructure.lookup;
+
+import com.doksanbir.modulith.shared.infrastructure.config.SingleFlightProperties;
+import com.doksanbir.modulith.shared.infrastructure.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class SingleFlightTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<Long, String> singleFlight = singleFlight(true);
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void concurrentCallersShareOneLookup() {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, this::blockingLookup));
+        await().atMost(Duration.ofSeconds(5)).until(() -> lookups.get() == 1);
+        List<CompletableFuture<String>> joiners = List.of(
+                CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, this::blockingLookup)),
+                CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, this::blockingLookup)));
+        await().atMost(Duration.ofSeconds(5)).until(() -> calls("joined") == 2);
+
+        release.countDown();
+        assertThat(leader.join()).isEqualTo("value-1");
+        assertThat(joiners).allSatisfy(joiner -> assertThat(joiner.join()).isSameAs(leader.join()));
+        assertThat(lookups).hasValue(1);
+        assertThat(collapseRatio()).isEqualTo(2.0 / 3);
+
+        // Nothing is kept once the lookup has completed
+        assertThat(singleFlight.execute(1L, () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void joinedCallersReceiveTheLookupsException() {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+            blockingLookup();
+            throw new IllegalStateException("database down");
+        }));
+        await().atMost(Duration.ofSeconds(5)).until(() -> lookups.get() == 1);
+        CompletableFuture<String> joiner = CompletableFuture.supplyAsync(() -> {
+            try {
+                return singleFlight.execute(1L, () -> "unused");
+            } catch (IllegalStateException e) {
+                return e.getMessage();
+            }
+        });
+        await().atMost(Duration.ofSeconds(5)).until(() -> calls("joined") == 1);
+
+        release.countDown();
+        assertThat(joiner.join()).isEqualTo("database down");
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void forgottenKeysStartANewLookup() {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, this::blockingLookup));
+        await().atMost(Duration.ofSeconds(5)).until(() -> lookups.get() == 1);
+
+        singleFlight.forget(List.of(1L));
+        assertThat(singleFlight.execute(1L, () -> "after the write")).isEqualTo("after the write");
+
+        release.countDown();
+        assertThat(leader.join()).isEqualTo("value-1");
+        assertThat(calls("joined")).isZero();
+    }
+
+    @Test
+    void keysForgottenInATransactionAreDetachedOnCommit() {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, this::blockingLookup));
+        await().atMost(Duration.ofSeconds(5)).until(() -> lookups.get() == 1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        singleFlight.forget(List.of(1L));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        CompletableFuture<String> beforeCommit = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> "unused"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> calls("joined") == 1);
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(singleFlight.execute(1L, () -> "after the commit")).isEqualTo("after the commit");
+
+        release.countDown();
+        assertThat(beforeCommit.join()).isEqualTo(leader.join());
+    }
+
+    @Test
+    void readsThatMustNotShareALookupRunTheirOwn() {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, this::blockingLookup));
+        await().atMost(Duration.ofSeconds(5)).until(() -> lookups.get() == 1);
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(singleFlight.execute(1L, () -> "own transaction")).isEqualTo("own transaction");
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        assertThat(ReadYourWrites.onPrimary(() -> singleFlight.execute(1L, () -> "from the primary")))
+                .isEqualTo("from the primary");
+        assertThat(singleFlight(false).execute(1L, () -> "disabled")).isEqualTo("disabled");
+
+        release.countDown();
+        assertThat(leader.join()).isEqualTo("value-1");
+        assertThat(calls("joined")).isZero();
+    }
+
+    private String blockingLookup() {
+        int lookup = lookups.incrementAndGet();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "value-" + lookup;
+    }
+
+    private SingleFlight<Long, String> singleFlight(boolean enabled) {
+        return new SingleFlight<>(enabled ? "test" : "disabled", new SingleFlightProperties(enabled), meterRegistry);
+    }
+
+    private double calls(String role) {
+        return meterRegistry.counter("single.flight.calls", "name", "test", "role", role).count();
+    }
+
+    private double collapseRatio() {
+        return meterRegistry.get("single.flight.collapse.ratio").tag("name", "test").gauge().value();
+    }
+}